@@ -0,0 +1,158 @@
+package Controller;
+
+import Entity.BoardState;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Runs one game as an actor: the GameSession is only touched by commands taken in turn from a bounded mailbox, so any
+ * number of threads (the two players, spectators, a server) can use the game without locking it.
+ *
+ * The mailbox is drained on a shared scheduler, at most BATCH commands at a time so busy games take turns with the
+ * others; a game is never drained on two threads at once, and each drain sees everything the last one did. Many games
+ * share one scheduler and spread over its threads. When a mailbox is full, offer refuses the command and put waits for
+ * room, so an overloaded game pushes back on whoever feeds it instead of queueing without end.
+ */
+public class GameActor {
+    public static final int DEFAULT_MAILBOX_CAPACITY = 64;
+
+    // commands run in one go before the game hands its thread to the others
+    public static final int BATCH = 16;
+
+    private final GameSession session;
+    private final Executor scheduler;
+    private final Queue<Runnable> mailbox = new ConcurrentLinkedQueue<>();
+    // free places in the mailbox
+    private final Semaphore room;
+    // whether a drain is queued on the scheduler or running
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    /**
+     * @param session game to run; it must not be used other than through this actor
+     * @param scheduler executor to drain the mailbox on, shared by many actors (ex: newScheduler)
+     * @param mailboxCapacity commands the mailbox holds before refusing more
+     */
+    public GameActor(GameSession session, Executor scheduler, int mailboxCapacity) {
+        if (mailboxCapacity < 1) {
+            throw new IllegalArgumentException("Mailbox capacity must be positive");
+        }
+        this.session = session;
+        this.scheduler = scheduler;
+        room = new Semaphore(mailboxCapacity);
+    }
+
+    /**
+     * Makes a scheduler for actors: a ForkJoinPool running tasks in the order they were queued.
+     * @param threads number of threads
+     * @return the scheduler
+     */
+    public static ForkJoinPool newScheduler(int threads) {
+        return new ForkJoinPool(threads, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true);
+    }
+
+    /**
+     * Queues a command, unless the mailbox is full.
+     * @param command command run on the game, on a scheduler thread
+     * @return result of the command once it has run; completed with a RejectedExecutionException if the mailbox was
+     * full, or with the exception the command threw
+     */
+    public <T> CompletableFuture<T> offer(Function<GameSession, T> command) {
+        if (!room.tryAcquire()) {
+            CompletableFuture<T> refused = new CompletableFuture<>();
+            refused.completeExceptionally(new RejectedExecutionException("Game mailbox is full"));
+            return refused;
+        }
+        return enqueue(command);
+    }
+
+    /**
+     * Queues a command, waiting for room in the mailbox if it is full.
+     * @param command command run on the game, on a scheduler thread
+     * @return result of the command once it has run, or the exception it threw
+     * @throws InterruptedException if interrupted while waiting for room
+     */
+    public <T> CompletableFuture<T> put(Function<GameSession, T> command) throws InterruptedException {
+        room.acquire();
+        return enqueue(command);
+    }
+
+    /**
+     * Plays a move, as GameSession.play.
+     * @param move encoded Move for the player to move
+     * @return empty string once the move was played; message otherwise
+     */
+    public CompletableFuture<String> play(int move) {
+        return offer(game -> game.play(move));
+    }
+
+    /**
+     * @return position of the game once the queued commands before it have run
+     */
+    public CompletableFuture<BoardState> getState() {
+        return offer(GameSession::getState);
+    }
+
+    /**
+     * Queues closing the game, waiting for room in the mailbox: its asynchronous observers are given the updates
+     * waiting, then stop being updated. The game closes itself when it is over, so this is for abandoned games.
+     * @return completed once the game is closed
+     * @throws InterruptedException if interrupted while waiting for room
+     */
+    public CompletableFuture<Void> close() throws InterruptedException {
+        return put(session -> {
+            session.close();
+            return null;
+        });
+    }
+
+    /**
+     * @return commands queued and not yet started
+     */
+    public int getQueuedCommands() {
+        return mailbox.size();
+    }
+
+    private <T> CompletableFuture<T> enqueue(Function<GameSession, T> command) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        mailbox.add(() -> {
+            try {
+                result.complete(command.apply(session));
+            } catch (Throwable e) {
+                // as CompletableFuture.supplyAsync, so a failing command never leaves its caller waiting
+                result.completeExceptionally(e);
+            }
+        });
+        schedule();
+        return result;
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            scheduler.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        for (int i = 0; i < BATCH; i++) {
+            Runnable command = mailbox.poll();
+            if (command == null) {
+                break;
+            }
+            room.release();
+            command.run();
+        }
+        scheduled.set(false);
+        // a command queued after the last poll saw scheduled still set, and left it to this drain to start another
+        if (!mailbox.isEmpty()) {
+            schedule();
+        }
+    }
+}
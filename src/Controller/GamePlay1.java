@@ -1,16 +1,23 @@
 package Controller;
 
+import Entity.BoardState;
+import Entity.GameBoard;
+import Entity.Move;
+import Entity.Phase;
+import Entity.Position;
 import Entity.Token;
 import Exceptions.*;
 import Gateways.data.GameSaveData;
 import Gateways.data.GameState;
+import Interfaces.MoveSearch;
 import UseCases.*;
 
-import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.ArrayList;
-import java.util.Set;
-import javax.swing.JFileChooser;
-import javax.swing.filechooser.FileNameExtensionFilter;
 
 public class GamePlay1 {
     // attributes for simulating and manipulating gameboard
@@ -23,6 +30,9 @@ public class GamePlay1 {
     // attributes for controlling game flow
     WinnerCalculator winnerCalculator;
     public boolean endOfP1;
+    public boolean gameOver;
+    // number of the player who lost by the rules, or 0 while nobody has
+    int loser;
     public PlayerManager playerManager;
 
     public GamePlay1(String player1Username, String player2Username) throws ArrayIndexOutOfBoundsException, NullPointerException {
@@ -39,14 +49,12 @@ public class GamePlay1 {
         setPlayers(player1Username, player2Username);
     }
 
+    /**
+     * Starts a game whose players are named later with setPlayers. The tracker is registered as for any other game, so
+     * tokens are tracked and removals checked from the first move.
+     */
     public GamePlay1(){
-        placer = new GameBoardPlacer();
-        remover = new GameBoardRemover();
-        checkMill = new CheckMill();
-        tracker = new TokenTracker();
-        gameBoardManipulator = new GameBoardManipulator(placer, remover, checkMill);
-        endOfP1 = false;
-        setPlayers("", "");
+        this("", "");
     }
 
     public void setPlayers(String player1Username, String player2Username){
@@ -58,11 +66,25 @@ public class GamePlay1 {
         return checkMill.getPlayerHouses(playerNum);
     }
 
-    public boolean playerMadeMill(int playerHousesBeforeMove, int playerNum) {
-        return checkMill.getPlayerHouses(playerNum) > playerHousesBeforeMove;
+    public int getMillsFormed(int playerNum) {
+        return checkMill.getMillsFormed(playerNum);
+    }
+
+    /**
+     * Returns whether a player's last move formed a mill. Compares mills formed rather than standing mills, as a slide
+     * can break one mill and form another.
+     * @param millsFormedBeforeMove getMillsFormed(playerNum) before the move
+     * @param playerNum indicates whether it is player1 or player2
+     * @return true if the move formed at least one mill
+     */
+    public boolean playerMadeMill(int millsFormedBeforeMove, int playerNum) {
+        return checkMill.getMillsFormed(playerNum) > millsFormedBeforeMove;
     }
 
     public String getWinner() {
+        if (loser != 0) {
+            return winnerCalculator.who_won(loser);
+        }
         return winnerCalculator.who_won();
     }
 
@@ -78,144 +100,262 @@ public class GamePlay1 {
 
     public ArrayList<String> getTokenCoordinates(String colour){
         ArrayList<String> tokenCoordinates = new ArrayList<>();
-        Set<String> gameboardKeys = tracker.getGameBoardPositions();
-        for(String key : gameboardKeys) {
-            if (tracker.getToken(key) != null){
-                if(tracker.getToken(key).toString().equals(colour)) {
-                    tokenCoordinates.add(key);
-                }
+        for(Position position : Position.values()) {
+            Token token = tracker.getToken(position);
+            if (token != null && token.toString().equals(colour)) {
+                tokenCoordinates.add(position.name());
             }
         }
         return tokenCoordinates;
     }
 
-    public void move_token(int playerNum, String setTokenPosition) throws ArrayIndexOutOfBoundsException, NullPointerException {
-        while (true) {
-            try {
-                Token token = new Token(playerManager.getPlayerUsername(playerNum), playerManager.getPlayerTokenColour(playerNum));
-                gameBoardManipulator.placeToken(setTokenPosition, token, tracker.getGameBoard());
+    /**
+     * Places a token of a player, in the placing phase, and records any mill it forms
+     *
+     * @param playerNum indicates whether it is player1 or player2
+     * @param setTokenPosition position in the form of [A-C][1-8] to place the token
+     * @return empty string if the token was placed; exception message otherwise.
+     */
+    public String move_token(int playerNum, String setTokenPosition) {
+        return move_token(playerNum, Position.parse(setTokenPosition));
+    }
 
-                // reduce player 1's chips by 1 and update chips on board
-                playerManager.decreasePlayerTokensLeft(playerNum);
-                playerManager.updateNumPlayerTokensOnBoard(playerNum, 1);
+    /**
+     * Places a token of a player, in the placing phase, and records any mill it forms
+     *
+     * @param playerNum indicates whether it is player1 or player2
+     * @param setTokenPosition empty position to place the token, or null if the requested coordinates did not parse
+     * @return empty string if the token was placed; exception message otherwise.
+     */
+    public String move_token(int playerNum, Position setTokenPosition) {
+        try {
+            Token token = new Token(playerManager.getPlayerUsername(playerNum), playerManager.getPlayerTokenColour(playerNum));
+            gameBoardManipulator.placeToken(setTokenPosition, token, tracker.getGameBoard());
+        } catch (InvalidPositionException e) {
+            return e.getMessage();
+        }
 
-                checkMill.checkMill(setTokenPosition, playerManager.getPlayerTokenColour(playerNum),
-                        tracker.getGameBoard());
+        // reduce player's chips by 1 and update chips on board
+        playerManager.decreasePlayerTokensLeft(playerNum);
+        playerManager.updateNumPlayerTokensOnBoard(playerNum, 1);
 
-                // player has successfully placed down a token, so break out of the while loop
-                break;
-            } catch (InvalidPositionException | ArrayIndexOutOfBoundsException | NullPointerException e) {
-                System.out.println(e.getMessage());
-                // skip the invalid token and ask for prompt again
-            }
-        }
+        checkMill.checkMill(setTokenPosition, playerManager.getPlayerTokenColour(playerNum), tracker.getGameBoard());
+        return "";
     }
 
     public void updateEndOfP1() {
         endOfP1 = !playerManager.playersHaveTokensLeft();
     }
 
-    public String saveGame(String gameState){
-        GameSaveData save_file = new GameSaveData(playerManager.getPlayer(1),
-                playerManager.getPlayer(2), tracker.getGameBoard(), tracker, gameState);
-        try {
-            JFileChooser fileChooser = new JFileChooser();
-            //FileNameExtensionFilter filter = new FileNameExtensionFilter(
-            //        "Save files", "save");
-            //fileChooser.setFileFilter(filter);
-            fileChooser.setFileSelectionMode(JFileChooser.DIRECTORIES_ONLY);
-            int returnValue = fileChooser.showOpenDialog(null);
-            if (returnValue == JFileChooser.APPROVE_OPTION) {
-                //File selectedDirectory = fileChooser.getCurrentDirectory();
-                String saveName = save_file.getSavedPlayerUsername(1) + save_file.getSavedPlayerUsername(2) + java.time.LocalDate.now() + ".save";
-                GameState.save(save_file, saveName);
-                return "Game saved successfully";
-            }
-            throw new InvalidSaveFileException("");
-        } catch (Exception e) {
-            return "Couldn't save:" + e.getMessage();
+    /**
+     * Returns the rules engine state of this game
+     * @param playerNumToMove number of the player whose turn it is
+     * @return BoardState with a copy of the gameboard, and each player's tokens left to place
+     */
+    public BoardState toBoardState(int playerNumToMove) {
+        return new BoardState(tracker.getGameBoard().getBitBoard().copy(), playerManager.getTokensRemaining(1),
+                playerManager.getTokensRemaining(2), playerNumToMove - 1);
+    }
+
+    /**
+     * Returns the phase a player is in: placing tokens, sliding them, or flying them once down to three tokens
+     * @param playerNum indicates whether it is player1 or player2
+     * @return Phase of the player
+     */
+    public Phase getPhase(int playerNum) {
+        return toBoardState(playerNum).phase(playerNum - 1);
+    }
+
+    /**
+     * Checks whether the game is over, and if so who lost: a player loses when reduced to two tokens, or when it is
+     * their turn and they cannot move.
+     * @param nextPlayerNum number of the player whose turn it is now
+     */
+    public void updateGameOver(int nextPlayerNum) {
+        BoardState state = toBoardState(nextPlayerNum);
+        if (state.hasTooFewTokens(0)) {
+            loser = 1;
+        } else if (state.hasTooFewTokens(1)) {
+            loser = 2;
+        } else if (!MoveGenerator.hasLegalMove(state)) {
+            loser = nextPlayerNum;
+        } else {
+            loser = 0;
         }
+        gameOver = loser != 0;
     }
 
-    public String[] loadGame() throws InvalidSaveFileException{
+    /**
+     * Moves one of a player's tokens, in the moving or flying phase, and records any mill it forms
+     *
+     * @param playerNum indicates whether it is player1 or player2
+     * @param from position of the token to move
+     * @param to empty position to move the token to
+     * @return empty string if the token was moved; exception message otherwise.
+     */
+    public String slide_token(int playerNum, Position from, Position to) {
         try {
-            JFileChooser fileChooser = new JFileChooser();
-            FileNameExtensionFilter filter = new FileNameExtensionFilter(
-                    "Save files", "save");
-            fileChooser.setFileFilter(filter);
-            int returnValue = fileChooser.showOpenDialog(null);
-            if (returnValue == JFileChooser.APPROVE_OPTION) {
-                File selectedFile = fileChooser.getSelectedFile();
-                GameSaveData saveData;
-                saveData = (GameSaveData) GameState.load(selectedFile.toString());
-                // load in saved gameboard into token tracker
-                this.tracker = saveData.getTracker();
-                tracker.setGameBoard(saveData.getGameBoard());
-                playerManager.setPlayer(1, saveData.getSavedPlayerUsername(1), saveData.getSavedPlayerTokensRemaining(1));
-                playerManager.setPlayer(2, saveData.getSavedPlayerUsername(2), saveData.getSavedPlayerTokensRemaining(2));
-                winnerCalculator = new WinnerCalculator(this, playerManager.getPlayer(1), playerManager.getPlayer(2));
-                return new String[]{playerManager.getPlayerUsername(1),
-                        playerManager.getPlayerUsername(2),
-                        Integer.toString(playerManager.getTokensRemaining(1)),
-                        Integer.toString(playerManager.getTokensRemaining(2)),
-                        saveData.getSavedGameState(), selectedFile.getName()};
-            }
-            else { throw new InvalidSaveFileException("Invalid File selected.");}
+            Token token = new Token(playerManager.getPlayerUsername(playerNum), playerManager.getPlayerTokenColour(playerNum));
+            gameBoardManipulator.slideToken(from, to, token, tracker.getGameBoard(),
+                    getPhase(playerNum) == Phase.FLYING);
+            checkMill.checkMill(to, playerManager.getPlayerTokenColour(playerNum), tracker.getGameBoard());
+        } catch (InvalidPositionException e) {
+            return e.getMessage();
+        }
+        return "";
+    }
+
+    /**
+     * Plays an encoded Move for a player through the same rules as move_token, slide_token and remove_token. A move
+     * forming a mill carries the opponent token it removes, so the whole turn is played at once.
+     *
+     * @param playerNum indicates whether it is player1 or player2
+     * @param move encoded Move, legal for playerNum in this game
+     * @return empty string if the move was played; exception message otherwise.
+     */
+    public String play_move(int playerNum, int move) {
+        Position to = Position.of(Move.to(move));
+        String result = Move.isPlacement(move) ? move_token(playerNum, to)
+                : slide_token(playerNum, Position.of(Move.from(move)), to);
+        if (!result.equals("")) {
+            return result;
+        }
+        if (Move.hasRemoval(move)) {
+            return remove_token(3 - playerNum, Position.of(Move.removed(move)));
+        }
+        return "";
+    }
 
+    /**
+     * Searches for a computer player's move in this game
+     * @param playerNum player the computer plays for, whose turn it is
+     * @param search search to run, reused between moves
+     * @return encoded Move to pass to play_move, or Move.NONE if the player has lost
+     */
+    public int findComputerMove(int playerNum, MoveSearch search) {
+        return search.findBestMove(toBoardState(playerNum));
+    }
 
+    /**
+     * Writes this game to a stream, in the format read by load
+     * @param out stream to write to; it is left open
+     * @param gameState text describing whose turn it is, given back by load
+     * @throws IOException if the stream cannot be written
+     */
+    public void save(OutputStream out, String gameState) throws IOException {
+        GameState.save(new GameSaveData(playerManager.getPlayer(1), playerManager.getPlayer(2),
+                tracker.getGameBoard(), tracker, gameState), out);
+    }
 
-        } catch (Exception e) {
-            return new String[]{"Couldn't load:" + e.getMessage()};
+    /**
+     * Replaces this game with one read from a stream written by save
+     * @param in stream to read from; it is left open
+     * @return the players' usernames, their tokens left to place, and the text describing whose turn it is
+     * @throws IOException if the stream cannot be read
+     * @throws InvalidSaveFileException if the stream does not hold a saved game
+     */
+    public String[] load(InputStream in) throws IOException, InvalidSaveFileException {
+        GameSaveData saveData;
+        try {
+            saveData = (GameSaveData) GameState.load(in);
+        } catch (ClassNotFoundException | ClassCastException e) {
+            throw new InvalidSaveFileException("Not a saved game");
         }
+        if (saveData.getTracker() == null || saveData.player1saved == null || saveData.player2saved == null) {
+            throw new InvalidSaveFileException("Saved game is incomplete");
+        }
+        playerManager.setPlayer(1, saveData.getSavedPlayerUsername(1), saveData.getSavedPlayerTokensRemaining(1));
+        playerManager.setPlayer(2, saveData.getSavedPlayerUsername(2), saveData.getSavedPlayerTokensRemaining(2));
+
+        // load in saved gameboard into token tracker, which replaces this game's tracker as an observer
+        gameBoardManipulator.unregister(tracker);
+        this.tracker = saveData.getTracker();
+        tracker.setGameBoard(saveData.getGameBoard());
+        gameBoardManipulator.register(tracker);
+        trackBoardTokens();
+        checkMill.rebuild(tracker.getGameBoard());
+        for (int playerNum = 1; playerNum <= 2; playerNum++) {
+            int onBoard = getTokenCoordinates(playerManager.getPlayerTokenColour(playerNum)).size();
+            playerManager.updateNumPlayerTokensOnBoard(playerNum, onBoard - playerManager.getPlayerNumOfTokens(playerNum));
+        }
+        winnerCalculator = new WinnerCalculator(this, playerManager.getPlayer(1), playerManager.getPlayer(2));
+        return new String[]{playerManager.getPlayerUsername(1),
+                playerManager.getPlayerUsername(2),
+                Integer.toString(playerManager.getTokensRemaining(1)),
+                Integer.toString(playerManager.getTokensRemaining(2)),
+                saveData.getSavedGameState()};
+    }
+
+    // records every token on the tracker's gameboard in the tracker, so it matches the board whatever was saved with it
+    private void trackBoardTokens() {
+        GameBoard gameBoard = tracker.getGameBoard();
+        for (Position position : Position.values()) {
+            String colour = gameBoard.getTokenAtPosition(position);
+            if (colour == null) {
+                tracker.update(position);
+            } else {
+                int playerNum = colour.equals(playerManager.getPlayerTokenColour(1)) ? 1 : 2;
+                tracker.update(position, new Token(playerManager.getPlayerUsername(playerNum), colour));
+            }
+        }
+    }
+
+    // file the "save" and "load" commands of remove_token use
+    private String saveFileName() {
+        return playerManager.getPlayerUsername(1) + playerManager.getPlayerUsername(2) + java.time.LocalDate.now()
+                + ".save";
     }
 
     /**
      * Removes token at position removeTokenPosition.
      *
-     * @param playerNum indicates whether it is player1 or player2
+     * @param playerNum player who owns the token, i.e. the opponent of the player who formed a mill
      * @param removeTokenPosition position in the form of [A-C][1-8] of the token to be removed
      * @return empty string if token was removed; excpetion message otherwise.
      */
     public String remove_token(int playerNum, String removeTokenPosition) {
         try {
             if (removeTokenPosition.equals("save")) {
-                boolean saved_data = false;
-                GameSaveData save_file = new GameSaveData(tracker.getGameBoard());
-                try {
-                    String saveName = save_file.getSavedPlayerUsername(1) + save_file.getSavedPlayerUsername(2) + java.time.LocalDate.now() + ".save";
-                    GameState.save(save_file, saveName);
-                    saved_data = true;
-                } catch (Exception e) {
-                    System.out.println("Couldn't save:" + e.getMessage());
-                }
-                if (saved_data) {
-                    throw new SavedSuccessfully("Game saved successfully");
+                try (OutputStream out = Files.newOutputStream(Paths.get(saveFileName()))) {
+                    save(out, "");
+                } catch (IOException e) {
+                    return "Couldn't save: " + e.getMessage();
                 }
+                throw new SavedSuccessfully("Game saved successfully");
             }
             if (removeTokenPosition.equals("load")) {
-                boolean loaded_data = false;
-                try {
-                    String[] loadedGame = this.loadGame();
-                    GameSaveData saveData = (GameSaveData) GameState.load(loadedGame[5]);
-                    tracker.setGameBoard(saveData.getGameBoard());
-                    loaded_data = true;
-                } catch (Exception e) {
-                    System.out.println("Couldn't load:" + e.getMessage());
-                }
-                if (loaded_data) {
-                    throw new LoadedSuccessfully("Game loaded successfully");
+                try (InputStream in = Files.newInputStream(Paths.get(saveFileName()))) {
+                    load(in);
+                } catch (IOException | InvalidSaveFileException e) {
+                    return "Couldn't load: " + e.getMessage();
                 }
+                throw new LoadedSuccessfully("Game loaded successfully");
             }
 
+            return remove_token(playerNum, Position.parse(removeTokenPosition));
+        } catch (SavedSuccessfully | LoadedSuccessfully e) {
+            return e.getMessage();
+        }
+    }
+
+    /**
+     * Removes token at position removeTokenPosition.
+     *
+     * @param playerNum player who owns the token, i.e. the opponent of the player who formed a mill
+     * @param removeTokenPosition position of the token to be removed, or null if the requested coordinates did not parse
+     * @return empty string if token was removed; excpetion message otherwise.
+     */
+    public String remove_token(int playerNum, Position removeTokenPosition) {
+        try {
             try {
-                gameBoardManipulator.removeToken(removeTokenPosition, playerManager.getPlayerUsername(playerNum),
+                // the tracker refuses tokens of the player removing, who is playerNum's opponent
+                gameBoardManipulator.removeToken(removeTokenPosition, playerManager.getPlayerUsername(3 - playerNum),
                         playerManager.getPlayerTokenColour(playerNum), tracker);
             } catch (RemoveMillException e) {
                 // player tried to remove token from opponent's mill, but make an exception if all player tokens are in
                 // mills
                 if (isSpecialCase(playerNum)) {
-                    // force removal of token from opponent's mill from player
-                    checkMill.removeTokenFromMill(removeTokenPosition, playerNum);
+                    // force removal of token from opponent's mill from player, which also breaks that mill
                     gameBoardManipulator.removeOpponentMillToken(removeTokenPosition, tracker.getGameBoard());
                 }
                 else{ return e.getMessage(); }
@@ -223,7 +363,7 @@ public class GamePlay1 {
 
             playerManager.updateNumPlayerTokensOnBoard(playerNum, -1);
 
-        } catch (SavedSuccessfully | LoadedSuccessfully | InvalidPositionException | ArrayIndexOutOfBoundsException | NullPointerException | InvalidRemovalException e) {
+        } catch (InvalidPositionException | ArrayIndexOutOfBoundsException | NullPointerException | InvalidRemovalException e) {
             return e.getMessage();
             // skip the invalid token and ask for prompt again
         }
@@ -233,9 +373,6 @@ public class GamePlay1 {
     // player 1 is white, player 2 is black
     // check if all tokens are in mills, so we have exception to rule of not being able to remove opponent mill tokens
     private boolean isSpecialCase(int playerNum){
-        String colour;
-        if(playerNum == 1){ colour = "W"; }
-        else { colour = "B"; }
-        return playerManager.getPlayerNumOfTokens(playerNum) == checkMill.getPlayerHousesIndexes(colour).size();
+        return playerManager.getPlayerNumOfTokens(playerNum) == checkMill.getTokensInMills(playerNum);
     }
 }
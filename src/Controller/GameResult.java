@@ -0,0 +1,53 @@
+package Controller;
+
+import java.util.Objects;
+
+/**
+ * Outcome of one game played by a GameRunner
+ */
+public class GameResult {
+    private final long seed;
+    private final String winner;
+    private final int player1Houses;
+    private final int player2Houses;
+    // every move made in the game, in order (ex: "A1 B2 C3 xB2 ...", where x marks a removal)
+    private final String moves;
+
+    public GameResult(long seed, String winner, int player1Houses, int player2Houses, String moves) {
+        this.seed = seed;
+        this.winner = winner;
+        this.player1Houses = player1Houses;
+        this.player2Houses = player2Houses;
+        this.moves = moves;
+    }
+
+    public long getSeed() { return seed; }
+
+    public String getWinner() { return winner; }
+
+    public int getPlayerHouses(int playerNum) {
+        return playerNum == 1 ? player1Houses : player2Houses;
+    }
+
+    public String getMoves() { return moves; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof GameResult)) {
+            return false;
+        }
+        GameResult other = (GameResult) o;
+        return seed == other.seed && player1Houses == other.player1Houses && player2Houses == other.player2Houses
+                && winner.equals(other.winner) && moves.equals(other.moves);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(seed, winner, player1Houses, player2Houses, moves);
+    }
+
+    @Override
+    public String toString() {
+        return "seed " + seed + ": " + winner + " (" + player1Houses + " - " + player2Houses + ")";
+    }
+}
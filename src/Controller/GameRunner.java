@@ -0,0 +1,142 @@
+package Controller;
+
+import Entity.GameBoard;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Plays many independent games of Nine Men Morris, where both players pick random legal moves.
+ *
+ * Every game owns its own GamePlay1 and a Random seeded from the game's number, so running the games on a thread pool
+ * gives exactly the same results as running them one after another.
+ */
+public class GameRunner {
+    private final int threads;
+
+    /**
+     * @param threads number of threads used by runParallel
+     */
+    public GameRunner(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("GameRunner needs at least one thread");
+        }
+        this.threads = threads;
+    }
+
+    /**
+     * Plays games one after another on the calling thread
+     * @param games number of games to play
+     * @param seed seed for the whole run; game i is played with seed gameSeed(seed, i)
+     * @return results of each game, in game order
+     */
+    public List<GameResult> runSequential(int games, long seed) {
+        List<GameResult> results = new ArrayList<>(games);
+        for (int i = 0; i < games; i++) {
+            results.add(playGame(gameSeed(seed, i)));
+        }
+        return results;
+    }
+
+    /**
+     * Plays games on a pool of threads
+     * @param games number of games to play
+     * @param seed seed for the whole run; game i is played with seed gameSeed(seed, i)
+     * @return results of each game, in game order
+     * @throws InterruptedException if interrupted while waiting for the games to finish
+     */
+    public List<GameResult> runParallel(int games, long seed) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<GameResult>> futures = new ArrayList<>(games);
+            for (int i = 0; i < games; i++) {
+                long gameSeed = gameSeed(seed, i);
+                futures.add(pool.submit(() -> playGame(gameSeed)));
+            }
+            List<GameResult> results = new ArrayList<>(games);
+            for (Future<GameResult> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Game failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Returns the seed used for one game of a run
+     * @param seed seed for the whole run
+     * @param game game number in the run
+     * @return seed for that game
+     */
+    public static long gameSeed(long seed, int game) {
+        return seed + game * 0x9E3779B97F4A7C15L;
+    }
+
+    /**
+     * Plays one full game between two random players
+     * @param seed seed for the players' random choices
+     * @return result of the game
+     */
+    public static GameResult playGame(long seed) {
+        Random random = new Random(seed);
+        GamePlay1 gamePlay = new GamePlay1("Player1", "Player2");
+        GameBoard gb = gamePlay.tracker.getGameBoard();
+        StringBuilder moves = new StringBuilder();
+
+        int playerNum = 1;
+        while (gamePlay.playerManager.playersHaveTokensLeft()) {
+            if (gamePlay.playerManager.getTokensRemaining(playerNum) > 0) {
+                String position = randomEmptyPosition(gb, random);
+                int millsBefore = gamePlay.getMillsFormed(playerNum);
+                gamePlay.move_token(playerNum, position);
+                moves.append(position).append(' ');
+
+                if (gamePlay.playerMadeMill(millsBefore, playerNum)) {
+                    removeRandomToken(gamePlay, gb, 3 - playerNum, random, moves);
+                }
+            }
+            playerNum = 3 - playerNum;
+        }
+        gamePlay.updateEndOfP1();
+        return new GameResult(seed, gamePlay.getWinner(), gamePlay.getPlayerHouses(1), gamePlay.getPlayerHouses(2),
+                moves.toString().trim());
+    }
+
+    // removes a random token of opponentNum that the rules allow removing
+    private static void removeRandomToken(GamePlay1 gamePlay, GameBoard gb, int opponentNum, Random random,
+                                          StringBuilder moves) {
+        String colour = gamePlay.playerManager.getPlayerTokenColour(opponentNum);
+        List<String> candidates = new ArrayList<>();
+        for (String position : gb.getGameBoardPositions()) {
+            if (colour.equals(gb.getTokenAtPosition(position))) {
+                candidates.add(position);
+            }
+        }
+        while (!candidates.isEmpty()) {
+            String position = candidates.remove(random.nextInt(candidates.size()));
+            if (gamePlay.remove_token(opponentNum, position).equals("")) {
+                moves.append('x').append(position).append(' ');
+                return;
+            }
+        }
+    }
+
+    // picks a random empty position on the gameboard
+    private static String randomEmptyPosition(GameBoard gb, Random random) {
+        List<String> candidates = new ArrayList<>();
+        for (String position : gb.getGameBoardPositions()) {
+            if (gb.getTokenAtPosition(position) == null) {
+                candidates.add(position);
+            }
+        }
+        return candidates.get(random.nextInt(candidates.size()));
+    }
+}
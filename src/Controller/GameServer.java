@@ -0,0 +1,364 @@
+package Controller;
+
+import Entity.Move;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+
+/**
+ * TCP server hosting any number of games between pairs of remote players, each game a GameSession.
+ *
+ * One thread serves every connection with a java.nio Selector: sockets are non-blocking, and each connection keeps a
+ * buffer of the bytes read but not yet ending a line and of the bytes not yet written. Games only change on that
+ * thread, so they need no locking, and a slow or stalled client never holds up the others.
+ *
+ * The protocol is one command per line, in ASCII. Clients send:
+ *   join NAME      waits for an opponent, or starts a game with the player already waiting
+ *   move MOVE      plays a move, written by Move.toText ("A1", "A1-A2", "C3xB5")
+ *   state          asks for the position
+ *   resign         gives up the game
+ * and the server replies:
+ *   waiting                    no opponent yet
+ *   start white|black NAME     a game started against NAME; white moves first
+ *   played MOVE                sent to both players after every move, so it also acknowledges the mover's
+ *   over TEXT                  the game ended (ex: "over alice won", "over It's a Tie"); join again to play on
+ *   state TEXT                 the position, written by BoardState.toText
+ *   error TEXT                 the command was refused
+ * A player who disconnects loses their game.
+ */
+public class GameServer implements Closeable {
+    // longest command accepted; longer lines close the connection
+    public static final int MAX_LINE = 256;
+
+    // unwritten replies a connection may hold before the client is taken to have stalled, and is disconnected
+    public static final int MAX_PENDING_BYTES = 64 * 1024;
+
+    // connections waiting to be accepted
+    private static final int BACKLOG = 4096;
+
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    private final Thread thread;
+    private volatile boolean closed;
+
+    // player waiting for an opponent, or null
+    private Connection waiting;
+    private volatile long movesPlayed;
+
+    /**
+     * Binds the server and starts serving on a thread of its own.
+     * @param address address to listen on; port 0 picks a free port
+     * @throws IOException if the address cannot be bound
+     */
+    public GameServer(InetSocketAddress address) throws IOException {
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(address, BACKLOG);
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        thread = new Thread(this::serve, "game-server");
+        thread.start();
+    }
+
+    /**
+     * @return port the server listens on
+     */
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    /**
+     * @return moves played in all games so far
+     */
+    public long getMovesPlayed() {
+        return movesPlayed;
+    }
+
+    /**
+     * Stops serving and closes every connection, waiting for the server thread to end.
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        selector.wakeup();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (SelectionKey key : selector.keys()) {
+            key.channel().close();
+        }
+        selector.close();
+    }
+
+    private void serve() {
+        while (!closed) {
+            try {
+                selector.select();
+            } catch (IOException e) {
+                throw new IllegalStateException("Selector failed: " + e.getMessage(), e);
+            }
+            Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+            while (keys.hasNext()) {
+                SelectionKey key = keys.next();
+                keys.remove();
+                if (!key.isValid()) {
+                    continue;
+                }
+                if (key.isAcceptable()) {
+                    accept();
+                    continue;
+                }
+                Connection connection = (Connection) key.attachment();
+                try {
+                    if (key.isReadable()) {
+                        read(connection);
+                    }
+                    if (key.isValid() && key.isWritable()) {
+                        flush(connection);
+                    }
+                } catch (IOException e) {
+                    disconnect(connection);
+                }
+            }
+        }
+    }
+
+    private void accept() {
+        SocketChannel channel;
+        try {
+            while ((channel = serverChannel.accept()) != null) {
+                channel.configureBlocking(false);
+                channel.socket().setTcpNoDelay(true);
+                Connection connection = new Connection(channel);
+                connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+            }
+        } catch (IOException e) {
+            // the client went away before it was accepted; serve the others
+        }
+    }
+
+    private void read(Connection connection) throws IOException {
+        ByteBuffer input = connection.input;
+        if (connection.channel.read(input) < 0) {
+            disconnect(connection);
+            return;
+        }
+        int start = 0;
+        for (int i = 0; i < input.position(); i++) {
+            if (input.get(i) == '\n') {
+                String line = new String(input.array(), start, i - start, StandardCharsets.US_ASCII).trim();
+                start = i + 1;
+                handle(connection, line);
+                if (!connection.channel.isOpen()) {
+                    return;
+                }
+            }
+        }
+        input.flip().position(start);
+        input.compact();
+        if (!input.hasRemaining()) {
+            send(connection, "error line too long");
+            disconnect(connection);
+        }
+    }
+
+    private void handle(Connection connection, String line) {
+        int space = line.indexOf(' ');
+        String command = space < 0 ? line : line.substring(0, space);
+        String argument = space < 0 ? "" : line.substring(space + 1).trim();
+        switch (command) {
+            case "":
+                break;
+            case "join":
+                join(connection, argument);
+                break;
+            case "move":
+                move(connection, argument);
+                break;
+            case "state":
+                if (connection.match == null) {
+                    send(connection, "error not in a game");
+                } else {
+                    send(connection, "state " + connection.match.session.getState().toText());
+                }
+                break;
+            case "resign":
+                if (connection.match == null) {
+                    send(connection, "error not in a game");
+                } else {
+                    Match match = connection.match;
+                    endMatch(match, match.session.getPlayerName(3 - connection.playerNum) + " won");
+                }
+                break;
+            default:
+                send(connection, "error unknown command: " + command);
+        }
+    }
+
+    private void join(Connection connection, String name) {
+        if (name.isEmpty() || name.indexOf(' ') >= 0) {
+            send(connection, "error join needs a name without spaces");
+        } else if (connection.match != null || connection == waiting) {
+            send(connection, "error already joined");
+        } else if (waiting != null && waiting.name.equals(name)) {
+            // the game tells the players' tokens apart by username
+            send(connection, "error name taken by your opponent");
+        } else if (waiting == null) {
+            connection.name = name;
+            waiting = connection;
+            send(connection, "waiting");
+        } else {
+            Connection white = waiting;
+            waiting = null;
+            connection.name = name;
+            Match match = new Match(new GameSession(white.name, name), white, connection);
+            send(white, "start white " + name);
+            send(connection, "start black " + white.name);
+        }
+    }
+
+    private void move(Connection connection, String text) {
+        Match match = connection.match;
+        if (match == null) {
+            send(connection, "error not in a game");
+            return;
+        }
+        if (match.session.getPlayerToMove() != connection.playerNum) {
+            send(connection, "error not your turn");
+            return;
+        }
+        int move = Move.parse(text);
+        if (move == Move.NONE) {
+            send(connection, "error not a move: " + text);
+            return;
+        }
+        String refused = match.session.play(move);
+        if (!refused.equals("")) {
+            send(connection, "error " + refused);
+            return;
+        }
+        movesPlayed++;
+        String played = "played " + Move.toText(move);
+        send(match.players[1], played);
+        send(match.players[2], played);
+        if (match.session.isGameOver()) {
+            endMatch(match, match.session.getWinner());
+        }
+    }
+
+    private void endMatch(Match match, String result) {
+        match.session.close();
+        match.players[1].match = null;
+        match.players[2].match = null;
+        send(match.players[1], "over " + result);
+        send(match.players[2], "over " + result);
+    }
+
+    private void disconnect(Connection connection) {
+        if (!connection.channel.isOpen()) {
+            return;
+        }
+        connection.key.cancel();
+        try {
+            connection.channel.close();
+        } catch (IOException e) {
+            // closing anyway
+        }
+        if (waiting == connection) {
+            waiting = null;
+        }
+        Match match = connection.match;
+        if (match != null) {
+            endMatch(match, match.session.getPlayerName(3 - connection.playerNum) + " won");
+        }
+    }
+
+    // queues a line for a connection and writes as much as the socket takes; a connection that cannot be written to,
+    // or has stopped reading, is disconnected
+    private void send(Connection connection, String line) {
+        if (!connection.channel.isOpen()) {
+            return;
+        }
+        byte[] bytes = (line + "\n").getBytes(StandardCharsets.US_ASCII);
+        ByteBuffer output = connection.output;
+        if (output.remaining() < bytes.length) {
+            if (output.position() + bytes.length > MAX_PENDING_BYTES) {
+                disconnect(connection);
+                return;
+            }
+            ByteBuffer larger = ByteBuffer.allocate(Math.min(MAX_PENDING_BYTES,
+                    Math.max(output.capacity() * 2, output.position() + bytes.length)));
+            output.flip();
+            larger.put(output);
+            connection.output = output = larger;
+        }
+        output.put(bytes);
+        try {
+            flush(connection);
+        } catch (IOException e) {
+            disconnect(connection);
+        }
+    }
+
+    private void flush(Connection connection) throws IOException {
+        ByteBuffer output = connection.output;
+        output.flip();
+        connection.channel.write(output);
+        output.compact();
+        connection.key.interestOps(output.position() > 0 ? SelectionKey.OP_READ | SelectionKey.OP_WRITE
+                : SelectionKey.OP_READ);
+    }
+
+    /**
+     * Serves games until the process is killed.
+     * Arguments: [port]
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 9090;
+        GameServer server = new GameServer(new InetSocketAddress(port));
+        System.out.println("Serving games on port " + server.getPort());
+    }
+
+    // a client, and the game it is playing, if any
+    private static final class Connection {
+        final SocketChannel channel;
+        final ByteBuffer input = ByteBuffer.allocate(MAX_LINE);
+        ByteBuffer output = ByteBuffer.allocate(256);
+        SelectionKey key;
+        String name;
+        Match match;
+        // 1 for white, 2 for black
+        int playerNum;
+
+        Connection(SocketChannel channel) {
+            this.channel = channel;
+        }
+    }
+
+    // a game between two connections
+    private static final class Match {
+        final GameSession session;
+        // indexed by player number, 1 or 2
+        final Connection[] players = new Connection[3];
+
+        Match(GameSession session, Connection white, Connection black) {
+            this.session = session;
+            players[1] = white;
+            players[2] = black;
+            white.match = this;
+            white.playerNum = 1;
+            black.match = this;
+            black.playerNum = 2;
+        }
+    }
+}
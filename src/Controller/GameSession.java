@@ -0,0 +1,285 @@
+package Controller;
+
+import Entity.BoardState;
+import Entity.Move;
+import Entity.Phase;
+import Entity.Position;
+import Exceptions.InvalidSaveFileException;
+import Exceptions.NonexistentPositionException;
+import Interfaces.MoveSearch;
+import UseCases.MoveGenerator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * One game of Nine Men Morris played turn by turn, without any user interface, so that the GUI, servers and batch
+ * tools all play through the same rules. Depends on neither AWT nor Swing.
+ *
+ * The session knows whose turn it is and whether that player must remove a token after forming a mill, and turns
+ * down actions made out of turn. Like GamePlay1, actions return an empty string when they are played, and a message
+ * saying why not otherwise.
+ */
+public class GameSession {
+    private GamePlay1 game;
+    // number of the player whose turn it is, 1 or 2
+    private int playerToMove;
+    // whether playerToMove formed a mill and must remove an opponent token before the turn ends
+    private boolean removing;
+
+    /**
+     * Starts a new game.
+     * @param player1Username username of player 1, who plays white and moves first
+     * @param player2Username username of player 2, who plays black
+     */
+    public GameSession(String player1Username, String player2Username) {
+        newGame(player1Username, player2Username);
+    }
+
+    /**
+     * Replaces the game with a new one.
+     * @param player1Username username of player 1, who plays white and moves first
+     * @param player2Username username of player 2, who plays black
+     */
+    public void newGame(String player1Username, String player2Username) {
+        if (game != null) {
+            close();
+        }
+        game = new GamePlay1(player1Username, player2Username);
+        playerToMove = 1;
+        removing = false;
+    }
+
+    /**
+     * Places a token of the player to move, in the placing phase.
+     * @param position empty position, or null if the requested coordinates did not parse
+     * @return empty string if the token was placed; message otherwise
+     */
+    public String place(Position position) {
+        String refused = refuseTurn(false);
+        if (refused != null) {
+            return refused;
+        }
+        if (getPhase(playerToMove) != Phase.PLACING) {
+            return getPlayerName(playerToMove) + " has no tokens left to place";
+        }
+        int millsFormed = game.getMillsFormed(playerToMove);
+        String result = game.move_token(playerToMove, position);
+        if (result.equals("")) {
+            finishMove(millsFormed);
+        }
+        return result;
+    }
+
+    /**
+     * Moves a token of the player to move, in the moving or flying phase.
+     * @param from position of the token to move
+     * @param to empty position to move the token to
+     * @return empty string if the token was moved; message otherwise
+     */
+    public String slide(Position from, Position to) {
+        String refused = refuseTurn(false);
+        if (refused != null) {
+            return refused;
+        }
+        if (getPhase(playerToMove) == Phase.PLACING) {
+            return getPlayerName(playerToMove) + " must place all their tokens first";
+        }
+        if (from == null || to == null) {
+            return new NonexistentPositionException().getMessage();
+        }
+        int millsFormed = game.getMillsFormed(playerToMove);
+        String result = game.slide_token(playerToMove, from, to);
+        if (result.equals("")) {
+            finishMove(millsFormed);
+        }
+        return result;
+    }
+
+    /**
+     * Removes an opponent token, after the player to move formed a mill.
+     * @param position position of the opponent token, or null if the requested coordinates did not parse
+     * @return empty string if the token was removed; message otherwise
+     */
+    public String remove(Position position) {
+        String refused = refuseTurn(true);
+        if (refused != null) {
+            return refused;
+        }
+        // remove_token takes the number of the player who owns the token
+        String result = game.remove_token(3 - playerToMove, position);
+        if (result.equals("")) {
+            removing = false;
+            endTurn();
+        }
+        return result;
+    }
+
+    /**
+     * Plays a whole turn given as an encoded Move, including the removal that goes with a mill.
+     * @param move encoded Move for the player to move
+     * @return empty string if the move was played; message otherwise
+     */
+    public String play(int move) {
+        String refused = refuseTurn(false);
+        if (refused != null) {
+            return refused;
+        }
+        if (!MoveGenerator.isLegal(getState(), move)) {
+            return "Not a legal move for " + getPlayerName(playerToMove);
+        }
+        String result = game.play_move(playerToMove, move);
+        if (result.equals("")) {
+            endTurn();
+        }
+        return result;
+    }
+
+    /**
+     * Searches for the move of the player to move.
+     * @param search search to run, reused between moves
+     * @return encoded Move to pass to play, or Move.NONE if the game is over
+     */
+    public int findComputerMove(MoveSearch search) {
+        if (isGameOver() || removing) {
+            return Move.NONE;
+        }
+        return game.findComputerMove(playerToMove, search);
+    }
+
+    public int getPlayerToMove() {
+        return playerToMove;
+    }
+
+    public boolean isRemovalPending() {
+        return removing;
+    }
+
+    public boolean isGameOver() {
+        return game.gameOver;
+    }
+
+    /**
+     * @return message naming the winner (ex: "alice won"), or "It's a Tie"
+     */
+    public String getWinner() {
+        return game.getWinner();
+    }
+
+    public String getPlayerName(int playerNum) {
+        return game.getPlayerName(playerNum);
+    }
+
+    public Phase getPhase(int playerNum) {
+        return game.getPhase(playerNum);
+    }
+
+    public int getTokensRemaining(int playerNum) {
+        return game.playerManager.getTokensRemaining(playerNum);
+    }
+
+    /**
+     * @param colour "W" or "B"
+     * @return positions of the tokens of that colour, in the form [A-C][1-8]
+     */
+    public List<String> getTokenCoordinates(String colour) {
+        return game.getTokenCoordinates(colour);
+    }
+
+    /**
+     * @return rules engine state of the game, with the player to move; a copy that the caller may change
+     */
+    public BoardState getState() {
+        return game.toBoardState(playerToMove);
+    }
+
+    /**
+     * Describes the game: whose turn it is and what they have to do, or who won once the game is over.
+     * @return text such as "alice's turn to add a token", "bob's turn to remove a token" or "alice won"
+     */
+    public String describeTurn() {
+        if (isGameOver()) {
+            return getWinner();
+        }
+        String name = getPlayerName(playerToMove);
+        if (removing) {
+            return name + "'s turn to remove a token";
+        }
+        return getPhase(playerToMove) == Phase.PLACING ? name + "'s turn to add a token"
+                : name + "'s turn to move a token";
+    }
+
+    /**
+     * Writes the game to a stream, in the format read by load.
+     * @param out stream to write to; it is left open
+     * @throws IOException if the stream cannot be written
+     */
+    public void save(OutputStream out) throws IOException {
+        game.save(out, describeTurn());
+    }
+
+    /**
+     * Replaces the game with one read from a stream written by save.
+     * @param in stream to read from; it is left open
+     * @throws IOException if the stream cannot be read
+     * @throws InvalidSaveFileException if the stream does not hold a saved game
+     */
+    public void load(InputStream in) throws IOException, InvalidSaveFileException {
+        GamePlay1 loaded = new GamePlay1("", "");
+        String turn = loaded.load(in)[4];
+        close();
+        game = loaded;
+        playerToMove = 1;
+        removing = false;
+        for (int playerNum = 1; playerNum <= 2; playerNum++) {
+            String name = getPlayerName(playerNum);
+            if (turn != null && turn.startsWith(name + "'s turn to ")) {
+                playerToMove = playerNum;
+                removing = turn.equals(name + "'s turn to remove a token");
+            }
+        }
+        game.updateEndOfP1();
+        if (!removing) {
+            game.updateGameOver(playerToMove);
+        }
+    }
+
+    /**
+     * Ends the game's asynchronous observers, once they are given the updates already waiting. Done by the session
+     * when the game is over or replaced; call it when a game is abandoned before it is over.
+     */
+    public void close() {
+        game.gameBoardManipulator.close();
+    }
+
+    // message turning down an action, or null if it may be played now
+    private String refuseTurn(boolean removal) {
+        if (isGameOver()) {
+            return "The game is over: " + getWinner();
+        }
+        if (removing != removal) {
+            return removing ? getPlayerName(playerToMove) + " must remove a token first"
+                    : getPlayerName(playerToMove) + " has no mill to remove a token for";
+        }
+        return null;
+    }
+
+    private void finishMove(int millsFormedBeforeMove) {
+        if (game.playerMadeMill(millsFormedBeforeMove, playerToMove)) {
+            removing = true;
+        } else {
+            endTurn();
+        }
+    }
+
+    private void endTurn() {
+        playerToMove = 3 - playerToMove;
+        game.updateEndOfP1();
+        game.updateGameOver(playerToMove);
+        if (game.gameOver) {
+            close();
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package Controller;
+
+import Entity.BitBoard;
+import Entity.BoardState;
+import Entity.Move;
+import Interfaces.Strategy;
+import UseCases.GreedyStrategy;
+import UseCases.MoveGenerator;
+import UseCases.RandomStrategy;
+import UseCases.SearchStrategy;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Plays large numbers of games between two Strategies without any user interface, and totals the results.
+ *
+ * Games are played on a BoardState with MoveGenerator rather than through GamePlay1, and are split into batches run on
+ * a pool of threads. Each batch makes its own pair of Strategies and a SplittableRandom seeded from the batch number,
+ * so a run gives the same totals whatever the number of threads. Games still going after the ply limit count as draws.
+ */
+public class SelfPlaySimulator {
+    // games per batch, the unit of work handed to a thread and written as one CSV line
+    public static final int BATCH_GAMES = 10000;
+
+    public static final int DEFAULT_PLY_LIMIT = 300;
+
+    private final int threads;
+    private final int plyLimit;
+    private final Supplier<Strategy> white;
+    private final Supplier<Strategy> black;
+
+    /**
+     * @param threads number of threads to play games on
+     * @param plyLimit moves after which a game is stopped as a draw
+     * @param white makes the Strategy of the player moving first, once per batch
+     * @param black makes the Strategy of the player moving second, once per batch
+     */
+    public SelfPlaySimulator(int threads, int plyLimit, Supplier<Strategy> white, Supplier<Strategy> black) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("SelfPlaySimulator needs at least one thread");
+        }
+        if (plyLimit < 1) {
+            throw new IllegalArgumentException("Ply limit must be positive");
+        }
+        this.threads = threads;
+        this.plyLimit = plyLimit;
+        this.white = white;
+        this.black = black;
+    }
+
+    /**
+     * Plays games and writes one CSV line per batch as batches finish, in batch order, then a line of totals
+     * @param games number of games to play
+     * @param seed seed for the whole run
+     * @param csv where to write the results, starting with SimulationStats.CSV_HEADER; or null to only return them
+     * @return totals over all games
+     * @throws InterruptedException if interrupted while waiting for the games to finish
+     */
+    public SimulationStats run(long games, long seed, PrintWriter csv) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<SimulationStats>> batches = new ArrayList<>();
+            for (long first = 0; first < games; first += BATCH_GAMES) {
+                int batchGames = (int) Math.min(BATCH_GAMES, games - first);
+                long batchSeed = GameRunner.gameSeed(seed, batches.size());
+                batches.add(pool.submit(() -> playBatch(batchGames, batchSeed)));
+            }
+            if (csv != null) {
+                csv.println(SimulationStats.CSV_HEADER);
+            }
+            SimulationStats total = new SimulationStats();
+            for (int i = 0; i < batches.size(); i++) {
+                SimulationStats batch = batches.get(i).get();
+                total.add(batch);
+                if (csv != null) {
+                    csv.println(batch.toCsvRow(Integer.toString(i)));
+                    csv.flush();
+                }
+            }
+            if (csv != null) {
+                csv.println(total.toCsvRow("total"));
+                csv.flush();
+            }
+            return total;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Game failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Plays games one after another on the calling thread
+     * @param games number of games to play
+     * @param seed seed of the batch's random number stream
+     * @return totals over those games
+     */
+    public SimulationStats playBatch(int games, long seed) {
+        Strategy[] strategies = new Strategy[2];
+        strategies[BitBoard.WHITE] = white.get();
+        strategies[BitBoard.BLACK] = black.get();
+        SplittableRandom random = new SplittableRandom(seed);
+        BoardState start = new BoardState();
+        BoardState state = new BoardState();
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        SimulationStats stats = new SimulationStats();
+        for (int game = 0; game < games; game++) {
+            state.copyFrom(start);
+            int winner = -1;
+            int mills = 0;
+            int ply = 0;
+            for (; ply < plyLimit; ply++) {
+                int side = state.getSideToMove();
+                int count = state.hasTooFewTokens(side) ? 0 : MoveGenerator.generateMoves(state, moves);
+                if (count == 0) {
+                    winner = side ^ 1;
+                    break;
+                }
+                int move = strategies[side].chooseMove(state, moves, count, random);
+                if (Move.hasRemoval(move)) {
+                    mills++;
+                }
+                state.make(move);
+            }
+            stats.addGame(winner, mills, ply);
+        }
+        return stats;
+    }
+
+    /**
+     * Makes a Strategy from its name on the command line
+     * @param name "random", "greedy", or "search:depth"
+     * @return supplier of new Strategies of that kind
+     */
+    public static Supplier<Strategy> strategy(String name) {
+        if (name.equals("random")) {
+            return RandomStrategy::new;
+        } else if (name.equals("greedy")) {
+            return GreedyStrategy::new;
+        } else if (name.startsWith("search:")) {
+            int depth = Integer.parseInt(name.substring("search:".length()));
+            return () -> new SearchStrategy(depth);
+        }
+        throw new IllegalArgumentException("Unknown strategy: " + name);
+    }
+
+    /**
+     * Runs a simulation from the command line.
+     * Arguments: games [white strategy] [black strategy] [csv file] [threads] [ply limit] [seed]
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 100000;
+        Supplier<Strategy> white = strategy(args.length > 1 ? args[1] : "random");
+        Supplier<Strategy> black = strategy(args.length > 2 ? args[2] : "random");
+        Path csvPath = Paths.get(args.length > 3 ? args[3] : "simulation.csv");
+        int threads = args.length > 4 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+        int plyLimit = args.length > 5 ? Integer.parseInt(args[5]) : DEFAULT_PLY_LIMIT;
+        long seed = args.length > 6 ? Long.parseLong(args[6]) : System.nanoTime();
+
+        long start = System.currentTimeMillis();
+        SimulationStats total;
+        try (PrintWriter csv = new PrintWriter(Files.newBufferedWriter(csvPath))) {
+            total = new SelfPlaySimulator(threads, plyLimit, white, black).run(games, seed, csv);
+        }
+        long millis = Math.max(1, System.currentTimeMillis() - start);
+        System.out.println(total);
+        System.out.println(total.getGames() + " games in " + millis + " ms ("
+                + total.getGames() * 60000 / millis + " games/min), results in " + csvPath);
+    }
+}
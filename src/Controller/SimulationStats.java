@@ -0,0 +1,88 @@
+package Controller;
+
+import Entity.BitBoard;
+
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Totals over a batch of games played by a SelfPlaySimulator
+ */
+public class SimulationStats {
+    public static final String CSV_HEADER =
+            "batch,games,white_wins,black_wins,draws,white_win_rate,black_win_rate,draw_rate,mills_per_game,plies_per_game";
+
+    private long games;
+    private long whiteWins;
+    private long blackWins;
+    private long mills;
+    private long plies;
+
+    /**
+     * Counts one finished game
+     * @param winner BitBoard.WHITE or BitBoard.BLACK, or -1 for a draw
+     * @param gameMills mills formed by both sides
+     * @param gamePlies moves made by both sides
+     */
+    public void addGame(int winner, int gameMills, int gamePlies) {
+        games++;
+        if (winner == BitBoard.WHITE) {
+            whiteWins++;
+        } else if (winner == BitBoard.BLACK) {
+            blackWins++;
+        }
+        mills += gameMills;
+        plies += gamePlies;
+    }
+
+    public void add(SimulationStats other) {
+        games += other.games;
+        whiteWins += other.whiteWins;
+        blackWins += other.blackWins;
+        mills += other.mills;
+        plies += other.plies;
+    }
+
+    public long getGames() { return games; }
+
+    public long getWhiteWins() { return whiteWins; }
+
+    public long getBlackWins() { return blackWins; }
+
+    public long getDraws() { return games - whiteWins - blackWins; }
+
+    public long getMills() { return mills; }
+
+    public long getPlies() { return plies; }
+
+    /**
+     * @param batch label of the first column, a batch number or "total"
+     * @return one CSV line matching CSV_HEADER, without a line separator
+     */
+    public String toCsvRow(String batch) {
+        double perGame = games == 0 ? 0 : 1.0 / games;
+        return String.format(Locale.ROOT, "%s,%d,%d,%d,%d,%.4f,%.4f,%.4f,%.3f,%.2f", batch, games, whiteWins,
+                blackWins, getDraws(), whiteWins * perGame, blackWins * perGame, getDraws() * perGame, mills * perGame,
+                plies * perGame);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof SimulationStats)) {
+            return false;
+        }
+        SimulationStats other = (SimulationStats) o;
+        return games == other.games && whiteWins == other.whiteWins && blackWins == other.blackWins
+                && mills == other.mills && plies == other.plies;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(games, whiteWins, blackWins, mills, plies);
+    }
+
+    @Override
+    public String toString() {
+        return toCsvRow("total");
+    }
+}
@@ -0,0 +1,325 @@
+package Controller;
+
+import Entity.BoardState;
+import Entity.Move;
+import UseCases.AlphaBetaSearch;
+import UseCases.MoveGenerator;
+import UseCases.TranspositionTable;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Headless engine driven by a line based text protocol, in the manner of UCI chess engines, so arena tools and scripts
+ * can play and analyse positions without the GUI.
+ *
+ * Commands are read one line at a time and answered as they arrive:
+ *   engine                           replies "id name ..." then "engineok"
+ *   isready                          replies "readyok", even while searching
+ *   newgame                          forgets what earlier searches found
+ *   position startpos [moves m...]   the start position, then the moves given
+ *   position TEXT [moves m...]       a position written by BoardState.toText, then the moves given
+ *   go [movetime ms] [wtime ms] [btime ms] [winc ms] [binc ms] [depth n] [infinite]
+ *                                    searches the position on a worker thread
+ *   stop                             ends the search, which replies "bestmove"
+ *   quit                             ends the search and the engine
+ *
+ * Moves are written by Move.toText ("A1", "A1-A2", "C3xB5"). While searching, an "info depth d score s nodes n nps n
+ * time ms pv m..." line is written after every iteration, the score being "eval n", "win n" or "loss n" with n the
+ * plies to the end; the search ends with "bestmove m", or "bestmove none" if the side to move has lost. An infinite
+ * search only writes its bestmove once stopped. The search reads its stop request at every node, so "stop" is
+ * honoured well within a millisecond.
+ */
+public class TextEngine {
+    public static final String NAME = "Nine Men Morris alpha-beta";
+
+    // time for a go without limits
+    public static final long DEFAULT_MOVE_MILLIS = 1000;
+
+    // a move is given this share of the time left on the clock, plus the increment
+    private static final int MOVES_TO_GO = 20;
+
+    // time kept back on the clock for the engine to answer in
+    private static final long CLOCK_RESERVE_MILLIS = 50;
+
+    // time budget of searches that run until stopped or until their depth
+    private static final long NO_TIME_LIMIT = Long.MAX_VALUE / 2;
+
+    private final BufferedReader in;
+    private final PrintWriter out;
+    private final TranspositionTable table;
+    private final AlphaBetaSearch search;
+    private final ExecutorService searchThread = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "engine-search");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private BoardState position = new BoardState();
+    // running or finished search not yet waited for; only touched by the thread reading commands
+    private Future<?> searching;
+
+    // position and start time of the search, for its info lines
+    private volatile BoardState searchPosition;
+    private volatile long searchStartNanos;
+    // set by stop; the lock is held to change it, so a finished infinite search can wait for it
+    private volatile boolean stopRequested;
+
+    /**
+     * @param in commands, one per line
+     * @param out replies, flushed after every line
+     * @param tableBytes size of the transposition table
+     */
+    public TextEngine(BufferedReader in, PrintWriter out, long tableBytes) {
+        this.in = in;
+        this.out = out;
+        table = new TranspositionTable(tableBytes);
+        search = new AlphaBetaSearch(DEFAULT_MOVE_MILLIS, table);
+        search.setListener(this::iterationFinished);
+    }
+
+    /**
+     * Reads and answers commands until "quit" or the end of the input, then stops the search.
+     * @throws IOException if the commands cannot be read
+     */
+    public void run() throws IOException {
+        try {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (!handle(line.trim())) {
+                    break;
+                }
+            }
+        } finally {
+            stopSearch();
+            searchThread.shutdownNow();
+        }
+    }
+
+    // answers one command; returns false on quit
+    private boolean handle(String line) {
+        String[] words = line.split("\\s+");
+        switch (words[0]) {
+            case "":
+                break;
+            case "engine":
+                send("id name " + NAME);
+                send("engineok");
+                break;
+            case "isready":
+                send("readyok");
+                break;
+            case "newgame":
+                stopSearch();
+                table.clear();
+                position = new BoardState();
+                break;
+            case "position":
+                stopSearch();
+                setPosition(words);
+                break;
+            case "go":
+                go(words);
+                break;
+            case "stop":
+                stopSearch();
+                break;
+            case "quit":
+                return false;
+            default:
+                send("info string unknown command: " + line);
+        }
+        return true;
+    }
+
+    private void setPosition(String[] words) {
+        BoardState state;
+        int next;
+        if (words.length > 1 && words[1].equals("startpos")) {
+            state = new BoardState();
+            next = 2;
+        } else {
+            next = Math.min(words.length, 5);
+            state = BoardState.parse(String.join(" ", Arrays.copyOfRange(words, 1, next)));
+            if (state == null) {
+                send("info string not a position: expected startpos, or 24 of W, B or ., side to move (w or b), "
+                        + "and tokens in hand of white and black");
+                return;
+            }
+        }
+        if (next < words.length && words[next].equals("moves")) {
+            for (int i = next + 1; i < words.length; i++) {
+                int move = Move.parse(words[i]);
+                if (!MoveGenerator.isLegal(state, move)) {
+                    send("info string illegal move: " + words[i]);
+                    return;
+                }
+                state.make(move);
+            }
+        } else if (next < words.length) {
+            send("info string expected moves, got: " + words[next]);
+            return;
+        }
+        position = state;
+    }
+
+    private void go(String[] words) {
+        if (searching != null && !searching.isDone()) {
+            send("info string already searching");
+            return;
+        }
+        stopSearch();
+        long moveTime = 0;
+        long[] clock = new long[2];
+        long[] increment = new long[2];
+        int depth = AlphaBetaSearch.MAX_DEPTH;
+        boolean infinite = false;
+        try {
+            for (int i = 1; i < words.length; i++) {
+                switch (words[i]) {
+                    case "infinite":
+                        infinite = true;
+                        break;
+                    case "movetime":
+                        moveTime = Long.parseLong(words[++i]);
+                        break;
+                    case "wtime":
+                        clock[0] = Long.parseLong(words[++i]);
+                        break;
+                    case "btime":
+                        clock[1] = Long.parseLong(words[++i]);
+                        break;
+                    case "winc":
+                        increment[0] = Long.parseLong(words[++i]);
+                        break;
+                    case "binc":
+                        increment[1] = Long.parseLong(words[++i]);
+                        break;
+                    case "depth":
+                        depth = Math.max(1, Math.min(AlphaBetaSearch.MAX_DEPTH, Integer.parseInt(words[++i])));
+                        break;
+                    default:
+                        send("info string unknown go option: " + words[i]);
+                        return;
+                }
+            }
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            send("info string go options need a number");
+            return;
+        }
+
+        int side = position.getSideToMove();
+        long budget = DEFAULT_MOVE_MILLIS;
+        if (infinite) {
+            budget = NO_TIME_LIMIT;
+        } else if (moveTime > 0) {
+            budget = moveTime;
+        } else if (clock[side] > 0) {
+            budget = Math.min(clock[side] / MOVES_TO_GO + increment[side], clock[side] - CLOCK_RESERVE_MILLIS);
+        } else if (depth < AlphaBetaSearch.MAX_DEPTH) {
+            budget = NO_TIME_LIMIT;
+        }
+        search.setTimeBudget(Math.max(1, budget));
+
+        BoardState start = position.copy();
+        int maxDepth = depth;
+        boolean untilStopped = infinite;
+        stopRequested = false;
+        searchPosition = start;
+        searchStartNanos = System.nanoTime();
+        searching = searchThread.submit(() -> {
+            int move = search.findBestMove(start, maxDepth);
+            if (untilStopped) {
+                waitForStop();
+            }
+            send("bestmove " + Move.toText(move));
+            return null;
+        });
+    }
+
+    // called on the search thread after every iteration
+    private void iterationFinished(int depth, int score, long nodes, int bestMove) {
+        if (stopRequested) {
+            // findBestMove clears stop requests when it starts, so a stop made just before is made again here
+            search.stop();
+        }
+        long nanos = Math.max(1, System.nanoTime() - searchStartNanos);
+        String scoreText = score > AlphaBetaSearch.WIN_BOUND ? "win " + (AlphaBetaSearch.WIN_SCORE - score)
+                : score < -AlphaBetaSearch.WIN_BOUND ? "loss " + (AlphaBetaSearch.WIN_SCORE + score)
+                : "eval " + score;
+        send("info depth " + depth + " score " + scoreText + " nodes " + nodes + " nps " + nodes * 1000000000 / nanos
+                + " time " + nanos / 1000000 + " pv " + principalVariation(searchPosition, bestMove, depth));
+    }
+
+    // bestMove followed by the best replies stored in the table, as far as depth
+    private String principalVariation(BoardState start, int bestMove, int depth) {
+        BoardState state = start.copy();
+        StringBuilder pv = new StringBuilder(Move.toText(bestMove));
+        state.make(bestMove);
+        for (int ply = 1; ply < depth && !state.hasTooFewTokens(state.getSideToMove()); ply++) {
+            long entry = table.probe(state.hash());
+            int move = entry == TranspositionTable.MISS ? Move.NONE : TranspositionTable.move(entry);
+            if (move == Move.NONE || !MoveGenerator.isLegal(state, move)) {
+                break;
+            }
+            pv.append(' ').append(Move.toText(move));
+            state.make(move);
+        }
+        return pv.toString();
+    }
+
+    // stops the search, if any, and waits for it to write its bestmove
+    private void stopSearch() {
+        if (searching == null) {
+            return;
+        }
+        synchronized (this) {
+            stopRequested = true;
+            notifyAll();
+        }
+        search.stop();
+        try {
+            searching.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while stopping the search", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Search failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            searching = null;
+        }
+    }
+
+    private synchronized void waitForStop() throws InterruptedException {
+        while (!stopRequested) {
+            wait();
+        }
+    }
+
+    private void send(String line) {
+        synchronized (out) {
+            out.println(line);
+            out.flush();
+        }
+    }
+
+    /**
+     * Runs the engine on standard input and output.
+     * Arguments: [table MiB]
+     */
+    public static void main(String[] args) throws IOException {
+        long tableBytes = (args.length > 0 ? Long.parseLong(args[0]) : 64) << 20;
+        BufferedReader in = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        PrintWriter out = new PrintWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+        new TextEngine(in, out, tableBytes).run();
+    }
+}
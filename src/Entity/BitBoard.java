@@ -0,0 +1,162 @@
+package Entity;
+
+import java.io.Serializable;
+
+/**
+ * Compact Nine Men Morris board, storing each side's tokens as a 24-bit occupancy mask packed into an int.
+ *
+ * Positions are indexed ring by ring: A1..A8 map to indexes 0..7, B1..B8 to 8..15 and C1..C8 to 16..23, so bit i of a
+ * mask is set when that side has a token at position index i.
+ */
+public class BitBoard implements Serializable {
+    public static final int NUM_POSITIONS = 24;
+    public static final int FULL_MASK = (1 << NUM_POSITIONS) - 1;
+
+    // side numbers used to index the occupancy masks
+    public static final int WHITE = 0;
+    public static final int BLACK = 1;
+    public static final int NO_SIDE = -1;
+
+    // occupancy masks for each side, indexed by side number
+    private final int[] masks = new int[2];
+
+    // Zobrist hash of the tokens on the board, updated on every place and remove
+    private long hash;
+
+    /**
+     * Initializes an empty board.
+     */
+    public BitBoard() {
+    }
+
+    /**
+     * Initializes a board from a pair of occupancy masks.
+     *
+     * @param whiteMask 24-bit mask of positions holding white tokens
+     * @param blackMask 24-bit mask of positions holding black tokens, disjoint from whiteMask
+     */
+    public BitBoard(int whiteMask, int blackMask) {
+        masks[WHITE] = whiteMask;
+        masks[BLACK] = blackMask;
+        hash = Zobrist.hashTokens(whiteMask, blackMask);
+    }
+
+    /**
+     * Place a token of the given side at a position index. The position should be empty.
+     *
+     * @param side WHITE or BLACK
+     * @param index position index, in range 0..23
+     */
+    public void place(int side, int index) {
+        masks[side] |= 1 << index;
+        hash ^= Zobrist.tokenKey(side, index);
+    }
+
+    /**
+     * Remove whatever token is at a position index. Does nothing if the position is already empty.
+     *
+     * @param index position index, in range 0..23
+     */
+    public void remove(int index) {
+        int side = sideAt(index);
+        if (side != NO_SIDE) {
+            masks[side] &= ~(1 << index);
+            hash ^= Zobrist.tokenKey(side, index);
+        }
+    }
+
+    /**
+     * Returns which side has a token at a position index.
+     *
+     * @param index position index, in range 0..23
+     * @return WHITE, BLACK, or NO_SIDE if the position is empty
+     */
+    public int sideAt(int index) {
+        int bit = 1 << index;
+        if ((masks[WHITE] & bit) != 0) {
+            return WHITE;
+        } else if ((masks[BLACK] & bit) != 0) {
+            return BLACK;
+        }
+        return NO_SIDE;
+    }
+
+    public boolean isEmpty(int index) {
+        return ((masks[WHITE] | masks[BLACK]) & (1 << index)) == 0;
+    }
+
+    public int getMask(int side) {
+        return masks[side];
+    }
+
+    /**
+     * Returns the Zobrist hash of the tokens on the board, which is kept up to date by place and remove.
+     * @return XOR of Zobrist.tokenKey for every token on the board
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    public int getOccupiedMask() {
+        return masks[WHITE] | masks[BLACK];
+    }
+
+    public int getEmptyMask() {
+        return ~(masks[WHITE] | masks[BLACK]) & FULL_MASK;
+    }
+
+    /**
+     * Returns how many tokens a side has on the board
+     * @param side WHITE or BLACK
+     * @return number of tokens of that side
+     */
+    public int count(int side) {
+        return Integer.bitCount(masks[side]);
+    }
+
+    /**
+     * Returns how many positions on the board are empty
+     * @return number of empty positions
+     */
+    public int emptyCount() {
+        return NUM_POSITIONS - Integer.bitCount(masks[WHITE] | masks[BLACK]);
+    }
+
+    /**
+     * Returns an independent copy of this board.
+     * @return BitBoard with the same occupancy masks
+     */
+    public BitBoard copy() {
+        BitBoard copy = new BitBoard();
+        copy.copyFrom(this);
+        return copy;
+    }
+
+    /**
+     * Overwrite this board's occupancy masks with those of another board, without allocating.
+     * @param other BitBoard to copy from
+     */
+    public void copyFrom(BitBoard other) {
+        masks[WHITE] = other.masks[WHITE];
+        masks[BLACK] = other.masks[BLACK];
+        hash = other.hash;
+    }
+
+    public static int opponent(int side) {
+        return side ^ 1;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof BitBoard)) {
+            return false;
+        }
+        BitBoard other = (BitBoard) o;
+        return masks[WHITE] == other.masks[WHITE] && masks[BLACK] == other.masks[BLACK];
+    }
+
+    @Override
+    public int hashCode() {
+        return masks[WHITE] * 31 + masks[BLACK];
+    }
+}
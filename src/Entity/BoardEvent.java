@@ -0,0 +1,33 @@
+package Entity;
+
+/**
+ * A token added to or removed from a gameboard, as delivered to asynchronous Observers. Events are slots of a ring
+ * buffer that are written again once delivered, so they are only valid during the update call receiving them.
+ */
+public class BoardEvent {
+    private Position position;
+    private Token token;
+
+    /**
+     * Makes this event a token added to the gameboard, or removed from it if token is null.
+     */
+    public void set(Position position, Token token) {
+        this.position = position;
+        this.token = token;
+    }
+
+    public Position getPosition() {
+        return position;
+    }
+
+    /**
+     * @return Token that was added, or null if a token was removed
+     */
+    public Token getToken() {
+        return token;
+    }
+
+    public boolean isPlacement() {
+        return token != null;
+    }
+}
@@ -0,0 +1,226 @@
+package Entity;
+
+/**
+ * Complete state of a Nine Men Morris game for the rules engine: the tokens on the board, the tokens each side still
+ * has to place, and the side to move.
+ *
+ * Moves are applied with make and taken back with unmake, without allocating, so search and simulation code can walk
+ * through positions on a single BoardState.
+ */
+public class BoardState {
+    public static final int TOKENS_PER_PLAYER = 9;
+
+    // a side with fewer tokens than this, on the board and in hand, has lost
+    public static final int MIN_TOKENS = 3;
+
+    private final BitBoard board;
+
+    // tokens each side has not placed yet, indexed by BitBoard side number
+    private final int[] inHand = new int[2];
+
+    private int sideToMove;
+
+    /**
+     * Initializes the state at the start of a game: empty board, nine tokens in hand each, white to move.
+     */
+    public BoardState() {
+        this(new BitBoard(), TOKENS_PER_PLAYER, TOKENS_PER_PLAYER, BitBoard.WHITE);
+    }
+
+    /**
+     * Initializes a state from its parts.
+     * @param board tokens on the board; the state keeps and modifies this BitBoard
+     * @param whiteInHand tokens white has not placed yet
+     * @param blackInHand tokens black has not placed yet
+     * @param sideToMove BitBoard.WHITE or BitBoard.BLACK
+     */
+    public BoardState(BitBoard board, int whiteInHand, int blackInHand, int sideToMove) {
+        this.board = board;
+        this.inHand[BitBoard.WHITE] = whiteInHand;
+        this.inHand[BitBoard.BLACK] = blackInHand;
+        this.sideToMove = sideToMove;
+    }
+
+    public BitBoard getBoard() {
+        return board;
+    }
+
+    public int getSideToMove() {
+        return sideToMove;
+    }
+
+    public int getInHand(int side) {
+        return inHand[side];
+    }
+
+    /**
+     * Returns the Zobrist hash of this state, covering the tokens on the board, the tokens in hand (and so the phase of
+     * each side) and the side to move. The board part is kept up to date by BitBoard, so this takes constant time.
+     * @return 64-bit Zobrist hash
+     */
+    public long hash() {
+        long hash = board.getHash() ^ Zobrist.inHandKey(BitBoard.WHITE, inHand[BitBoard.WHITE])
+                ^ Zobrist.inHandKey(BitBoard.BLACK, inHand[BitBoard.BLACK]);
+        return sideToMove == BitBoard.BLACK ? hash ^ Zobrist.BLACK_TO_MOVE : hash;
+    }
+
+    /**
+     * Returns how many tokens a side has left in the game, on the board and in hand.
+     * @param side BitBoard.WHITE or BitBoard.BLACK
+     * @return number of tokens
+     */
+    public int material(int side) {
+        return board.count(side) + inHand[side];
+    }
+
+    /**
+     * Returns the phase a side is in.
+     * @param side BitBoard.WHITE or BitBoard.BLACK
+     * @return PLACING while the side has tokens in hand, FLYING once it is down to three tokens, MOVING otherwise
+     */
+    public Phase phase(int side) {
+        if (inHand[side] > 0) {
+            return Phase.PLACING;
+        } else if (board.count(side) == MIN_TOKENS) {
+            return Phase.FLYING;
+        }
+        return Phase.MOVING;
+    }
+
+    /**
+     * Returns whether a side has been reduced below three tokens. A side that cannot move has also lost, which is
+     * checked by the move generator.
+     * @param side BitBoard.WHITE or BitBoard.BLACK
+     * @return true if the side lost on material
+     */
+    public boolean hasTooFewTokens(int side) {
+        return material(side) < MIN_TOKENS;
+    }
+
+    /**
+     * Applies a legal move for the side to move, and passes the turn to the other side.
+     * @param move encoded Move
+     */
+    public void make(int move) {
+        int side = sideToMove;
+        int from = Move.from(move);
+        if (from == Move.NO_POSITION) {
+            inHand[side]--;
+        } else {
+            board.remove(from);
+        }
+        board.place(side, Move.to(move));
+        int removed = Move.removed(move);
+        if (removed != Move.NO_POSITION) {
+            board.remove(removed);
+        }
+        sideToMove = side ^ 1;
+    }
+
+    /**
+     * Takes back the last move applied with make.
+     * @param move encoded Move that was last applied
+     */
+    public void unmake(int move) {
+        int side = sideToMove ^ 1;
+        sideToMove = side;
+        int removed = Move.removed(move);
+        if (removed != Move.NO_POSITION) {
+            board.place(side ^ 1, removed);
+        }
+        board.remove(Move.to(move));
+        int from = Move.from(move);
+        if (from == Move.NO_POSITION) {
+            inHand[side]++;
+        } else {
+            board.place(side, from);
+        }
+    }
+
+    /**
+     * Returns an independent copy of this state.
+     * @return BoardState with its own BitBoard
+     */
+    public BoardState copy() {
+        return new BoardState(board.copy(), inHand[BitBoard.WHITE], inHand[BitBoard.BLACK], sideToMove);
+    }
+
+    /**
+     * Overwrite this state with another state, without allocating.
+     * @param other BoardState to copy from
+     */
+    public void copyFrom(BoardState other) {
+        board.copyFrom(other.board);
+        inHand[BitBoard.WHITE] = other.inHand[BitBoard.WHITE];
+        inHand[BitBoard.BLACK] = other.inHand[BitBoard.BLACK];
+        sideToMove = other.sideToMove;
+    }
+
+    /**
+     * Writes this state as text: one character per position in BitBoard index order (W, B or .), the side to move (w
+     * or b), then the tokens white and black have in hand.
+     * @return text form of the state (ex: "W....................... b 8 9" after white places on A1)
+     */
+    public String toText() {
+        StringBuilder text = new StringBuilder(BitBoard.NUM_POSITIONS + 8);
+        for (int index = 0; index < BitBoard.NUM_POSITIONS; index++) {
+            int side = board.sideAt(index);
+            text.append(side == BitBoard.WHITE ? 'W' : side == BitBoard.BLACK ? 'B' : '.');
+        }
+        return text.append(' ').append(sideToMove == BitBoard.WHITE ? 'w' : 'b').append(' ')
+                .append(inHand[BitBoard.WHITE]).append(' ').append(inHand[BitBoard.BLACK]).toString();
+    }
+
+    /**
+     * Parses a state written the way toText writes it.
+     * @param text text form of a state
+     * @return the state, or null if text is not a state
+     */
+    public static BoardState parse(String text) {
+        String[] fields = text.trim().split("\\s+");
+        if (fields.length != 4 || fields[0].length() != BitBoard.NUM_POSITIONS
+                || !(fields[1].equals("w") || fields[1].equals("b"))) {
+            return null;
+        }
+        int white = 0;
+        int black = 0;
+        for (int index = 0; index < BitBoard.NUM_POSITIONS; index++) {
+            char c = fields[0].charAt(index);
+            if (c == 'W') {
+                white |= 1 << index;
+            } else if (c == 'B') {
+                black |= 1 << index;
+            } else if (c != '.') {
+                return null;
+            }
+        }
+        try {
+            int whiteInHand = Integer.parseInt(fields[2]);
+            int blackInHand = Integer.parseInt(fields[3]);
+            if (whiteInHand < 0 || blackInHand < 0 || Integer.bitCount(white) + whiteInHand > TOKENS_PER_PLAYER
+                    || Integer.bitCount(black) + blackInHand > TOKENS_PER_PLAYER) {
+                return null;
+            }
+            return new BoardState(new BitBoard(white, black), whiteInHand, blackInHand,
+                    fields[1].equals("w") ? BitBoard.WHITE : BitBoard.BLACK);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof BoardState)) {
+            return false;
+        }
+        BoardState other = (BoardState) o;
+        return board.equals(other.board) && sideToMove == other.sideToMove
+                && inHand[BitBoard.WHITE] == other.inHand[BitBoard.WHITE]
+                && inHand[BitBoard.BLACK] == other.inHand[BitBoard.BLACK];
+    }
+
+    @Override
+    public int hashCode() {
+        return (board.hashCode() * 31 + inHand[BitBoard.WHITE] * 10 + inHand[BitBoard.BLACK]) * 2 + sideToMove;
+    }
+}
@@ -0,0 +1,145 @@
+package Entity;
+
+/**
+ * Precomputed, immutable description of the Nine Men Morris board layout, indexed by BitBoard position index.
+ *
+ * Every position lies on exactly two of the 16 mill lines, so mill tests become two mask comparisons against a
+ * side's occupancy mask.
+ */
+public final class BoardTopology {
+    // the 16 lines of three positions that form a mill, as position indexes (A1 = 0, B1 = 8, C1 = 16)
+    private static final int[][] MILL_LINES = {
+            {0, 1, 2}, {8, 9, 10}, {16, 17, 18},      // top rows:    A1 A2 A3, B1 B2 B3, C1 C2 C3
+            {0, 3, 5}, {8, 11, 13}, {16, 19, 21},     // left sides:  A1 A4 A6, B1 B4 B6, C1 C4 C6
+            {2, 4, 7}, {10, 12, 15}, {18, 20, 23},    // right sides: A3 A5 A8, B3 B5 B8, C3 C5 C8
+            {5, 6, 7}, {13, 14, 15}, {21, 22, 23},    // bottom rows: A6 A7 A8, B6 B7 B8, C6 C7 C8
+            {1, 9, 17}, {3, 11, 19}, {6, 14, 22}, {4, 12, 20}  // spokes: A2 B2 C2, A4 B4 C4, A7 B7 C7, A5 B5 C5
+    };
+
+    public static final int NUM_MILLS = MILL_LINES.length;
+
+    // pairs of positions joined by a line on the board, that a token can slide between
+    private static final int[][] LINKS = {
+            {0, 1}, {1, 2}, {0, 3}, {3, 5}, {2, 4}, {4, 7}, {5, 6}, {6, 7},               // outer box A
+            {8, 9}, {9, 10}, {8, 11}, {11, 13}, {10, 12}, {12, 15}, {13, 14}, {14, 15},   // middle box B
+            {16, 17}, {17, 18}, {16, 19}, {19, 21}, {18, 20}, {20, 23}, {21, 22}, {22, 23},  // inner box C
+            {1, 9}, {9, 17}, {3, 11}, {11, 19}, {4, 12}, {12, 20}, {6, 14}, {14, 22}     // spokes
+    };
+
+    // mask of the positions adjacent to each position
+    private static final int[] ADJACENT_MASKS = new int[BitBoard.NUM_POSITIONS];
+
+    // occupancy mask of each mill line
+    private static final int[] MILL_MASKS = new int[NUM_MILLS];
+
+    // the two mill lines through each position: line numbers at [2 * index] and [2 * index + 1]
+    private static final int[] LINES_OF_POSITION = new int[2 * BitBoard.NUM_POSITIONS];
+
+    // the two mill masks through each position, laid out like LINES_OF_POSITION
+    private static final int[] MILL_MASKS_OF_POSITION = new int[2 * BitBoard.NUM_POSITIONS];
+
+    static {
+        int[] linesFound = new int[BitBoard.NUM_POSITIONS];
+        for (int line = 0; line < NUM_MILLS; line++) {
+            for (int index : MILL_LINES[line]) {
+                MILL_MASKS[line] |= 1 << index;
+                LINES_OF_POSITION[2 * index + linesFound[index]] = line;
+                linesFound[index]++;
+            }
+        }
+        for (int i = 0; i < LINES_OF_POSITION.length; i++) {
+            MILL_MASKS_OF_POSITION[i] = MILL_MASKS[LINES_OF_POSITION[i]];
+        }
+        for (int[] link : LINKS) {
+            ADJACENT_MASKS[link[0]] |= 1 << link[1];
+            ADJACENT_MASKS[link[1]] |= 1 << link[0];
+        }
+    }
+
+    private BoardTopology() {
+    }
+
+    /**
+     * Returns whether a position lies in a mill made of tokens from a side's occupancy mask.
+     *
+     * @param sideMask occupancy mask of one side
+     * @param index position index, in range 0..23
+     * @return true if either mill line through index is fully covered by sideMask
+     */
+    public static boolean formsMill(int sideMask, int index) {
+        int first = MILL_MASKS_OF_POSITION[2 * index];
+        int second = MILL_MASKS_OF_POSITION[2 * index + 1];
+        return (sideMask & first) == first || (sideMask & second) == second;
+    }
+
+    /**
+     * Returns which mill lines through a position are fully covered by a side's occupancy mask.
+     *
+     * @param sideMask occupancy mask of one side
+     * @param index position index, in range 0..23
+     * @return bit set of mill line numbers (bit n set for line n), empty if no mill goes through index
+     */
+    public static int millLinesAt(int sideMask, int index) {
+        int lines = 0;
+        for (int k = 2 * index; k < 2 * index + 2; k++) {
+            int mask = MILL_MASKS_OF_POSITION[k];
+            if ((sideMask & mask) == mask) {
+                lines |= 1 << LINES_OF_POSITION[k];
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Returns the two mill lines that go through a position.
+     *
+     * @param index position index, in range 0..23
+     * @return bit set of mill line numbers (bit n set for line n)
+     */
+    public static int millLinesThrough(int index) {
+        return (1 << LINES_OF_POSITION[2 * index]) | (1 << LINES_OF_POSITION[2 * index + 1]);
+    }
+
+    /**
+     * Returns the occupancy mask of a mill line.
+     * @param line mill line number, in range 0..15
+     * @return mask with the three positions of the line set
+     */
+    public static int millMask(int line) {
+        return MILL_MASKS[line];
+    }
+
+    /**
+     * Returns a position index on a mill line, in the order the line is listed in (ex: A1 A2 A3).
+     * @param line mill line number, in range 0..15
+     * @param k which position on the line, in range 0..2
+     * @return position index
+     */
+    public static int millPosition(int line, int k) {
+        return MILL_LINES[line][k];
+    }
+
+    /**
+     * Returns the tokens of a side that are part of a mill.
+     * @param sideMask occupancy mask of one side
+     * @return mask of every position of sideMask that is part of at least one mill
+     */
+    public static int millMembers(int sideMask) {
+        int members = 0;
+        for (int mask : MILL_MASKS) {
+            if ((sideMask & mask) == mask) {
+                members |= mask;
+            }
+        }
+        return members;
+    }
+
+    /**
+     * Returns the positions a token can slide to from a position, in the moving phase.
+     * @param index position index, in range 0..23
+     * @return mask of the two to four positions joined to index by a line
+     */
+    public static int adjacent(int index) {
+        return ADJACENT_MASKS[index];
+    }
+}
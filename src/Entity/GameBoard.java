@@ -1,54 +1,64 @@
 package Entity;
 
 import java.io.Serializable;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.Set;
 
 public class GameBoard implements Serializable {
-    // Defines the game board used for Nine Men Morris, which holds the strings representing tokens placed on the
-    // gameboard
-    public HashMap<String, String> gameBoard;
+    // Defines the game board used for Nine Men Morris. Tokens are stored in a BitBoard, with one 24-bit occupancy mask
+    // per token colour, and this class adapts the string based coordinates (ex: A1, C5) used by the use cases to it
+    private final BitBoard board;
 
-    // keeps track of how many empty slots are currently on the gameboard
-    private int gameBoardCapacity;
+    // strings representing the tokens of each side on the board, indexed by BitBoard side number
+    private final String[] sideTokens = {"W", "B"};
 
-    // all gameboard positions possible
-    private final Set<String> gameBoardPositions;
+    // all gameboard positions possible, in BitBoard index order
+    private static final Set<String> GAME_BOARD_POSITIONS;
 
     // regex pattern for empty slots on board
     public static String EMPTY_SLOT_PATTERN = "[ABC][1-8]";
 
+    static {
+        Set<String> positions = new LinkedHashSet<>();
+        for (Position position : Position.values()) {
+            positions.add(position.name());
+        }
+        GAME_BOARD_POSITIONS = Collections.unmodifiableSet(positions);
+    }
+
     /**
      * Initializes an empty Nine Men Morris gameboard.
      *
-     * gameBoard is a hashmap, mapping coordinates to each position in each box of the gameboard
+     * The gameboard is backed by a BitBoard, where each Position (ex: A1, C5) maps to a bit index in range 0..23
      *
      */
     public GameBoard() {
-        // set up hash table, with keys as gameboard coordinates (ex: A1, C5, etc), and values as gameboard token
-        // objects (of type T)
-        HashMap<String, String> gbHash = new HashMap<>();
-        String[] gbBoxes = {"A", "B", "C"};  // A = outer box, B = middle box, C = inner box
-
-        for (String letter: gbBoxes) {
-            // create keys for all gameboard coordinates, in form [ABC][1-8]
-            for (int i = 1; i < 9; i++) {
-                String coordinate = letter + i;
-                gbHash.put(coordinate, null);
-            }
-        }
-
-        gameBoard = gbHash;
-        gameBoardCapacity = 24;
+        board = new BitBoard();
+    }
 
-        // all possible gameboard positions
-        gameBoardPositions = new HashSet<>();
-        gameBoardPositions.addAll(gameBoard.keySet());
+    private static Position checkedParse(String position) {
+        Position parsed = Position.parse(position);
+        if (parsed == null) {
+            throw new IllegalArgumentException("Not a gameboard position: " + position);
+        }
+        return parsed;
     }
 
-    private void decreaseCapacity() { gameBoardCapacity--; }
-    private void increaseCapacity() { gameBoardCapacity++; }
+    // returns the BitBoard side storing tokens represented by token, claiming an empty side for unseen token strings
+    private int sideOf(String token) {
+        int knownSide = getSideOfToken(token);
+        if (knownSide != BitBoard.NO_SIDE) {
+            return knownSide;
+        }
+        for (int side = BitBoard.WHITE; side <= BitBoard.BLACK; side++) {
+            if (board.getMask(side) == 0) {
+                sideTokens[side] = token;
+                return side;
+            }
+        }
+        throw new IllegalArgumentException("GameBoard already holds two other token colours: " + token);
+    }
 
     /**
      * Place a Entity.Player's token in a specified box and box position in Entity.GameBoard
@@ -57,9 +67,18 @@ public class GameBoard implements Serializable {
      * @param targetPosition string representing coordinates in gameBoard (ex: A8, C4) to place token
      */
     public void setToken(String token, String targetPosition) {
+        setToken(token, checkedParse(targetPosition));
+    }
+
+    /**
+     * Place a Entity.Player's token at a Position in Entity.GameBoard
+     *
+     * @param token unique string representing a player's token to place on Entity.GameBoard
+     * @param targetPosition Position to place token
+     */
+    public void setToken(String token, Position targetPosition) {
         // note: any use cases using setToken should ensure targetPosition is empty, before calling this method
-        gameBoard.put(targetPosition, token);  // store string of token at target coordinate in gameboard
-        decreaseCapacity();
+        board.place(sideOf(token), targetPosition.index());
     }
 
     /**
@@ -69,9 +88,17 @@ public class GameBoard implements Serializable {
      *
      */
     public void removeToken(String targetPosition) {
+        removeToken(checkedParse(targetPosition));
+    }
+
+    /**
+     * Remove a Entity.Player's token from a Position in Entity.GameBoard
+     *
+     * @param targetPosition Position to remove token from
+     */
+    public void removeToken(Position targetPosition) {
         // note: any use cases using removeToken should ensure targetPosition is OCCUPIED, before calling this method
-        gameBoard.put(targetPosition, null);  // remove token from target gameboard coordinate, by storing null
-        increaseCapacity();
+        board.remove(targetPosition.index());
     }
 
     /**
@@ -82,7 +109,18 @@ public class GameBoard implements Serializable {
      *
      */
     public String getTokenAtPosition(String targetPosition) {
-        return gameBoard.get(targetPosition);
+        Position position = Position.parse(targetPosition);
+        return position == null ? null : getTokenAtPosition(position);
+    }
+
+    /**
+     * Retrieve the string of the token placed at a Position in Entity.GameBoard, or null if it is empty
+     *
+     * @param targetPosition Position to retrieve token from
+     */
+    public String getTokenAtPosition(Position targetPosition) {
+        int side = board.sideAt(targetPosition.index());
+        return side == BitBoard.NO_SIDE ? null : sideTokens[side];
     }
 
     /**
@@ -90,15 +128,54 @@ public class GameBoard implements Serializable {
      * @return Integer number of empty slots available on gameboard
      */
     public int getGameBoardCapacity() {
-        return gameBoardCapacity;
+        return board.emptyCount();
     }
 
     /**
      * Returns the set of all positions in the gameboard
-     * @return Set of strings for gameboard positions
+     * @return Unmodifiable set of strings for gameboard positions
      */
     public Set<String> getGameBoardPositions() {
-        return gameBoardPositions;
+        return GAME_BOARD_POSITIONS;
+    }
+
+    /**
+     * Returns the Zobrist hash of the tokens on this gameboard, which setToken and removeToken keep up to date. Two
+     * gameboards holding the same tokens have the same hash.
+     * @return 64-bit Zobrist hash
+     */
+    public long getHash() {
+        return board.getHash();
+    }
+
+    /**
+     * Returns the BitBoard storing the tokens on this gameboard, for use cases that work on occupancy masks directly
+     * @return BitBoard backing this gameboard
+     */
+    public BitBoard getBitBoard() {
+        return board;
     }
 
-}
\ No newline at end of file
+    /**
+     * Returns the BitBoard side whose tokens are represented by a token string on this gameboard
+     * @param token String representing a side's tokens (ex: "W")
+     * @return BitBoard.WHITE, BitBoard.BLACK, or BitBoard.NO_SIDE if no side uses that token string
+     */
+    public int getSideOfToken(String token) {
+        if (token.equals(sideTokens[BitBoard.WHITE])) {
+            return BitBoard.WHITE;
+        } else if (token.equals(sideTokens[BitBoard.BLACK])) {
+            return BitBoard.BLACK;
+        }
+        return BitBoard.NO_SIDE;
+    }
+
+    /**
+     * Returns the token string used for a BitBoard side on this gameboard
+     * @param side BitBoard.WHITE or BitBoard.BLACK
+     * @return String representing that side's tokens (ex: "W")
+     */
+    public String getSideToken(int side) {
+        return sideTokens[side];
+    }
+}
@@ -0,0 +1,123 @@
+package Entity;
+
+/**
+ * Encodes a Nine Men Morris move as a single int, so move lists can be stored in plain int arrays.
+ *
+ * A move holds the destination position index (bits 0-4), the position the token came from (bits 5-9, NO_POSITION for
+ * placements) and the opponent token removed after forming a mill (bits 10-14, NO_POSITION if nothing was removed).
+ * Forming a mill and removing a token is one compound move.
+ */
+public final class Move {
+    // value used for "no move", such as when a side has no legal moves
+    public static final int NONE = -1;
+
+    // field value used when a move has no origin or no removal
+    public static final int NO_POSITION = 31;
+
+    private static final int FROM_SHIFT = 5;
+    private static final int REMOVED_SHIFT = 10;
+    private static final int FIELD_MASK = 31;
+
+    private Move() {
+    }
+
+    /**
+     * @param to position index to place a token at
+     * @return move placing a token
+     */
+    public static int place(int to) {
+        return to | NO_POSITION << FROM_SHIFT | NO_POSITION << REMOVED_SHIFT;
+    }
+
+    /**
+     * @param from position index of the token being moved
+     * @param to position index the token moves to
+     * @return move sliding or flying a token
+     */
+    public static int slide(int from, int to) {
+        return to | from << FROM_SHIFT | NO_POSITION << REMOVED_SHIFT;
+    }
+
+    /**
+     * @param move move that forms a mill
+     * @param removed position index of the opponent token to remove
+     * @return the same move, followed by removing the token at removed
+     */
+    public static int withRemoval(int move, int removed) {
+        return (move & ~(FIELD_MASK << REMOVED_SHIFT)) | removed << REMOVED_SHIFT;
+    }
+
+    public static int to(int move) {
+        return move & FIELD_MASK;
+    }
+
+    public static int from(int move) {
+        return (move >>> FROM_SHIFT) & FIELD_MASK;
+    }
+
+    public static int removed(int move) {
+        return (move >>> REMOVED_SHIFT) & FIELD_MASK;
+    }
+
+    public static boolean isPlacement(int move) {
+        return from(move) == NO_POSITION;
+    }
+
+    public static boolean hasRemoval(int move) {
+        return removed(move) != NO_POSITION;
+    }
+
+    /**
+     * Returns a move in text form: "A1" for a placement, "A1-A2" for a slide or flight, followed by "xB3" when the
+     * move removes the opponent token at B3.
+     * @param move encoded move
+     * @return text form of the move, or "none" for NONE
+     */
+    public static String toText(int move) {
+        if (move == NONE) {
+            return "none";
+        }
+        StringBuilder text = new StringBuilder(8);
+        if (!isPlacement(move)) {
+            text.append(Position.of(from(move)).name()).append('-');
+        }
+        text.append(Position.of(to(move)).name());
+        if (hasRemoval(move)) {
+            text.append('x').append(Position.of(removed(move)).name());
+        }
+        return text.toString();
+    }
+
+    /**
+     * Parses a move written the way toText writes it.
+     * @param text text form of a move (ex: "A1", "A1-A2", "C3xB5")
+     * @return encoded move, or NONE if text is not a move
+     */
+    public static int parse(String text) {
+        String move = text.trim();
+        int removed = NO_POSITION;
+        int x = move.indexOf('x');
+        if (x >= 0) {
+            Position position = Position.parse(move.substring(x + 1));
+            if (position == null) {
+                return NONE;
+            }
+            removed = position.index();
+            move = move.substring(0, x);
+        }
+        int dash = move.indexOf('-');
+        Position to = Position.parse(dash >= 0 ? move.substring(dash + 1) : move);
+        if (to == null) {
+            return NONE;
+        }
+        int encoded = place(to.index());
+        if (dash >= 0) {
+            Position from = Position.parse(move.substring(0, dash));
+            if (from == null) {
+                return NONE;
+            }
+            encoded = slide(from.index(), to.index());
+        }
+        return removed == NO_POSITION ? encoded : withRemoval(encoded, removed);
+    }
+}
@@ -0,0 +1,13 @@
+package Entity;
+
+/**
+ * Phases of a Nine Men Morris game, from the point of view of one player
+ */
+public enum Phase {
+    // player still has tokens to place on the gameboard
+    PLACING,
+    // player has placed all tokens, and slides them to adjacent empty positions
+    MOVING,
+    // player is down to three tokens, and may move them to any empty position
+    FLYING
+}
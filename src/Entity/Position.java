@@ -0,0 +1,89 @@
+package Entity;
+
+/**
+ * A position on the Nine Men Morris gameboard, in form [ABC][1-8] (A = outer box, B = middle box, C = inner box).
+ *
+ * Positions are declared in BitBoard index order, so ordinal() is the position's bit index. Strings and GUI button
+ * indexes are converted to positions once, at the boundary, using precomputed tables.
+ */
+public enum Position {
+    A1(0), A2(1), A3(2), A4(9), A5(14), A6(21), A7(22), A8(23),
+    B1(3), B2(4), B3(5), B4(10), B5(13), B6(18), B7(19), B8(20),
+    C1(6), C2(7), C3(8), C4(11), C5(12), C6(15), C7(16), C8(17);
+
+    // all positions, by BitBoard index
+    private static final Position[] BY_INDEX = values();
+
+    // all positions, by index of their button in the GUI
+    private static final Position[] BY_GUI_INDEX = new Position[BitBoard.NUM_POSITIONS];
+
+    static {
+        for (Position position : BY_INDEX) {
+            BY_GUI_INDEX[position.guiIndex] = position;
+        }
+    }
+
+    // index of the button for this position in the GUI's token button array
+    private final int guiIndex;
+
+    Position(int guiIndex) {
+        this.guiIndex = guiIndex;
+    }
+
+    /**
+     * @return BitBoard index of this position, in range 0..23
+     */
+    public int index() {
+        return ordinal();
+    }
+
+    /**
+     * @return BitBoard mask with only this position's bit set
+     */
+    public int mask() {
+        return 1 << ordinal();
+    }
+
+    /**
+     * @return index of this position's button in the GUI, in range 0..23
+     */
+    public int guiIndex() {
+        return guiIndex;
+    }
+
+    /**
+     * Returns the position with a BitBoard index
+     * @param index BitBoard index, in range 0..23
+     * @return Position at that index
+     */
+    public static Position of(int index) {
+        return BY_INDEX[index];
+    }
+
+    /**
+     * Returns the position of a GUI token button
+     * @param guiIndex index of the button in the GUI, in range 0..23
+     * @return Position of that button
+     */
+    public static Position fromGuiIndex(int guiIndex) {
+        return BY_GUI_INDEX[guiIndex];
+    }
+
+    /**
+     * Parses gameboard coordinates without regular expressions or hashing.
+     *
+     * @param position string in form [ABC][1-8] (ex: A8, C4)
+     * @return matching Position, or null if position is not valid gameboard coordinates
+     */
+    public static Position parse(String position) {
+        if (position == null || position.length() != 2) {
+            return null;
+        }
+        int box = position.charAt(0) - 'A';
+        int slot = position.charAt(1) - '1';
+        if (box < 0 || box > 2 || slot < 0 || slot > 7) {
+            return null;
+        }
+        return BY_INDEX[box * 8 + slot];
+    }
+}
@@ -0,0 +1,188 @@
+package Entity;
+
+/**
+ * Numbers the positions with a given count of white and black tokens densely, from 0 to size(white, black) - 1, so
+ * per-position data can be kept in a plain array instead of a sparse one indexed by the raw masks.
+ *
+ * The index of a position is rank(white mask) * C(24 - whiteCount, blackCount) + rank(black mask), where the white mask
+ * is ranked in colex order among all masks with as many bits, and the black mask is ranked the same way after squeezing
+ * out the positions held by white. Colex order is increasing numeric order, so walking ranks from 0 visits masks from
+ * the smallest up.
+ */
+public final class PositionIndexer {
+    private static final int N = BitBoard.NUM_POSITIONS;
+
+    // BINOMIAL[n * (N + 1) + k] is n choose k; the largest, C(24, 12), fits in an int
+    private static final int[] BINOMIAL = new int[(N + 1) * (N + 1)];
+
+    // colexUnrank starts its search for the top bit of a k-bit mask at UNRANK_START[k][rank >>> UNRANK_SHIFT[k]], the
+    // top bit of the lowest rank in that bucket; buckets are small enough that the search is then a step or two
+    private static final int UNRANK_BUCKET_BITS = 12;
+    private static final int[] UNRANK_SHIFT = new int[N + 1];
+    private static final byte[][] UNRANK_START = new byte[N + 1][];
+
+    // PACK[free byte << 8 | mask byte] is the mask byte packed over the free byte, and SPREAD the reverse
+    private static final byte[] PACK = new byte[1 << 16];
+    private static final byte[] SPREAD = new byte[1 << 16];
+
+    static {
+        for (int n = 0; n <= N; n++) {
+            BINOMIAL[n * (N + 1)] = 1;
+            for (int k = 1; k <= n; k++) {
+                BINOMIAL[n * (N + 1) + k] = BINOMIAL[(n - 1) * (N + 1) + k - 1] + BINOMIAL[(n - 1) * (N + 1) + k];
+            }
+        }
+        for (int k = 1; k <= N; k++) {
+            int ranks = BINOMIAL[N * (N + 1) + k];
+            UNRANK_SHIFT[k] = Math.max(0, 32 - Integer.numberOfLeadingZeros(ranks) - UNRANK_BUCKET_BITS);
+            UNRANK_START[k] = new byte[((ranks - 1) >>> UNRANK_SHIFT[k]) + 1];
+            int bit = k - 1;
+            for (int bucket = 0; bucket < UNRANK_START[k].length; bucket++) {
+                while (bit + 1 < N && BINOMIAL[(bit + 1) * (N + 1) + k] <= bucket << UNRANK_SHIFT[k]) {
+                    bit++;
+                }
+                UNRANK_START[k][bucket] = (byte) bit;
+            }
+        }
+        for (int free = 0; free < 256; free++) {
+            for (int mask = 0; mask < 256; mask++) {
+                PACK[free << 8 | mask] = (byte) compressBits(mask & free, free);
+                SPREAD[free << 8 | mask] = (byte) expandBits(mask, free);
+            }
+        }
+    }
+
+    private PositionIndexer() {
+    }
+
+    /**
+     * @return n choose k, for n in range 0..24; 0 if k is out of range 0..n
+     */
+    public static int binomial(int n, int k) {
+        return k < 0 || k > n ? 0 : BINOMIAL[n * (N + 1) + k];
+    }
+
+    /**
+     * @param whiteCount white tokens on the board
+     * @param blackCount black tokens on the board
+     * @return number of positions with those token counts
+     */
+    public static long size(int whiteCount, int blackCount) {
+        return (long) binomial(N, whiteCount) * binomial(N - whiteCount, blackCount);
+    }
+
+    /**
+     * @param whiteMask 24-bit mask of white tokens
+     * @param blackMask 24-bit mask of black tokens, disjoint from whiteMask
+     * @return index of the position among those with the same token counts, in range 0..size - 1
+     */
+    public static long rank(int whiteMask, int blackMask) {
+        int whiteCount = Integer.bitCount(whiteMask);
+        return (long) colexRank(whiteMask) * binomial(N - whiteCount, Integer.bitCount(blackMask))
+                + colexRank(compress(blackMask, ~whiteMask & BitBoard.FULL_MASK));
+    }
+
+    /**
+     * Finds the position with a given index; the inverse of rank.
+     * @param index index in range 0..size(whiteCount, blackCount) - 1
+     * @param whiteCount white tokens on the board
+     * @param blackCount black tokens on the board
+     * @return both masks packed into a long, read with whiteMask and blackMask
+     */
+    public static long unrank(long index, int whiteCount, int blackCount) {
+        int blackRanks = binomial(N - whiteCount, blackCount);
+        int whiteMask = colexUnrank((int) (index / blackRanks), whiteCount);
+        int blackMask = expand(colexUnrank((int) (index % blackRanks), blackCount), ~whiteMask & BitBoard.FULL_MASK);
+        return whiteMask | (long) blackMask << N;
+    }
+
+    public static int whiteMask(long unranked) {
+        return (int) unranked & BitBoard.FULL_MASK;
+    }
+
+    public static int blackMask(long unranked) {
+        return (int) (unranked >>> N);
+    }
+
+    /**
+     * @param mask any mask of up to 24 bits
+     * @return rank of mask among all masks with the same number of bits, in increasing numeric order
+     */
+    public static int colexRank(int mask) {
+        int rank = 0;
+        for (int k = 1; mask != 0; mask &= mask - 1, k++) {
+            rank += BINOMIAL[Integer.numberOfTrailingZeros(mask) * (N + 1) + k];
+        }
+        return rank;
+    }
+
+    /**
+     * @param rank rank in range 0..C(24, k) - 1
+     * @param k number of bits
+     * @return the mask with k bits whose colexRank is rank
+     */
+    public static int colexUnrank(int rank, int k) {
+        int mask = 0;
+        for (; k > 0; k--) {
+            // highest bit whose binomial still fits in what is left of the rank
+            int bit = UNRANK_START[k][rank >>> UNRANK_SHIFT[k]];
+            while (bit + 1 < N && BINOMIAL[(bit + 1) * (N + 1) + k] <= rank) {
+                bit++;
+            }
+            rank -= BINOMIAL[bit * (N + 1) + k];
+            mask |= 1 << bit;
+        }
+        return mask;
+    }
+
+    /**
+     * Packs the bits of mask that lie in free into the low bits, keeping their order.
+     * @param mask bits to pack, a subset of free
+     * @param free positions that can be set
+     * @return packed mask, with as many bits as mask
+     */
+    public static int compress(int mask, int free) {
+        int packed = 0;
+        int shift = 0;
+        for (int i = 0; i < N; i += Byte.SIZE) {
+            int freeByte = free >>> i & 0xFF;
+            packed |= (PACK[freeByte << 8 | mask >>> i & 0xFF] & 0xFF) << shift;
+            shift += Integer.bitCount(freeByte);
+        }
+        return packed;
+    }
+
+    /**
+     * Spreads the low bits of packed over the set bits of free; the inverse of compress.
+     * @param packed packed mask
+     * @param free positions to spread over
+     * @return mask with as many bits as packed, a subset of free
+     */
+    public static int expand(int packed, int free) {
+        int mask = 0;
+        for (int i = 0; i < N; i += Byte.SIZE) {
+            int freeByte = free >>> i & 0xFF;
+            mask |= (SPREAD[freeByte << 8 | packed & 0xFF] & 0xFF) << i;
+            packed >>>= Integer.bitCount(freeByte);
+        }
+        return mask;
+    }
+
+    private static int compressBits(int mask, int free) {
+        int packed = 0;
+        for (; mask != 0; mask &= mask - 1) {
+            packed |= 1 << Integer.bitCount(free & ((mask & -mask) - 1));
+        }
+        return packed;
+    }
+
+    private static int expandBits(int packed, int free) {
+        int mask = 0;
+        for (; packed != 0 && free != 0; free &= free - 1, packed >>>= 1) {
+            if ((packed & 1) != 0) {
+                mask |= free & -free;
+            }
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,195 @@
+package Entity;
+
+/**
+ * The 16 symmetries of the Nine Men Morris board: the 8 rotations and reflections of the square, each optionally
+ * combined with swapping the inner and outer boxes. Positions that map onto each other under a symmetry play the same,
+ * so caches and databases only need to store one canonical representative of each.
+ *
+ * Transforms are numbered 0..15; transform 0 is the identity. Bits 0-1 of a transform give a quarter turn count,
+ * bit 2 adds a mirror image, and bit 3 swaps the inner and outer boxes.
+ */
+public final class Symmetry {
+    public static final int NUM_TRANSFORMS = 16;
+    public static final int IDENTITY = 0;
+
+    // grid coordinates of each slot 1..8 of a box, on a 3x3 grid with the box's top left corner at (0, 0)
+    private static final int[][] SLOT_COORDINATES = {
+            {0, 0}, {1, 0}, {2, 0}, {0, 1}, {2, 1}, {0, 2}, {1, 2}, {2, 2}
+    };
+
+    // where each position index goes under each transform, indexed by [transform][position index]
+    private static final int[][] PERMUTATIONS = new int[NUM_TRANSFORMS][BitBoard.NUM_POSITIONS];
+
+    // transform undoing each transform
+    private static final int[] INVERSES = new int[NUM_TRANSFORMS];
+
+    // transformed mask of every value of each byte of a 24-bit mask, indexed by [transform][byte number][byte value]
+    private static final int[][][] MASK_TABLES = new int[NUM_TRANSFORMS][3][256];
+
+    // bits of a canonicalize result holding the canonical masks, and the position of the transform above them
+    private static final long MASKS_PART = (1L << 48) - 1;
+    private static final int TRANSFORM_SHIFT = 48;
+
+    static {
+        for (int t = 0; t < NUM_TRANSFORMS; t++) {
+            for (int index = 0; index < BitBoard.NUM_POSITIONS; index++) {
+                PERMUTATIONS[t][index] = transformIndex(t, index);
+            }
+        }
+        for (int t = 0; t < NUM_TRANSFORMS; t++) {
+            for (int u = 0; u < NUM_TRANSFORMS; u++) {
+                if (composesToIdentity(t, u)) {
+                    INVERSES[t] = u;
+                }
+            }
+            for (int b = 0; b < 3; b++) {
+                for (int value = 0; value < 256; value++) {
+                    int mask = 0;
+                    for (int bit = 0; bit < 8; bit++) {
+                        if ((value & 1 << bit) != 0) {
+                            mask |= 1 << PERMUTATIONS[t][8 * b + bit];
+                        }
+                    }
+                    MASK_TABLES[t][b][value] = mask;
+                }
+            }
+        }
+    }
+
+    private Symmetry() {
+    }
+
+    // applies transform t to one position index, by turning and mirroring its grid coordinates within its box
+    private static int transformIndex(int t, int index) {
+        int box = index / 8;
+        int x = SLOT_COORDINATES[index % 8][0];
+        int y = SLOT_COORDINATES[index % 8][1];
+        if ((t & 4) != 0) {
+            x = 2 - x;
+        }
+        for (int turn = 0; turn < (t & 3); turn++) {
+            int oldX = x;
+            x = 2 - y;
+            y = oldX;
+        }
+        if ((t & 8) != 0) {
+            box = 2 - box;
+        }
+        for (int slot = 0; slot < 8; slot++) {
+            if (SLOT_COORDINATES[slot][0] == x && SLOT_COORDINATES[slot][1] == y) {
+                return box * 8 + slot;
+            }
+        }
+        throw new IllegalStateException("Centre of a box is not a position");
+    }
+
+    private static boolean composesToIdentity(int t, int u) {
+        for (int index = 0; index < BitBoard.NUM_POSITIONS; index++) {
+            if (PERMUTATIONS[u][PERMUTATIONS[t][index]] != index) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param transform transform number, in range 0..15
+     * @param index position index, in range 0..23
+     * @return index the position moves to under transform
+     */
+    public static int transform(int transform, int index) {
+        return PERMUTATIONS[transform][index];
+    }
+
+    /**
+     * @param transform transform number, in range 0..15
+     * @return transform that undoes transform
+     */
+    public static int inverse(int transform) {
+        return INVERSES[transform];
+    }
+
+    /**
+     * Applies a transform to an occupancy mask, with three table reads.
+     * @param transform transform number, in range 0..15
+     * @param mask 24-bit occupancy mask
+     * @return occupancy mask with every position moved by transform
+     */
+    public static int transformMask(int transform, int mask) {
+        int[][] tables = MASK_TABLES[transform];
+        return tables[0][mask & 0xFF] | tables[1][(mask >>> 8) & 0xFF] | tables[2][mask >>> 16];
+    }
+
+    /**
+     * Applies a transform to every position of an encoded Move.
+     * @param transform transform number, in range 0..15
+     * @param move encoded Move
+     * @return the same move on the transformed board
+     */
+    public static int transformMove(int transform, int move) {
+        int[] permutation = PERMUTATIONS[transform];
+        int to = permutation[Move.to(move)];
+        int from = Move.from(move);
+        int transformed = from == Move.NO_POSITION ? Move.place(to) : Move.slide(permutation[from], to);
+        int removed = Move.removed(move);
+        return removed == Move.NO_POSITION ? transformed : Move.withRemoval(transformed, permutation[removed]);
+    }
+
+    /**
+     * Finds the canonical representative of a position: of its 16 symmetric images, the one whose masks packed as
+     * (white | black << 24) are smallest.
+     *
+     * @param whiteMask 24-bit mask of white tokens
+     * @param blackMask 24-bit mask of black tokens
+     * @return canonical masks in bits 0-47 (white in 0-23, black in 24-47), and in bits 48-51 the transform that maps
+     *         the given position onto them
+     */
+    public static long canonicalize(int whiteMask, int blackMask) {
+        long best = (long) whiteMask | (long) blackMask << 24;
+        int bestTransform = IDENTITY;
+        for (int t = 1; t < NUM_TRANSFORMS; t++) {
+            long packed = (long) transformMask(t, whiteMask) | (long) transformMask(t, blackMask) << 24;
+            if (packed < best) {
+                best = packed;
+                bestTransform = t;
+            }
+        }
+        return best | (long) bestTransform << TRANSFORM_SHIFT;
+    }
+
+    public static int canonicalWhite(long canonical) {
+        return (int) (canonical & BitBoard.FULL_MASK);
+    }
+
+    public static int canonicalBlack(long canonical) {
+        return (int) ((canonical >>> 24) & BitBoard.FULL_MASK);
+    }
+
+    public static int canonicalTransform(long canonical) {
+        return (int) (canonical >>> TRANSFORM_SHIFT) & (NUM_TRANSFORMS - 1);
+    }
+
+    /**
+     * Returns an exact key for the symmetry class of a full game state: the canonical masks together with the tokens
+     * in hand and the side to move. Two states get the same key exactly when one is a symmetric image of the other.
+     *
+     * @param state game state
+     * @return key in bits 0-56; use canonicalize to also find the transform
+     */
+    public static long canonicalKey(BoardState state) {
+        BitBoard board = state.getBoard();
+        long canonical = canonicalize(board.getMask(BitBoard.WHITE), board.getMask(BitBoard.BLACK));
+        return stateKey(canonical, state);
+    }
+
+    /**
+     * Combines a canonicalize result with the parts of a state that symmetries leave unchanged.
+     * @param canonical result of canonicalize for state's board
+     * @param state game state
+     * @return the same key as canonicalKey(state)
+     */
+    public static long stateKey(long canonical, BoardState state) {
+        return (canonical & MASKS_PART) | (long) state.getInHand(BitBoard.WHITE) << 48
+                | (long) state.getInHand(BitBoard.BLACK) << 52 | (long) state.getSideToMove() << 56;
+    }
+}
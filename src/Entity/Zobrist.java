@@ -0,0 +1,71 @@
+package Entity;
+
+/**
+ * Random keys for Zobrist hashing of Nine Men Morris positions.
+ *
+ * A position's hash is the XOR of the key of every token on the board, the keys for how many tokens each side still
+ * has in hand, and the side to move key when black is to move. Tokens in hand decide whether a side is placing, and
+ * the board decides between moving and flying, so equal hashes also mean equal phases. The keys come from a fixed
+ * seed, so hashes are the same on every run and can be stored.
+ */
+public final class Zobrist {
+    // keys for a token of each side at each position, indexed by [side][position index]
+    private static final long[][] TOKEN_KEYS = new long[2][BitBoard.NUM_POSITIONS];
+
+    // keys for the number of tokens each side has in hand, indexed by [side][tokens in hand]
+    private static final long[][] IN_HAND_KEYS = new long[2][BoardState.TOKENS_PER_PLAYER + 1];
+
+    // key XORed in when black is to move
+    public static final long BLACK_TO_MOVE;
+
+    static {
+        long seed = 0x4D6F727269734C4CL;
+        for (int side = 0; side < 2; side++) {
+            for (int i = 0; i < BitBoard.NUM_POSITIONS; i++) {
+                seed += 0x9E3779B97F4A7C15L;
+                TOKEN_KEYS[side][i] = mix(seed);
+            }
+            for (int n = 0; n <= BoardState.TOKENS_PER_PLAYER; n++) {
+                seed += 0x9E3779B97F4A7C15L;
+                IN_HAND_KEYS[side][n] = mix(seed);
+            }
+        }
+        seed += 0x9E3779B97F4A7C15L;
+        BLACK_TO_MOVE = mix(seed);
+    }
+
+    private Zobrist() {
+    }
+
+    // SplitMix64 output function, turning a counter into well distributed 64-bit keys
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    public static long tokenKey(int side, int index) {
+        return TOKEN_KEYS[side][index];
+    }
+
+    public static long inHandKey(int side, int tokensInHand) {
+        return IN_HAND_KEYS[side][tokensInHand];
+    }
+
+    /**
+     * Computes the hash of a pair of occupancy masks from scratch.
+     * @param whiteMask 24-bit mask of white tokens
+     * @param blackMask 24-bit mask of black tokens
+     * @return XOR of the token keys of every token
+     */
+    public static long hashTokens(int whiteMask, int blackMask) {
+        long hash = 0;
+        for (int m = whiteMask; m != 0; m &= m - 1) {
+            hash ^= TOKEN_KEYS[BitBoard.WHITE][Integer.numberOfTrailingZeros(m)];
+        }
+        for (int m = blackMask; m != 0; m &= m - 1) {
+            hash ^= TOKEN_KEYS[BitBoard.BLACK][Integer.numberOfTrailingZeros(m)];
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,11 @@
+package Exceptions;
+
+/**
+ * Exception class raised when player tries to slide a token to a position that is not joined to it by a line, while
+ * they are not allowed to fly
+ */
+public class NotAdjacentException extends InvalidPositionException {
+    public NotAdjacentException() {
+        super("Tokens can only slide along a line to an adjacent empty position");
+    }
+}
@@ -0,0 +1,10 @@
+package Exceptions;
+
+/**
+ * Exception class raised when player tries to move a token that is not their own, or a position with no token
+ */
+public class NotOwnTokenException extends InvalidPositionException {
+    public NotOwnTokenException() {
+        super("Please choose one of your own tokens to move");
+    }
+}
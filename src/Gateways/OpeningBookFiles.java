@@ -0,0 +1,62 @@
+package Gateways;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads and writes opening book files: a 16 byte header (magic number and entry count) followed by entries of two
+ * longs, key then data, sorted by key so they can be binary searched in place.
+ */
+public class OpeningBookFiles {
+    public static final int ENTRY_BYTES = 16;
+
+    private static final int MAGIC = 0x4E4D4F42; // "NMOB"
+    private static final int HEADER_BYTES = 16;
+
+    /**
+     * @param path file to write
+     * @param keys entry keys, in increasing order
+     * @param data entry data, in the same order as keys
+     */
+    public static void write(Path path, long[] keys, long[] data) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + keys.length * ENTRY_BYTES).order(ByteOrder.BIG_ENDIAN);
+        buffer.putInt(MAGIC).putInt(0).putLong(keys.length);
+        for (int i = 0; i < keys.length; i++) {
+            buffer.putLong(keys[i]).putLong(data[i]);
+        }
+        buffer.flip();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * Maps the entries of a book into memory, read only. Pages are read from disk when first touched.
+     * @return buffer of the entries, ENTRY_BYTES each, in big endian order
+     * @throws IOException if the file cannot be read, or is not an opening book file
+     */
+    public static MappedByteBuffer map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            channel.read(header, 0);
+            header.flip();
+            long count = header.remaining() == HEADER_BYTES && header.getInt() == MAGIC ? header.getLong(8) : -1;
+            if (count < 0 || count * ENTRY_BYTES != channel.size() - HEADER_BYTES) {
+                throw new IOException("Not an opening book file: " + path);
+            }
+            return channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES, count * ENTRY_BYTES);
+        }
+    }
+}
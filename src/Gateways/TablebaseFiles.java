@@ -0,0 +1,66 @@
+package Gateways;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads and writes endgame tablebase files: a 16 byte header (magic number, token counts and entry count) followed by
+ * one byte per position of the subspace.
+ */
+public class TablebaseFiles {
+    private static final int MAGIC = 0x4E4D5442; // "NMTB"
+    private static final int HEADER_BYTES = 16;
+
+    /**
+     * @param directory directory holding the tablebase
+     * @param own tokens of the side to move
+     * @param opp tokens of the other side
+     * @return path of the file of that subspace
+     */
+    public static Path path(Path directory, int own, int opp) {
+        return directory.resolve("nmm_" + own + "v" + opp + ".tb");
+    }
+
+    public static void write(Path directory, int own, int opp, byte[] values) throws IOException {
+        Files.createDirectories(directory);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.BIG_ENDIAN);
+        header.putInt(MAGIC).put((byte) own).put((byte) opp).putShort((short) 0).putLong(values.length).flip();
+        try (FileChannel channel = FileChannel.open(path(directory, own, opp), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            channel.write(header);
+            ByteBuffer body = ByteBuffer.wrap(values);
+            while (body.hasRemaining()) {
+                channel.write(body);
+            }
+        }
+    }
+
+    /**
+     * Maps the values of a subspace into memory, read only. Pages are read from disk when first touched.
+     * @return buffer of one byte per position, or null if the directory has no file for that subspace
+     * @throws IOException if the file cannot be read, or is not a tablebase file of that subspace
+     */
+    public static MappedByteBuffer map(Path directory, int own, int opp) throws IOException {
+        Path path = path(directory, own, opp);
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            channel.read(header, 0);
+            header.flip();
+            long count = header.remaining() == HEADER_BYTES && header.getInt() == MAGIC && header.get() == own
+                    && header.get() == opp ? header.getLong(8) : -1;
+            if (count < 0 || count != channel.size() - HEADER_BYTES) {
+                throw new IOException("Not a tablebase file for " + own + "v" + opp + ": " + path);
+            }
+            return channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES, count);
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package Gateways.data;
 
-import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.io.OutputStream;
 import java.io.Serializable;
 import java.nio.file.Files;
 import java.nio.file.Paths;
@@ -29,6 +31,27 @@ public class GameState {
         }
     }
 
+    /**
+     * @param data: the Gateways.data we want to save
+     * @param out: stream to write to; it is flushed, and left open
+     * @throws IOException: if the stream cannot be written
+     */
+    public static void save(Serializable data, OutputStream out) throws IOException {
+        ObjectOutputStream oos = new ObjectOutputStream(out);
+        oos.writeObject(data);
+        oos.flush();
+    }
+
+    /**
+     * @param in: stream to read one saved object from; it is left open
+     * @return the saved Gateways.data that was read
+     * @throws IOException: if the stream cannot be read
+     * @throws ClassNotFoundException: if the stream holds an object of an unknown class
+     */
+    public static Object load(InputStream in) throws IOException, ClassNotFoundException {
+        return new ObjectInputStream(in).readObject();
+    }
+
     /**
      *
      * @param filename: filename with the path where we want to load the Gateways.data from
@@ -0,0 +1,14 @@
+package Interfaces;
+
+import Entity.BoardEvent;
+
+import java.util.List;
+
+public interface BatchObserver extends Observer {
+    /**
+     * Update after tokens were added to or removed from the gameboard, when registered to be updated asynchronously.
+     * Called with every event published since the last call, oldest first, in place of one update call per event.
+     * @param events events, only valid until this call returns
+     */
+    void update(List<BoardEvent> events);
+}
@@ -0,0 +1,17 @@
+package Interfaces;
+
+import Entity.BoardState;
+
+public interface MoveSearch {
+    /**
+     * Search for the best move of the side to move
+     * @param state position to search; it is left unchanged
+     * @return best encoded Move found, or Move.NONE if the side to move has lost
+     */
+    int findBestMove(BoardState state);
+
+    /**
+     * Ask a running findBestMove to return as soon as possible. Safe to call from any thread.
+     */
+    void stop();
+}
@@ -0,0 +1,12 @@
+package Interfaces;
+
+public interface SearchListener {
+    /**
+     * Called on the search thread each time iterative deepening finishes an iteration
+     * @param depth depth of the finished iteration
+     * @param score score of bestMove, from the point of view of the side to move
+     * @param nodes nodes searched so far by this call to findBestMove
+     * @param bestMove best encoded Move of the iteration
+     */
+    void iterationFinished(int depth, int score, long nodes, int bestMove);
+}
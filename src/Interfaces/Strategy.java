@@ -0,0 +1,17 @@
+package Interfaces;
+
+import Entity.BoardState;
+
+import java.util.SplittableRandom;
+
+public interface Strategy {
+    /**
+     * Choose a move for the side to move. A Strategy may keep state between calls, so each thread uses its own.
+     * @param state position to move in; it must be left unchanged
+     * @param moves legal moves of the position, as generated by MoveGenerator
+     * @param count number of moves, at least 1
+     * @param random random number stream of the calling thread
+     * @return one of the moves
+     */
+    int chooseMove(BoardState state, int[] moves, int count, SplittableRandom random);
+}
@@ -1,4 +1,5 @@
 package Interfaces;
+import Entity.Position;
 import Entity.Token;
 
 public interface Subject {
@@ -13,11 +14,11 @@ public interface Subject {
      * @param position Gameboard position where token was added
      * @param playerToken Token that was added
      */
-    void notifyObservers(String position, Token playerToken);
+    void notifyObservers(Position position, Token playerToken);
 
     /**
      * Update Observers about token being removed from gameboard
      * @param position Gameboard position from which token was removed
      */
-    void notifyObservers(String position);
-}
\ No newline at end of file
+    void notifyObservers(Position position);
+}
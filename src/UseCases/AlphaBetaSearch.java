@@ -0,0 +1,377 @@
+package UseCases;
+
+import Entity.BoardState;
+import Entity.Move;
+import Interfaces.MoveSearch;
+import Interfaces.SearchListener;
+
+import java.util.Arrays;
+
+/**
+ * Computer player searching for the best move of a BoardState with negamax alpha-beta and iterative deepening.
+ *
+ * Each iteration searches one ply deeper than the last, until the time budget runs out; the best move of the deepest
+ * finished iteration is played. Moves are tried in order of: last iteration's best move, removals, killer moves, then
+ * history score. Forming a mill and removing a token is one compound Move, so a removal is never searched on its own.
+ * Results are kept in a TranspositionTable, which cuts off positions reached again by another move order and supplies
+ * the move to try first.
+ *
+ * A search instance reuses its move lists and ordering tables between calls, so it must only be used by one thread.
+ */
+public class AlphaBetaSearch implements MoveSearch {
+    // score of a won position; wins found sooner score higher
+    public static final int WIN_SCORE = 100000;
+
+    // deepest ply iterative deepening will go to
+    public static final int MAX_DEPTH = 64;
+
+    private static final int INFINITY = WIN_SCORE + 1;
+
+    // scores beyond this are wins or losses found some number of plies away, by search or from the tablebase
+    public static final int WIN_BOUND = WIN_SCORE - 1024;
+
+    // size of the transposition table made by the single argument constructor
+    public static final long DEFAULT_TABLE_BYTES = 16L << 20;
+
+    // the clock is only read once every this many nodes
+    private static final int TIME_CHECK_INTERVAL = 1024;
+
+    // ordering scores above any history score
+    private static final int FIRST_MOVE_SCORE = Integer.MAX_VALUE;
+    private static final int REMOVAL_SCORE = Integer.MAX_VALUE - 1;
+    private static final int KILLER_SCORE = Integer.MAX_VALUE - 3;
+
+    private long timeBudgetMillis;
+    private final TranspositionTable table;
+    private Tablebase tablebase;
+    private SearchListener listener;
+
+    // move lists and their ordering scores, indexed by ply
+    private final int[][] moves = new int[MAX_DEPTH + 1][MoveGenerator.MAX_MOVES];
+    private final int[][] moveScores = new int[MAX_DEPTH + 1][MoveGenerator.MAX_MOVES];
+
+    // two quiet moves per ply that last caused a cutoff
+    private final int[][] killers = new int[MAX_DEPTH + 1][2];
+
+    // cutoff counts of quiet moves, indexed by [side][from and to bits of the move]
+    private final int[][] history = new int[2][1 << 10];
+
+    private long deadline;
+    private long nodes;
+    private int completedDepth;
+    private int bestScore;
+    private volatile boolean stopRequested;
+    private boolean aborted;
+
+    /**
+     * @param timeBudgetMillis time allowed for each call to findBestMove, in milliseconds
+     */
+    public AlphaBetaSearch(long timeBudgetMillis) {
+        this(timeBudgetMillis, new TranspositionTable(DEFAULT_TABLE_BYTES));
+    }
+
+    /**
+     * @param timeBudgetMillis time allowed for each call to findBestMove, in milliseconds
+     * @param table transposition table to use, which may be shared with other searches
+     */
+    public AlphaBetaSearch(long timeBudgetMillis, TranspositionTable table) {
+        setTimeBudget(timeBudgetMillis);
+        this.table = table;
+    }
+
+    /**
+     * @param timeBudgetMillis time allowed for each later call to findBestMove, in milliseconds
+     */
+    public void setTimeBudget(long timeBudgetMillis) {
+        if (timeBudgetMillis <= 0) {
+            throw new IllegalArgumentException("Time budget must be positive");
+        }
+        this.timeBudgetMillis = timeBudgetMillis;
+    }
+
+    /**
+     * Reports every finished iteration, e.g. so an engine protocol can print its progress.
+     * @param listener listener called on the search thread, or null for none
+     */
+    public void setListener(SearchListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Lets the search look up endgame positions in a tablebase instead of searching them.
+     * @param tablebase tablebase to probe, or null to search every position
+     */
+    public void setTablebase(Tablebase tablebase) {
+        this.tablebase = tablebase;
+    }
+
+    /**
+     * Searches for the best move of the side to move, within the time budget.
+     * @param state position to search; it is left unchanged
+     * @return best Move found, or Move.NONE if the side to move has lost
+     */
+    @Override
+    public int findBestMove(BoardState state) {
+        return findBestMove(state, MAX_DEPTH);
+    }
+
+    /**
+     * Searches for the best move of the side to move, stopping at maxDepth or when the time budget runs out.
+     * @param state position to search; it is left unchanged
+     * @param maxDepth deepest iteration to search, in range 1..MAX_DEPTH
+     * @return best Move found, or Move.NONE if the side to move has lost
+     */
+    public int findBestMove(BoardState state, int maxDepth) {
+        stopRequested = false;
+        table.newSearch();
+        return iterate(state, 1, maxDepth);
+    }
+
+    /**
+     * Runs iterative deepening from startDepth, without starting a new search of the table or clearing a stop request,
+     * so ParallelSearch can run several searches of the same position at once.
+     */
+    int iterate(BoardState state, int startDepth, int maxDepth) {
+        deadline = System.currentTimeMillis() + timeBudgetMillis;
+        nodes = 0;
+        completedDepth = 0;
+        bestScore = 0;
+        aborted = false;
+        for (int[] plyKillers : killers) {
+            plyKillers[0] = Move.NONE;
+            plyKillers[1] = Move.NONE;
+        }
+        for (int[] sideHistory : history) {
+            Arrays.fill(sideHistory, 0);
+        }
+
+        BoardState position = state.copy();
+        if (position.hasTooFewTokens(position.getSideToMove())) {
+            return Move.NONE;
+        }
+        int count = MoveGenerator.generateMoves(position, moves[0]);
+        if (count == 0) {
+            return Move.NONE;
+        }
+        int bestMove = moves[0][0];
+        for (int depth = Math.min(startDepth, maxDepth); depth <= Math.min(maxDepth, MAX_DEPTH); depth++) {
+            int iterationBest = searchRoot(position, count, depth, bestMove);
+            if (aborted) {
+                break;
+            }
+            bestMove = iterationBest;
+            completedDepth = depth;
+            if (listener != null) {
+                listener.iterationFinished(depth, bestScore, nodes, bestMove);
+            }
+            if (Math.abs(bestScore) >= WIN_SCORE - MAX_DEPTH) {
+                // a forced win or loss was found, searching deeper cannot change it
+                break;
+            }
+        }
+        return bestMove;
+    }
+
+    /**
+     * Asks a running findBestMove to return as soon as possible, with the best move found so far. Safe to call from any
+     * thread.
+     */
+    @Override
+    public void stop() {
+        stopRequested = true;
+    }
+
+    // clears a stop request before this search is handed to another thread
+    void resetStop() {
+        stopRequested = false;
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    public int getCompletedDepth() {
+        return completedDepth;
+    }
+
+    /**
+     * @return score of the best move of the deepest finished iteration, from the point of view of the side to move
+     */
+    public int getBestScore() {
+        return bestScore;
+    }
+
+    // searches every root move to depth, trying previousBest first; returns the best move
+    private int searchRoot(BoardState state, int count, int depth, int previousBest) {
+        scoreMoves(state, 0, count, previousBest);
+        int alpha = -INFINITY;
+        int best = previousBest;
+        for (int i = 0; i < count; i++) {
+            int move = pickMove(0, i, count);
+            state.make(move);
+            int score = -negamax(state, depth - 1, 1, -INFINITY, -alpha);
+            state.unmake(move);
+            if (aborted) {
+                break;
+            }
+            if (score > alpha) {
+                alpha = score;
+                best = move;
+            }
+        }
+        if (!aborted) {
+            bestScore = alpha;
+        }
+        return best;
+    }
+
+    private int negamax(BoardState state, int depth, int ply, int alpha, int beta) {
+        // a stop request is read at every node, so it is honoured at once; the clock only now and then
+        if (stopRequested || (++nodes & (TIME_CHECK_INTERVAL - 1)) == 0 && System.currentTimeMillis() >= deadline) {
+            aborted = true;
+        }
+        if (aborted) {
+            return 0;
+        }
+        int side = state.getSideToMove();
+        if (state.hasTooFewTokens(side)) {
+            return -WIN_SCORE + ply;
+        }
+        if (tablebase != null) {
+            int result = tablebase.probe(state);
+            if (result == Tablebase.DRAW) {
+                return 0;
+            } else if (result != Tablebase.NOT_COVERED) {
+                int score = WIN_SCORE - ply - Tablebase.distance(result);
+                return Tablebase.isWin(result) ? score : -score;
+            }
+        }
+        if (depth == 0 || ply >= MAX_DEPTH) {
+            if (!MoveGenerator.hasLegalMove(state)) {
+                return -WIN_SCORE + ply;
+            }
+            return evaluate(state);
+        }
+
+        long key = state.hash();
+        long entry = table.probe(key);
+        int tableMove = Move.NONE;
+        if (entry != TranspositionTable.MISS) {
+            tableMove = TranspositionTable.move(entry);
+            if (TranspositionTable.depth(entry) >= depth) {
+                int score = scoreFromTable(TranspositionTable.score(entry), ply);
+                int bound = TranspositionTable.bound(entry);
+                if (bound == TranspositionTable.EXACT || (bound == TranspositionTable.LOWER_BOUND && score >= beta)
+                        || (bound == TranspositionTable.UPPER_BOUND && score <= alpha)) {
+                    return score;
+                }
+            }
+        }
+
+        int count = MoveGenerator.generateMoves(state, moves[ply]);
+        if (count == 0) {
+            return -WIN_SCORE + ply;
+        }
+        scoreMoves(state, ply, count, tableMove);
+        int originalAlpha = alpha;
+        int bestMove = Move.NONE;
+        for (int i = 0; i < count; i++) {
+            int move = pickMove(ply, i, count);
+            state.make(move);
+            int score = -negamax(state, depth - 1, ply + 1, -beta, -alpha);
+            state.unmake(move);
+            if (aborted) {
+                return 0;
+            }
+            if (score > alpha) {
+                alpha = score;
+                bestMove = move;
+                if (alpha >= beta) {
+                    if (!Move.hasRemoval(move)) {
+                        storeKiller(ply, move);
+                        history[side][move & 0x3FF] += depth * depth;
+                    }
+                    break;
+                }
+            }
+        }
+        int bound = alpha >= beta ? TranspositionTable.LOWER_BOUND
+                : alpha > originalAlpha ? TranspositionTable.EXACT : TranspositionTable.UPPER_BOUND;
+        table.store(key, depth, bound, scoreToTable(alpha, ply), bestMove);
+        return alpha;
+    }
+
+    // win and loss scores count plies from the root; the table stores them counted from the position instead
+    private static int scoreToTable(int score, int ply) {
+        if (score > WIN_BOUND) {
+            return score + ply;
+        } else if (score < -WIN_BOUND) {
+            return score - ply;
+        }
+        return score;
+    }
+
+    private static int scoreFromTable(int score, int ply) {
+        if (score > WIN_BOUND) {
+            return score - ply;
+        } else if (score < -WIN_BOUND) {
+            return score + ply;
+        }
+        return score;
+    }
+
+    // gives every move at ply an ordering score
+    private void scoreMoves(BoardState state, int ply, int count, int firstMove) {
+        int[] plyMoves = moves[ply];
+        int[] scores = moveScores[ply];
+        int[] sideHistory = history[state.getSideToMove()];
+        for (int i = 0; i < count; i++) {
+            int move = plyMoves[i];
+            if (move == firstMove) {
+                scores[i] = FIRST_MOVE_SCORE;
+            } else if (Move.hasRemoval(move)) {
+                scores[i] = REMOVAL_SCORE;
+            } else if (move == killers[ply][0] || move == killers[ply][1]) {
+                scores[i] = KILLER_SCORE;
+            } else {
+                scores[i] = sideHistory[move & 0x3FF];
+            }
+        }
+    }
+
+    // selection sort step: swaps the best scored of the remaining moves into index i, and returns it
+    private int pickMove(int ply, int i, int count) {
+        int[] plyMoves = moves[ply];
+        int[] scores = moveScores[ply];
+        int best = i;
+        for (int j = i + 1; j < count; j++) {
+            if (scores[j] > scores[best]) {
+                best = j;
+            }
+        }
+        int move = plyMoves[best];
+        plyMoves[best] = plyMoves[i];
+        plyMoves[i] = move;
+        int score = scores[best];
+        scores[best] = scores[i];
+        scores[i] = score;
+        return move;
+    }
+
+    private void storeKiller(int ply, int move) {
+        if (killers[ply][0] != move) {
+            killers[ply][1] = killers[ply][0];
+            killers[ply][0] = move;
+        }
+    }
+
+    /**
+     * Scores a position from the point of view of the side to move, with PatternEvaluator: tokens left, mills standing,
+     * open and blocked, and how many slides each side has.
+     * @param state position to score
+     * @return positive if the side to move is ahead
+     */
+    public static int evaluate(BoardState state) {
+        return PatternEvaluator.evaluate(state);
+    }
+}
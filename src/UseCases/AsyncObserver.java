@@ -0,0 +1,235 @@
+package UseCases;
+
+import Entity.BoardEvent;
+import Entity.Position;
+import Entity.Token;
+import Interfaces.BatchObserver;
+import Interfaces.Observer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivers gameboard updates to one Observer off the game's thread, so a slow observer (a network broadcaster, a
+ * logger, the GUI) never holds up the move that caused them.
+ *
+ * Events are published into a ring buffer of BoardEvents allocated up front, and delivered by a task on an executor
+ * shared by many observers, which hands a BatchObserver every event waiting in one call, and any other Observer one
+ * update call per event. A task is only queued when events are published to an observer with none queued or running,
+ * so an observer with nothing to deliver uses no thread at all. A slot is only written again after the observer has
+ * returned from the call delivering it. Events are published from one thread at a time, as the game they come from;
+ * overflow decides what happens when the observer falls a whole ring behind.
+ */
+public class AsyncObserver {
+    public enum OverflowPolicy {
+        // the publishing thread waits for the observer to catch up
+        BLOCK,
+        // the event is dropped, and counted
+        DROP,
+        // publishing throws IllegalStateException
+        FAIL
+    }
+
+    // executor delivering to observers that are not given one; created on first use, and its idle threads end
+    private static final class SharedExecutor {
+        static final ForkJoinPool POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors(),
+                ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true);
+    }
+
+    private final Observer observer;
+    private final OverflowPolicy overflow;
+    private final Executor executor;
+    private final BoardEvent[] ring;
+    private final int mask;
+    // events handed to a BatchObserver; only used by the delivery task, which never runs twice at once
+    private final List<BoardEvent> batch = new ArrayList<>();
+
+    // sequence numbers of the next event to publish, and of the next event to deliver
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+    // whether a delivery task is queued on the executor or running
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    // threads waiting in awaitDelivered; only changed with this locked
+    private volatile int waiters;
+    private volatile boolean closed;
+    private long dropped;
+
+    /**
+     * Delivers on an executor shared by every observer not given one of its own.
+     * @param observer observer to update
+     * @param capacity events that can wait for delivery, rounded up to a power of two
+     * @param overflow what to do with an event published when capacity events are waiting
+     */
+    public AsyncObserver(Observer observer, int capacity, OverflowPolicy overflow) {
+        this(observer, capacity, overflow, SharedExecutor.POOL);
+    }
+
+    /**
+     * @param observer observer to update
+     * @param capacity events that can wait for delivery, rounded up to a power of two
+     * @param overflow what to do with an event published when capacity events are waiting
+     * @param executor executor to deliver on, which may be shared by many observers
+     */
+    public AsyncObserver(Observer observer, int capacity, OverflowPolicy overflow, Executor executor) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity must be in range 1..2^30");
+        }
+        this.observer = observer;
+        this.overflow = overflow;
+        this.executor = executor;
+        ring = new BoardEvent[capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1];
+        for (int i = 0; i < ring.length; i++) {
+            ring[i] = new BoardEvent();
+        }
+        mask = ring.length - 1;
+    }
+
+    public Observer getObserver() {
+        return observer;
+    }
+
+    public int getCapacity() {
+        return ring.length;
+    }
+
+    /**
+     * @return events dropped as the ring was full, with the DROP policy
+     */
+    public synchronized long getDropped() {
+        return dropped;
+    }
+
+    /**
+     * Publishes a token added to the gameboard, or removed from it if token is null.
+     * @throws IllegalStateException with the FAIL policy, if capacity events are waiting; or if closed
+     */
+    public void publish(Position position, Token token) {
+        if (closed) {
+            throw new IllegalStateException("Observer has been closed");
+        }
+        long sequence = published.get();
+        if (sequence - delivered.get() >= ring.length) {
+            if (overflow == OverflowPolicy.DROP) {
+                synchronized (this) {
+                    dropped++;
+                }
+                return;
+            } else if (overflow == OverflowPolicy.FAIL) {
+                throw new IllegalStateException("Observer " + observer.getClass().getSimpleName() + " fell "
+                        + ring.length + " events behind");
+            }
+            awaitDeliveredUninterruptibly(sequence - ring.length + 1);
+        }
+        ring[(int) sequence & mask].set(position, token);
+        // a volatile write, so the slot is visible to the delivery task with the new sequence number
+        published.set(sequence + 1);
+        schedule();
+    }
+
+    /**
+     * Waits until every event published so far has been delivered.
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void awaitDelivery() throws InterruptedException {
+        awaitDelivered(published.get());
+    }
+
+    /**
+     * Delivers the events already published, waiting for them. Later publishing throws.
+     */
+    public void close() {
+        closed = true;
+        awaitDeliveredUninterruptibly(published.get());
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::deliver);
+            } catch (RejectedExecutionException e) {
+                scheduled.set(false);
+                throw e;
+            }
+        }
+    }
+
+    // waits until the events before sequence number target have been delivered
+    private void awaitDelivered(long target) throws InterruptedException {
+        synchronized (this) {
+            waiters++;
+            try {
+                while (delivered.get() < target) {
+                    wait();
+                }
+            } finally {
+                waiters--;
+            }
+        }
+    }
+
+    private void awaitDeliveredUninterruptibly(long target) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                awaitDelivered(target);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // delivers the events waiting, at most a whole ring, then hands the executor's thread to the other observers
+    private void deliver() {
+        long next = delivered.get();
+        long end = published.get();
+        try {
+            if (observer instanceof BatchObserver) {
+                batch.clear();
+                for (long sequence = next; sequence < end; sequence++) {
+                    batch.add(ring[(int) sequence & mask]);
+                }
+                ((BatchObserver) observer).update(batch);
+            } else {
+                for (long sequence = next; sequence < end; sequence++) {
+                    BoardEvent event = ring[(int) sequence & mask];
+                    if (event.isPlacement()) {
+                        observer.update(event.getPosition(), event.getToken());
+                    } else {
+                        observer.update(event.getPosition());
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            // a failing observer loses the events of that call, but is still updated about later ones
+            Thread thread = Thread.currentThread();
+            thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+        } finally {
+            finishDelivery(end);
+        }
+    }
+
+    private void finishDelivery(long end) {
+        // a volatile write, read by a waiter before it waits, so either it sees the events delivered or is notified
+        delivered.set(end);
+        if (waiters > 0) {
+            synchronized (this) {
+                notifyAll();
+            }
+        }
+        scheduled.set(false);
+        // an event published after published was read saw scheduled still set, and left it to this task to queue
+        // another
+        if (published.get() != end) {
+            schedule();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package UseCases;
+
+import Entity.BoardState;
+import Entity.Move;
+import Interfaces.MoveSearch;
+
+/**
+ * Plays the opening book move when the position is in the book, and otherwise asks another MoveSearch. Book moves are
+ * found with one binary search, so they are played at once instead of after a full search.
+ */
+public class BookSearch implements MoveSearch {
+    private final OpeningBook book;
+    private final MoveSearch search;
+
+    /**
+     * @param book opening book to consult first
+     * @param search search for positions the book does not cover
+     */
+    public BookSearch(OpeningBook book, MoveSearch search) {
+        this.book = book;
+        this.search = search;
+    }
+
+    @Override
+    public int findBestMove(BoardState state) {
+        int move = book.bestMove(state);
+        if (move != Move.NONE && MoveGenerator.isLegal(state, move)) {
+            return move;
+        }
+        return search.findBestMove(state);
+    }
+
+    @Override
+    public void stop() {
+        search.stop();
+    }
+}
@@ -1,301 +1,170 @@
 package UseCases;
 
+import Entity.BitBoard;
+import Entity.BoardTopology;
 import Entity.GameBoard;
-import Exceptions.InvalidPositionException;
+import Entity.Position;
 import java.util.*;
 
 public class CheckMill {
-    // Stores the location of mills formed by both players
-    public static HashMap<Integer, Set<List<String>>> playerMills = new HashMap<>();
+    // Stores the mills currently standing for both players in this game, as bit sets of BoardTopology mill line numbers,
+    // indexed by player number (index 0 is unused)
+    private final int[] playerMills = new int[3];
 
-    public CheckMill() {
-        // Stores the mills for player 1
-        // represent player mills as list of strings (ex: A1 A2 A3), and store the lists in the HashSets
-        HashSet<List<String>> player1Mills = new HashSet<>();
+    // number of standing mills each gameboard position is part of, indexed by BitBoard position index
+    private final int[] positionMillCounts = new int[BitBoard.NUM_POSITIONS];
+
+    // number of each player's tokens that are part of at least one standing mill, indexed by player number
+    private final int[] tokensInMills = new int[3];
 
-        // Stores the mills for player 2
-        HashSet<List<String>> player2Mills = new HashSet<>();
+    // number of mills each player has formed so far in this game, indexed by player number; unlike the standing mills,
+    // this goes up when a slide breaks one mill and forms another
+    private final int[] millsFormed = new int[3];
 
-        // playerMills ends up as a hashmap, mapping player number to HashSets containing each player's mills
-        playerMills.put(1, player1Mills);
-        playerMills.put(2, player2Mills);
+    public CheckMill() {
     }
 
+    // player 1 is white, player 2 is black
+    private int playerNumber(String colour) {
+        return colour.equals("W") ? 1 : 2;
+    }
 
-    private String getItemInGameBoard(String targetPosition, GameBoard gameboard) {
-        // No need to throw Non-existent position exception, as GameBoardManipulator will check for this whenever
-        // a player tries to make a move
-        return gameboard.getTokenAtPosition(targetPosition);
+    // returns the occupancy mask of the tokens represented by colour, or 0 if no tokens use that colour
+    private int colourMask(String colour, GameBoard gameboard) {
+        int side = gameboard.getSideOfToken(colour);
+        return side == BitBoard.NO_SIDE ? 0 : gameboard.getBitBoard().getMask(side);
     }
 
-    public void millAdder(String position, String[] mill, GameBoard gameboard) {
-        // checks which player the mill belongs to, and add the mill to the player's mills
-        if (getItemInGameBoard(position, gameboard).equals("W")) {
-            playerMills.get(1).add(List.of(mill));
-        } else {
-            playerMills.get(2).add(List.of(mill));
+    // adds a newly formed mill line to a player's standing mills, and counts its positions as being in a mill
+    private void addMill(int line, int playerNum) {
+        playerMills[playerNum] |= 1 << line;
+        millsFormed[playerNum]++;
+        for (int k = 0; k < 3; k++) {
+            int index = BoardTopology.millPosition(line, k);
+            if (positionMillCounts[index]++ == 0) {
+                tokensInMills[playerNum]++;
+            }
         }
-
     }
 
-    public void checkMill(String position, String colour, GameBoard gameboard) throws InvalidPositionException {
-        List<List<String>> combinations = new ArrayList<>();
-        List<String> innerList1 = new ArrayList<>();
-        innerList1.add("A1");
-        innerList1.add("A2");
-        innerList1.add("A3");
-        combinations.add(innerList1);
-
-        List<String> innerList2 = new ArrayList<>();
-        innerList2.add("B1");
-        innerList2.add("B2");
-        innerList2.add("B3");
-        combinations.add(innerList2);
-
-        List<String> innerList3 = new ArrayList<>();
-        innerList3.add("C1");
-        innerList3.add("C2");
-        innerList3.add("C3");
-        combinations.add(innerList3);
-
-        List<String> innerList4 = new ArrayList<>();
-        innerList4.add("A1");
-        innerList4.add("A4");
-        innerList4.add("A6");
-        combinations.add(innerList4);
-
-        List<String> innerList5 = new ArrayList<>();
-        innerList5.add("B1");
-        innerList5.add("B4");
-        innerList5.add("B6");
-        combinations.add(innerList5);
-
-        List<String> innerList6 = new ArrayList<>();
-        innerList6.add("C1");
-        innerList6.add("C4");
-        innerList6.add("C6");
-        combinations.add(innerList6);
-
-        List<String> innerList7 = new ArrayList<>();
-        innerList7.add("A3");
-        innerList7.add("A5");
-        innerList7.add("A8");
-        combinations.add(innerList7);
-
-        List<String> innerList8 = new ArrayList<>();
-        innerList8.add("B3");
-        innerList8.add("B5");
-        innerList8.add("B8");
-        combinations.add(innerList8);
-
-        List<String> innerList9 = new ArrayList<>();
-        innerList9.add("C3");
-        innerList9.add("C5");
-        innerList9.add("C8");
-        combinations.add(innerList9);
-
-        List<String> innerList10 = new ArrayList<>();
-        innerList10.add("A6");
-        innerList10.add("A7");
-        innerList10.add("A8");
-        combinations.add(innerList10);
-
-        List<String> innerList11 = new ArrayList<>();
-        innerList11.add("B6");
-        innerList11.add("B7");
-        innerList11.add("B8");
-        combinations.add(innerList11);
-
-        List<String> innerList12 = new ArrayList<>();
-        innerList12.add("C6");
-        innerList12.add("C7");
-        innerList12.add("C8");
-        combinations.add(innerList12);
-
-        List<String> innerList13 = new ArrayList<>();
-        innerList13.add("A2");
-        innerList13.add("B2");
-        innerList13.add("C2");
-        combinations.add(innerList13);
-
-        List<String> innerList14 = new ArrayList<>();
-        innerList14.add("A4");
-        innerList14.add("B4");
-        innerList14.add("C4");
-        combinations.add(innerList14);
-
-        List<String> innerList15 = new ArrayList<>();
-        innerList15.add("A7");
-        innerList15.add("B7");
-        innerList15.add("C7");
-        combinations.add(innerList15);
-
-        List<String> innerList16 = new ArrayList<>();
-        innerList16.add("A5");
-        innerList16.add("B5");
-        innerList16.add("C5");
-        combinations.add(innerList16);
-
-        for (List<String> lo : combinations) {
-            if (lo.contains(position)) {
-                boolean found = false;
-                for (String o : lo) {
-                    if (getItemInGameBoard(o, gameboard) == null) {
-                        found = false;
-                        break;
-                    } else if (!getItemInGameBoard(o, gameboard).equals(colour)) {
-                        found = false;
-                        break;
-                    } else {
-                        found = true;
-                    }
-                }
-                if (found) {
-                    millAdder(lo.get(0), new String[]{lo.get(0), lo.get(1), lo.get(2)}, gameboard);
-                }
+    // removes a broken mill line from a player's standing mills
+    private void breakMill(int line, int playerNum) {
+        playerMills[playerNum] &= ~(1 << line);
+        for (int k = 0; k < 3; k++) {
+            int index = BoardTopology.millPosition(line, k);
+            if (--positionMillCounts[index] == 0) {
+                tokensInMills[playerNum]--;
             }
-
         }
     }
 
-    public Boolean checkMill2(String position, String colour, GameBoard gameboard) {
-        List<List<String>> combinations = new ArrayList<>();
-        List<String> innerList1 = new ArrayList<>();
-        innerList1.add("A1");
-        innerList1.add("A2");
-        innerList1.add("A3");
-        combinations.add(innerList1);
-
-        List<String> innerList2 = new ArrayList<>();
-        innerList2.add("B1");
-        innerList2.add("B2");
-        innerList2.add("B3");
-        combinations.add(innerList2);
-
-        List<String> innerList3 = new ArrayList<>();
-        innerList3.add("C1");
-        innerList3.add("C2");
-        innerList3.add("C3");
-        combinations.add(innerList3);
-
-        List<String> innerList4 = new ArrayList<>();
-        innerList4.add("A1");
-        innerList4.add("A4");
-        innerList4.add("A6");
-        combinations.add(innerList4);
-
-        List<String> innerList5 = new ArrayList<>();
-        innerList5.add("B1");
-        innerList5.add("B4");
-        innerList5.add("B6");
-        combinations.add(innerList5);
-
-        List<String> innerList6 = new ArrayList<>();
-        innerList6.add("C1");
-        innerList6.add("C4");
-        innerList6.add("C6");
-        combinations.add(innerList6);
-
-        List<String> innerList7 = new ArrayList<>();
-        innerList7.add("A3");
-        innerList7.add("A5");
-        innerList7.add("A8");
-        combinations.add(innerList7);
-
-        List<String> innerList8 = new ArrayList<>();
-        innerList8.add("B3");
-        innerList8.add("B5");
-        innerList8.add("B8");
-        combinations.add(innerList8);
-
-        List<String> innerList9 = new ArrayList<>();
-        innerList9.add("C3");
-        innerList9.add("C5");
-        innerList9.add("C8");
-        combinations.add(innerList9);
-
-        List<String> innerList10 = new ArrayList<>();
-        innerList10.add("A6");
-        innerList10.add("A7");
-        innerList10.add("A8");
-        combinations.add(innerList10);
-
-        List<String> innerList11 = new ArrayList<>();
-        innerList11.add("B6");
-        innerList11.add("B7");
-        innerList11.add("B8");
-        combinations.add(innerList11);
+    /**
+     * Records every new mill of the given colour that goes through position
+     * @param position Gameboard position where a token was just placed
+     * @param colour Token color/string of the player who placed the token
+     * @param gameboard GameBoard the token was placed on
+     */
+    public void checkMill(Position position, String colour, GameBoard gameboard) {
+        int playerNum = playerNumber(colour);
+        int newLines = BoardTopology.millLinesAt(colourMask(colour, gameboard), position.index())
+                & ~playerMills[playerNum];
+        while (newLines != 0) {
+            addMill(Integer.numberOfTrailingZeros(newLines), playerNum);
+            newLines &= newLines - 1;
+        }
+    }
 
-        List<String> innerList12 = new ArrayList<>();
-        innerList12.add("C6");
-        innerList12.add("C7");
-        innerList12.add("C8");
-        combinations.add(innerList12);
+    /**
+     * Returns whether position is part of a mill of the given colour
+     * @param position Gameboard position to check
+     * @param colour Token color/string to check mills for
+     * @param gameboard GameBoard to check
+     * @return true if a mill of colour goes through position
+     */
+    public boolean checkMill2(Position position, String colour, GameBoard gameboard) {
+        return BoardTopology.formsMill(colourMask(colour, gameboard), position.index());
+    }
 
-        List<String> innerList13 = new ArrayList<>();
-        innerList13.add("A2");
-        innerList13.add("B2");
-        innerList13.add("C2");
-        combinations.add(innerList13);
+    public int getPlayerHouses(int player_number) {
+        return Integer.bitCount(playerMills[player_number]);
+    }
 
-        List<String> innerList14 = new ArrayList<>();
-        innerList14.add("A4");
-        innerList14.add("B4");
-        innerList14.add("C4");
-        combinations.add(innerList14);
+    /**
+     * Returns how many mills a player has formed so far, counting mills that have since been broken
+     * @param player_number 1 for player 1 (white), 2 for player 2 (black)
+     * @return number of mills formed
+     */
+    public int getMillsFormed(int player_number) {
+        return millsFormed[player_number];
+    }
 
-        List<String> innerList15 = new ArrayList<>();
-        innerList15.add("A7");
-        innerList15.add("B7");
-        innerList15.add("C7");
-        combinations.add(innerList15);
+    /**
+     * Returns how many of a player's tokens are part of at least one of their standing mills
+     * @param player_number 1 for player 1 (white), 2 for player 2 (black)
+     * @return number of the player's tokens in mills
+     */
+    public int getTokensInMills(int player_number) {
+        return tokensInMills[player_number];
+    }
 
-        List<String> innerList16 = new ArrayList<>();
-        innerList16.add("A5");
-        innerList16.add("B5");
-        innerList16.add("C5");
-        combinations.add(innerList16);
+    /**
+     * Returns whether a position is part of a standing mill of either player
+     * @param position Gameboard position to check
+     * @return true if the position is in a mill
+     */
+    public boolean isInMill(Position position) {
+        return positionMillCounts[position.index()] > 0;
+    }
 
-        for (List<String> lo : combinations) {
-            if (lo.contains(position)) {
-                boolean found = false;
-                for (String o : lo) {
-                    if (getItemInGameBoard(o, gameboard) == null) {
-                        found = false;
-                        break;
-                    } else if (!getItemInGameBoard(o, gameboard).equals(colour)) {
-                        found = false;
-                        break;
-                    } else {
-                        found = true;
-                    }
-                }
-                if (found) {
-                    return true;
-                }
+    public Set<String> getPlayerHousesIndexes(String colour) {
+        Set<String> mergedHousesIndexesSet = new HashSet<>();
+        int lines = playerMills[playerNumber(colour)];
+        while (lines != 0) {
+            int line = Integer.numberOfTrailingZeros(lines);
+            lines &= lines - 1;
+            for (int k = 0; k < 3; k++) {
+                mergedHousesIndexesSet.add(Position.of(BoardTopology.millPosition(line, k)).name());
             }
-
         }
-        return false;
+        return mergedHousesIndexesSet;
     }
 
-    public int getPlayerHouses(int player_number) {
-        return playerMills.get(player_number).size();
+    /**
+     * Breaks every standing mill of a player that goes through position, before the token there is removed
+     * @param position Gameboard position of the token being removed
+     * @param playerNum number of the player whose mills are broken
+     */
+    public void removeTokenFromMill(Position position, int playerNum){
+        int brokenLines = BoardTopology.millLinesThrough(position.index()) & playerMills[playerNum];
+        while (brokenLines != 0) {
+            breakMill(Integer.numberOfTrailingZeros(brokenLines), playerNum);
+            brokenLines &= brokenLines - 1;
+        }
     }
 
-    public Set<String> getPlayerHousesIndexes(String colour) {
-        int player_number;
-        if(colour.equals("W")){ player_number = 1; }
-        else{ player_number = 2; }
-        Set<List<String>> housesIndexesSet =  playerMills.get(player_number);
-        Set<String> mergedHousesIndexesSet = new HashSet<>();
-        for (List<String> list : housesIndexesSet){
-            mergedHousesIndexesSet.addAll(list);
+    /**
+     * Breaks every standing mill, of either player, that goes through position, after a token was removed from it
+     * @param position Gameboard position of the removed token
+     */
+    public void tokenRemoved(Position position) {
+        if (isInMill(position)) {
+            removeTokenFromMill(position, 1);
+            removeTokenFromMill(position, 2);
         }
-        return mergedHousesIndexesSet;
     }
 
-    public void removeTokenFromMill(String position, int playerNum){
-        playerMills.get(playerNum).removeIf(list -> list.contains(position));
+    /**
+     * Forgets every mill and records the mills standing on a gameboard, as when a saved game is loaded
+     * @param gameboard GameBoard whose standing mills are recorded
+     */
+    public void rebuild(GameBoard gameboard) {
+        Arrays.fill(playerMills, 0);
+        Arrays.fill(positionMillCounts, 0);
+        Arrays.fill(tokensInMills, 0);
+        Arrays.fill(millsFormed, 0);
+        for (Position position : Position.values()) {
+            checkMill(position, "W", gameboard);
+            checkMill(position, "B", gameboard);
+        }
     }
 }
@@ -1,6 +1,7 @@
 package UseCases;
 
 import Entity.GameBoard;
+import Entity.Position;
 import Entity.Token;
 import Exceptions.*;
 import Interfaces.Observer;
@@ -13,16 +14,27 @@ import java.util.ArrayList;
  */
 // This class is both a Facade and a Subject class (as part of the Observer design pattern)
 public class GameBoardManipulator implements Subject {
+    // updates an asynchronous Observer may fall behind by, when registered without a capacity
+    public static final int DEFAULT_ASYNC_CAPACITY = 1024;
+
     // Design UseCases.GameBoardManipulator as a facade class for manipulating tokens on a Entity.GameBoard (add, remove, slide tokens)
     private final GameBoardPlacer placer;
     private final GameBoardRemover remover;
+    private final GameBoardSlider slider;
     private final CheckMill millChecker;
     private final ArrayList<Observer> observers = new ArrayList<>();
+    private final ArrayList<AsyncObserver> asyncObservers = new ArrayList<>();
 
     public GameBoardManipulator(GameBoardPlacer placer, GameBoardRemover remover,
                                 CheckMill millChecker) {
+        this(placer, remover, new GameBoardSlider(), millChecker);
+    }
+
+    public GameBoardManipulator(GameBoardPlacer placer, GameBoardRemover remover, GameBoardSlider slider,
+                                CheckMill millChecker) {
         this.placer = placer;
         this.remover = remover;
+        this.slider = slider;
         this.millChecker = millChecker;
     }
 
@@ -31,22 +43,97 @@ public class GameBoardManipulator implements Subject {
         observers.add(o);
     }
 
+    /**
+     * Add an Observer updated off the game's thread, so it cannot slow down moves; see AsyncObserver. Observers that
+     * the game relies on to be up to date at once, like the TokenTracker, must be registered with register instead.
+     * @param o Observer to be updated; a BatchObserver gets all the updates waiting in one call
+     */
+    public AsyncObserver registerAsync(Observer o) {
+        return registerAsync(o, DEFAULT_ASYNC_CAPACITY, AsyncObserver.OverflowPolicy.BLOCK);
+    }
+
+    /**
+     * Add an Observer updated off the game's thread, so it cannot slow down moves; see AsyncObserver.
+     * @param o Observer to be updated; a BatchObserver gets all the updates waiting in one call
+     * @param capacity updates that can wait for the Observer
+     * @param overflow what to do with an update when capacity updates are waiting
+     * @return the asynchronous observer, e.g. to count dropped updates
+     */
+    public AsyncObserver registerAsync(Observer o, int capacity, AsyncObserver.OverflowPolicy overflow) {
+        AsyncObserver asyncObserver = new AsyncObserver(o, capacity, overflow);
+        asyncObservers.add(asyncObserver);
+        return asyncObserver;
+    }
+
+    /**
+     * Stop updating an Observer. An asynchronous Observer is first given the updates already waiting.
+     * @param o Observer to stop updating
+     */
     public void unregister(Observer o) {
         observers.remove(o);
+        for (int i = asyncObservers.size() - 1; i >= 0; i--) {
+            if (asyncObservers.get(i).getObserver() == o) {
+                asyncObservers.remove(i).close();
+            }
+        }
+    }
+
+    /**
+     * Stop updating the asynchronous Observers, once they are given the updates already waiting; e.g. when the game
+     * is over. Observers registered with register are still updated.
+     */
+    public void close() {
+        for (AsyncObserver asyncObserver : asyncObservers) {
+            asyncObserver.close();
+        }
+        asyncObservers.clear();
+    }
+
+    /**
+     * Wait until the asynchronous Observers have been given every update so far
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void awaitAsyncObservers() throws InterruptedException {
+        for (AsyncObserver asyncObserver : asyncObservers) {
+            asyncObserver.awaitDelivery();
+        }
     }
 
     @Override
-    public void notifyObservers(String position, Token playerToken) {
+    public void notifyObservers(Position position, Token playerToken) {
         for (Observer o : observers) {
             o.update(position, playerToken);
         }
+        for (AsyncObserver asyncObserver : asyncObservers) {
+            asyncObserver.publish(position, playerToken);
+        }
     }
 
     @Override
-    public void notifyObservers(String position) {
+    public void notifyObservers(Position position) {
         for (Observer o : observers) {
             o.update(position);
         }
+        for (AsyncObserver asyncObserver : asyncObservers) {
+            asyncObserver.publish(position, null);
+        }
+    }
+
+    /**
+     * Update Observers about token being added to gameboard
+     * @param position Gameboard coordinates, in form [ABC][1-8], where token was added
+     * @param playerToken Token that was added
+     */
+    public void notifyObservers(String position, Token playerToken) {
+        notifyObservers(Position.parse(position), playerToken);
+    }
+
+    /**
+     * Update Observers about token being removed from gameboard
+     * @param position Gameboard coordinates, in form [ABC][1-8], from which token was removed
+     */
+    public void notifyObservers(String position) {
+        notifyObservers(Position.parse(position));
     }
 
     /**
@@ -59,6 +146,19 @@ public class GameBoardManipulator implements Subject {
      */
     public void placeToken(String position, Token playerToken, GameBoard gb) throws OccupiedSlotException,
             NonexistentPositionException {
+        placeToken(Position.parse(position), playerToken, gb);
+    }
+
+    /**
+     * Place a Token on a gameboard, as requested by a player
+     * @param position Gameboard position to place the token, or null if the requested coordinates did not parse
+     * @param playerToken Token that player wants to place
+     * @param gb GameBoard for inserting the token into
+     * @throws OccupiedSlotException If player tries to place token in non-empty position
+     * @throws NonexistentPositionException If position is null
+     */
+    public void placeToken(Position position, Token playerToken, GameBoard gb) throws OccupiedSlotException,
+            NonexistentPositionException {
         placer.place(gb, playerToken, position);
         notifyObservers(position, playerToken);
     }
@@ -76,7 +176,24 @@ public class GameBoardManipulator implements Subject {
      */
     public void removeToken(String position, String playerUserName, String playerColor, TokenTracker tracker)
             throws RemoveEmptySlotException, InvalidPositionException, RemoveMillException, RemoveSelfTokenException {
+        removeToken(Position.parse(position), playerUserName, playerColor, tracker);
+    }
+
+    /**
+     * Removes a Token from a specified position on a gameboard, as requested by a player
+     * @param position Gameboard position to remove a token from, or null if the requested coordinates did not parse
+     * @param playerUserName Username of the requesting player
+     * @param playerColor Token color/string of the requesting player (i.e: "B" or "W")
+     * @param tracker TokenTracker to check for self tokens a player tries to remove
+     * @throws RemoveEmptySlotException If player tries to remove token from empty position
+     * @throws InvalidPositionException If position is null
+     * @throws RemoveMillException If player tries to remove token that belongs in an opponent's mill
+     * @throws RemoveSelfTokenException If player tries to remove their own token
+     */
+    public void removeToken(Position position, String playerUserName, String playerColor, TokenTracker tracker)
+            throws RemoveEmptySlotException, InvalidPositionException, RemoveMillException, RemoveSelfTokenException {
         remover.remove(position, playerColor, playerUserName, tracker, millChecker);
+        millChecker.tokenRemoved(position);
         notifyObservers(position);
     }
 
@@ -85,7 +202,26 @@ public class GameBoardManipulator implements Subject {
      * @param position Position where opponent token is
      * @param gb Gameboard for which token is to be removed from position
      */
-    public void removeOpponentMillToken(String position, GameBoard gb) {
+    public void removeOpponentMillToken(Position position, GameBoard gb) {
         remover.forceRemove(position, gb);
+        millChecker.tokenRemoved(position);
+        notifyObservers(position);
+    }
+
+    /**
+     * Move one of a player's Tokens to another position on a gameboard, in the moving or flying phase
+     * @param from Gameboard position of the token to move
+     * @param to Gameboard position to move the token to
+     * @param playerToken Token of the player making the move
+     * @param gb GameBoard the token is on
+     * @param flying true if the player may move to any empty position, instead of only adjacent ones
+     * @throws InvalidPositionException If the token cannot be moved from from to to
+     */
+    public void slideToken(Position from, Position to, Token playerToken, GameBoard gb, boolean flying)
+            throws InvalidPositionException {
+        slider.slide(gb, playerToken, from, to, flying);
+        millChecker.tokenRemoved(from);
+        notifyObservers(from);
+        notifyObservers(to, playerToken);
     }
-}
\ No newline at end of file
+}
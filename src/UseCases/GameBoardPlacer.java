@@ -1,6 +1,7 @@
 package UseCases;
 
 import Entity.GameBoard;
+import Entity.Position;
 import Entity.Token;
 import Exceptions.NonexistentPositionException;
 import Exceptions.OccupiedSlotException;
@@ -13,11 +14,11 @@ public class GameBoardPlacer {
      *
      * @param gb Entity.GameBoard instance to place token on
      * @param token A Entity.Token instance to place on the gameboard
-     * @param position String representation of gameboard coordinates to place token, in form [ABC][1-8]
+     * @param position Gameboard position to place token, or null if the requested coordinates did not parse
      */
-    public void place(GameBoard gb, Token token, String position) throws NonexistentPositionException,
+    public void place(GameBoard gb, Token token, Position position) throws NonexistentPositionException,
             OccupiedSlotException {
-        if (! checkValidPosition(position)) {
+        if (position == null) {
             throw new NonexistentPositionException();
         } else if (! checkPositionUnoccupied(gb, position)) {
             throw new OccupiedSlotException();
@@ -27,13 +28,8 @@ public class GameBoardPlacer {
         }
     }
 
-    private boolean checkValidPosition(String position) {
-        // return True if gameboard position string matches [ABC][1-8] text pattern, matching pattern for empty slot
-        return position.matches(GameBoard.EMPTY_SLOT_PATTERN);
-    }
-
-    private boolean checkPositionUnoccupied(GameBoard gb, String position) {
+    private boolean checkPositionUnoccupied(GameBoard gb, Position position) {
         // return True if position is not occupied in gameboard
-        return gb.getTokenAtPosition(position) == null;
+        return gb.getBitBoard().isEmpty(position.index());
     }
 }
@@ -1,7 +1,7 @@
-
 package UseCases;
 
 import Entity.GameBoard;
+import Entity.Position;
 import Exceptions.NonexistentPositionException;
 import Exceptions.RemoveEmptySlotException;
 import Exceptions.RemoveMillException;
@@ -12,14 +12,14 @@ public class GameBoardRemover {
 
     /**
      * Removes a token from position on gameboard
-     * @param position String representation of a token to place on the Entity.GameBoard, in format [ABC][1-8]
+     * @param position Gameboard position to remove a token from, or null if the requested coordinates did not parse
      */
-    protected void remove(String position, String playerColor, String playerUserName, TokenTracker tracker,
+    protected void remove(Position position, String playerColor, String playerUserName, TokenTracker tracker,
                           CheckMill millChecker)
             throws NonexistentPositionException, RemoveEmptySlotException, RemoveSelfTokenException, RemoveMillException {
         GameBoard gb = tracker.getGameBoard();
 
-        if (!checkValidPosition(position)) {
+        if (position == null) {
             // non-existent gameboard coordinates given
             throw new NonexistentPositionException();
         } else if (checkPositionUnoccupied(gb, position)) {
@@ -43,17 +43,12 @@ public class GameBoardRemover {
      * @param position
      * @param gb
      */
-    protected void forceRemove(String position, GameBoard gb) {
+    protected void forceRemove(Position position, GameBoard gb) {
         gb.removeToken(position);
     }
 
-    private boolean checkValidPosition(String position) {
-        // return True if gameboard position string matches [ABC][1-8] text pattern, matching pattern for empty slot
-        return position.matches(GameBoard.EMPTY_SLOT_PATTERN);
-    }
-
-    private boolean checkPositionUnoccupied(GameBoard gb, String position) {
+    private boolean checkPositionUnoccupied(GameBoard gb, Position position) {
         // return True if position is not occupied in gameboard
-        return gb.getTokenAtPosition(position) == null;
+        return gb.getBitBoard().isEmpty(position.index());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,40 @@
+package UseCases;
+
+import Entity.BoardTopology;
+import Entity.GameBoard;
+import Entity.Position;
+import Entity.Token;
+import Exceptions.InvalidPositionException;
+import Exceptions.NonexistentPositionException;
+import Exceptions.NotAdjacentException;
+import Exceptions.NotOwnTokenException;
+import Exceptions.OccupiedSlotException;
+
+public class GameBoardSlider {
+    // class for GameBoardManipulator facade, moving tokens already on a GameBoard instance
+
+    /**
+     * Moves a Token from one position on GameBoard to another
+     *
+     * @param gb Entity.GameBoard instance to move the token on
+     * @param token A Entity.Token of the player moving, used to check they own the token being moved
+     * @param from Gameboard position of the token to move, or null if the requested coordinates did not parse
+     * @param to Gameboard position to move the token to, or null if the requested coordinates did not parse
+     * @param flying true if the player is down to three tokens, and may move to any empty position
+     */
+    public void slide(GameBoard gb, Token token, Position from, Position to, boolean flying)
+            throws InvalidPositionException {
+        if (from == null || to == null) {
+            throw new NonexistentPositionException();
+        } else if (! token.toString().equals(gb.getTokenAtPosition(from))) {
+            throw new NotOwnTokenException();
+        } else if (! gb.getBitBoard().isEmpty(to.index())) {
+            throw new OccupiedSlotException();
+        } else if (! flying && (BoardTopology.adjacent(from.index()) & to.mask()) == 0) {
+            throw new NotAdjacentException();
+        } else {
+            gb.removeToken(from);
+            gb.setToken(token.toString(), to);
+        }
+    }
+}
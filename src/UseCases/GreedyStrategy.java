@@ -0,0 +1,34 @@
+package UseCases;
+
+import Entity.BoardState;
+import Interfaces.Strategy;
+
+import java.util.SplittableRandom;
+
+/**
+ * Plays the move that leaves the best AlphaBetaSearch.evaluate score one ply ahead, picking at random between equally
+ * good moves.
+ */
+public class GreedyStrategy implements Strategy {
+    @Override
+    public int chooseMove(BoardState state, int[] moves, int count, SplittableRandom random) {
+        int best = moves[0];
+        int bestScore = Integer.MIN_VALUE;
+        int ties = 0;
+        for (int i = 0; i < count; i++) {
+            int move = moves[i];
+            state.make(move);
+            // evaluate scores for the side now to move, the opponent
+            int score = -AlphaBetaSearch.evaluate(state);
+            state.unmake(move);
+            if (score > bestScore) {
+                best = move;
+                bestScore = score;
+                ties = 1;
+            } else if (score == bestScore && random.nextInt(++ties) == 0) {
+                best = move;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,357 @@
+package UseCases;
+
+import Entity.BoardState;
+import Entity.Move;
+import Interfaces.MoveSearch;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Computer player choosing moves by Monte Carlo Tree Search, which suits the placement phase better than alpha-beta:
+ * its branching factor is too high to search deeply, but random games to the end are cheap.
+ *
+ * Each playout walks down the tree picking children by UCT, adds one new node, then plays random moves from there to
+ * the end of the game and counts the result in every node on the way back up. Random moves prefer forming a mill when
+ * one can be formed. The move played is the root child that was visited the most.
+ *
+ * Several threads grow the same tree at once (tree parallelism). A thread passing through a node counts a virtual loss
+ * there until its playout is counted, so other threads are steered towards other children meanwhile. Each thread plays
+ * its games on its own BoardState and move list, so a playout does not allocate beyond the node it adds.
+ */
+public class MctsSearch implements MoveSearch {
+    // UCT exploration constant, for results scored in range 0..1
+    public static final double EXPLORATION = 1.0;
+
+    // visits a thread adds to each node it passes through, taken back when its playout is counted
+    public static final int VIRTUAL_LOSS = 3;
+
+    // random games still going after this many plies count as draws
+    public static final int ROLLOUT_PLY_LIMIT = 200;
+
+    // deepest the tree is walked in one playout; beyond it the playout carries on as a random game
+    private static final int MAX_TREE_DEPTH = 256;
+
+    // results are counted in half points, so that a draw scores 1 and a win 2
+    private static final int WIN = 2;
+    private static final int DRAW = 1;
+    private static final int NO_WINNER = -1;
+
+    private static final VarHandle VISITS;
+    private static final VarHandle SCORE;
+    private static final VarHandle CHILDREN = MethodHandles.arrayElementVarHandle(Node[].class);
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            VISITS = lookup.findVarHandle(Node.class, "visits", int.class);
+            SCORE = lookup.findVarHandle(Node.class, "score", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final long timeBudgetMillis;
+    private final Worker[] workers;
+    private final ExecutorService helperPool;
+    private final AtomicLong playouts = new AtomicLong();
+
+    private volatile boolean stopRequested;
+    private long deadlineNanos;
+    private long maxPlayouts;
+    private Node root;
+
+    /**
+     * @param timeBudgetMillis time allowed for each call to findBestMove, in milliseconds
+     * @param threads number of threads growing the tree, including the calling thread
+     */
+    public MctsSearch(long timeBudgetMillis, int threads) {
+        if (timeBudgetMillis <= 0) {
+            throw new IllegalArgumentException("Time budget must be positive");
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("MctsSearch needs at least one thread");
+        }
+        this.timeBudgetMillis = timeBudgetMillis;
+        workers = new Worker[threads];
+        long seed = System.nanoTime();
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new Worker(seed + i * 0x9E3779B97F4A7C15L);
+        }
+        helperPool = threads == 1 ? null : Executors.newFixedThreadPool(threads - 1, runnable -> {
+            Thread thread = new Thread(runnable, "mcts-helper");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Searches for the best move of the side to move, within the time budget.
+     * @param state position to search; it is left unchanged
+     * @return best Move found, or Move.NONE if the side to move has lost
+     */
+    @Override
+    public int findBestMove(BoardState state) {
+        return findBestMove(state, Long.MAX_VALUE);
+    }
+
+    /**
+     * Searches for the best move of the side to move, stopping after maxPlayouts playouts or when the time budget runs
+     * out.
+     * @param state position to search; it is left unchanged
+     * @param maxPlayouts most playouts to run, over all threads
+     * @return best Move found, or Move.NONE if the side to move has lost
+     */
+    public int findBestMove(BoardState state, long maxPlayouts) {
+        stopRequested = false;
+        playouts.set(0);
+        this.maxPlayouts = maxPlayouts;
+        deadlineNanos = System.nanoTime() + timeBudgetMillis * 1000000;
+        BoardState position = state.copy();
+        root = new Node(Move.NONE, position.getSideToMove() ^ 1);
+        if (position.hasTooFewTokens(position.getSideToMove())) {
+            return Move.NONE;
+        }
+        expand(root, position, new int[MoveGenerator.MAX_MOVES]);
+        if (root.moves.length == 0) {
+            return Move.NONE;
+        }
+
+        List<Future<?>> helpers = new ArrayList<>(workers.length - 1);
+        for (int i = 1; i < workers.length; i++) {
+            Worker helper = workers[i];
+            helpers.add(helperPool.submit(() -> helper.run(position)));
+        }
+        workers[0].run(position);
+        for (Future<?> helper : helpers) {
+            waitFor(helper);
+        }
+        return mostVisitedMove(root);
+    }
+
+    private static void waitFor(Future<?> helper) {
+        try {
+            helper.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while stopping search threads", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Search thread failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    // lists the moves of node, unless another thread got there first
+    private static void expand(Node node, BoardState state, int[] moveList) {
+        synchronized (node) {
+            if (node.children == null) {
+                int count = MoveGenerator.generateMoves(state, moveList);
+                node.moves = Arrays.copyOf(moveList, count);
+                node.children = new Node[count];
+            }
+        }
+    }
+
+    private static int mostVisitedMove(Node node) {
+        int bestMove = Move.NONE;
+        int bestVisits = -1;
+        for (int i = 0; i < node.moves.length; i++) {
+            Node child = (Node) CHILDREN.getVolatile(node.children, i);
+            int visits = child == null ? 0 : child.visits;
+            if (visits > bestVisits) {
+                bestVisits = visits;
+                bestMove = node.moves[i];
+            }
+        }
+        return bestMove;
+    }
+
+    /**
+     * Asks a running findBestMove to return as soon as possible, with the most visited move so far. Safe to call from
+     * any thread.
+     */
+    @Override
+    public void stop() {
+        stopRequested = true;
+    }
+
+    public int getThreads() {
+        return workers.length;
+    }
+
+    /**
+     * @return playouts run by all threads during the last findBestMove
+     */
+    public long getPlayouts() {
+        return Math.min(playouts.get(), maxPlayouts);
+    }
+
+    /**
+     * @return share of the playouts through the chosen root move that the side to move won, counting draws as half,
+     * after the last findBestMove
+     */
+    public double getBestWinRate() {
+        if (root == null || root.children == null) {
+            return 0;
+        }
+        Node best = null;
+        for (Node child : root.children) {
+            if (child != null && (best == null || child.visits > best.visits)) {
+                best = child;
+            }
+        }
+        return best == null || best.visits == 0 ? 0 : best.score / (double) (WIN * best.visits);
+    }
+
+    /**
+     * Stops the helper threads. The search must not be used afterwards.
+     */
+    public void shutdown() {
+        if (helperPool != null) {
+            helperPool.shutdownNow();
+        }
+    }
+
+    private static final class Node {
+        final int move;
+        // side that played move, whose point of view score is counted from
+        final int side;
+        // legal moves and the children reached by them; null until the node is expanded, and children are only
+        // created once visited
+        volatile int[] moves;
+        volatile Node[] children;
+        volatile int visits;
+        volatile long score;
+
+        Node(int move, int side) {
+            this.move = move;
+            this.side = side;
+        }
+    }
+
+    // the state of one thread: its position, move list, path through the tree and random number generator
+    private final class Worker {
+        private final BoardState state = new BoardState();
+        private final int[] moveList = new int[MoveGenerator.MAX_MOVES];
+        private final Node[] path = new Node[MAX_TREE_DEPTH + 1];
+        private long random;
+
+        Worker(long seed) {
+            random = seed == 0 ? 1 : seed;
+        }
+
+        void run(BoardState position) {
+            while (!stopRequested && System.nanoTime() < deadlineNanos && playouts.getAndIncrement() < maxPlayouts) {
+                playout(position);
+            }
+        }
+
+        private void playout(BoardState position) {
+            state.copyFrom(position);
+            Node node = root;
+            path[0] = node;
+            VISITS.getAndAdd(node, VIRTUAL_LOSS);
+            int depth = 0;
+            int winner = NO_WINNER;
+            while (depth < MAX_TREE_DEPTH) {
+                int side = state.getSideToMove();
+                if (state.hasTooFewTokens(side)) {
+                    winner = side ^ 1;
+                    break;
+                }
+                if (node.children == null) {
+                    expand(node, state, moveList);
+                }
+                if (node.moves.length == 0) {
+                    winner = side ^ 1;
+                    break;
+                }
+                node = select(node);
+                state.make(node.move);
+                path[++depth] = node;
+                if ((int) VISITS.getAndAdd(node, VIRTUAL_LOSS) == 0) {
+                    // a node no playout has passed through yet: the random game starts here
+                    break;
+                }
+            }
+            if (winner == NO_WINNER) {
+                winner = rollout();
+            }
+            for (int i = 0; i <= depth; i++) {
+                Node visited = path[i];
+                SCORE.getAndAdd(visited, (long) (winner == NO_WINNER ? DRAW : winner == visited.side ? WIN : 0));
+                VISITS.getAndAdd(visited, 1 - VIRTUAL_LOSS);
+                path[i] = null;
+            }
+        }
+
+        // the child with the highest UCT value; children not visited yet come first, and are created here
+        private Node select(Node node) {
+            Node[] children = node.children;
+            int side = state.getSideToMove();
+            double logVisits = Math.log(Math.max(node.visits, 1));
+            Node best = null;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < children.length; i++) {
+                Node child = (Node) CHILDREN.getVolatile(children, i);
+                if (child == null) {
+                    Node created = new Node(node.moves[i], side);
+                    if (CHILDREN.compareAndSet(children, i, null, created)) {
+                        return created;
+                    }
+                    child = (Node) CHILDREN.getVolatile(children, i);
+                }
+                int visits = child.visits;
+                if (visits == 0) {
+                    return child;
+                }
+                double value = child.score / (double) (WIN * visits) + EXPLORATION * Math.sqrt(logVisits / visits);
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = child;
+                }
+            }
+            return best;
+        }
+
+        // plays random moves from state to the end of the game; returns the winning side, or NO_WINNER for a draw
+        private int rollout() {
+            for (int ply = 0; ply < ROLLOUT_PLY_LIMIT; ply++) {
+                int side = state.getSideToMove();
+                if (state.hasTooFewTokens(side)) {
+                    return side ^ 1;
+                }
+                int count = MoveGenerator.generateMoves(state, moveList);
+                if (count == 0) {
+                    return side ^ 1;
+                }
+                // mill forming moves are listed once per token they can remove; move them to the front
+                int removals = 0;
+                for (int i = 0; i < count; i++) {
+                    int move = moveList[i];
+                    if (Move.hasRemoval(move)) {
+                        moveList[i] = moveList[removals];
+                        moveList[removals++] = move;
+                    }
+                }
+                state.make(moveList[nextInt(removals > 0 ? removals : count)]);
+            }
+            return NO_WINNER;
+        }
+
+        // xorshift64*, mapped onto 0..bound - 1
+        private int nextInt(int bound) {
+            random ^= random >>> 12;
+            random ^= random << 25;
+            random ^= random >>> 27;
+            return (int) (((random * 0x2545F4914F6CDD1DL) >>> 32) * bound >>> 32);
+        }
+    }
+}
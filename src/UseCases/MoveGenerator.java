@@ -0,0 +1,128 @@
+package UseCases;
+
+import Entity.BitBoard;
+import Entity.BoardState;
+import Entity.BoardTopology;
+import Entity.Move;
+
+/**
+ * Generates the legal moves of a BoardState, in all three phases, using the adjacency and mill masks of BoardTopology.
+ *
+ * Moves are written into a caller supplied int array, so walking positions does not allocate.
+ */
+public final class MoveGenerator {
+    // upper bound on the number of legal moves in any position: three flying tokens with 21 destinations each, all
+    // forming a mill with nine opponent tokens to choose from
+    public static final int MAX_MOVES = 3 * 21 * 9;
+
+    private MoveGenerator() {
+    }
+
+    /**
+     * Writes every legal move of the side to move into moves.
+     *
+     * @param state position to generate moves for
+     * @param moves array of at least MAX_MOVES entries, filled from index 0
+     * @return number of moves generated; 0 means the side to move is blocked and has lost
+     */
+    public static int generateMoves(BoardState state, int[] moves) {
+        BitBoard board = state.getBoard();
+        int side = state.getSideToMove();
+        int own = board.getMask(side);
+        int opponent = board.getMask(side ^ 1);
+        int empty = board.getEmptyMask();
+        int removable = removableMask(opponent);
+        int count = 0;
+
+        if (state.getInHand(side) > 0) {
+            for (int targets = empty; targets != 0; targets &= targets - 1) {
+                int to = Integer.numberOfTrailingZeros(targets);
+                count = addMove(moves, count, Move.place(to), own | 1 << to, to, removable);
+            }
+            return count;
+        }
+
+        boolean flying = Integer.bitCount(own) == BoardState.MIN_TOKENS;
+        for (int froms = own; froms != 0; froms &= froms - 1) {
+            int from = Integer.numberOfTrailingZeros(froms);
+            int targets = flying ? empty : BoardTopology.adjacent(from) & empty;
+            int ownWithoutFrom = own & ~(1 << from);
+            for (; targets != 0; targets &= targets - 1) {
+                int to = Integer.numberOfTrailingZeros(targets);
+                count = addMove(moves, count, Move.slide(from, to), ownWithoutFrom | 1 << to, to, removable);
+            }
+        }
+        return count;
+    }
+
+    // adds move, expanded into one compound move per removable opponent token if it forms a mill
+    private static int addMove(int[] moves, int count, int move, int ownAfter, int to, int removable) {
+        if (removable == 0 || !BoardTopology.formsMill(ownAfter, to)) {
+            moves[count++] = move;
+            return count;
+        }
+        for (; removable != 0; removable &= removable - 1) {
+            moves[count++] = Move.withRemoval(move, Integer.numberOfTrailingZeros(removable));
+        }
+        return count;
+    }
+
+    /**
+     * Returns which opponent tokens may be removed after forming a mill: tokens outside of mills, or any token if all
+     * of them are in mills.
+     * @param opponentMask occupancy mask of the opponent
+     * @return mask of removable tokens
+     */
+    public static int removableMask(int opponentMask) {
+        int outsideMills = opponentMask & ~BoardTopology.millMembers(opponentMask);
+        return outsideMills != 0 ? outsideMills : opponentMask;
+    }
+
+    /**
+     * Returns whether the side to move has at least one legal move, without generating them.
+     * @param state position to check
+     * @return false if the side to move is blocked
+     */
+    public static boolean hasLegalMove(BoardState state) {
+        BitBoard board = state.getBoard();
+        int side = state.getSideToMove();
+        int own = board.getMask(side);
+        int empty = board.getEmptyMask();
+        if (state.getInHand(side) > 0 || Integer.bitCount(own) == BoardState.MIN_TOKENS) {
+            // placing and flying tokens can go to any empty position
+            return empty != 0;
+        }
+        for (int froms = own; froms != 0; froms &= froms - 1) {
+            if ((BoardTopology.adjacent(Integer.numberOfTrailingZeros(froms)) & empty) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns whether the side to move has lost: it has fewer than three tokens left, or cannot move.
+     * @param state position to check
+     * @return true if the game is over and the side to move lost
+     */
+    public static boolean isLost(BoardState state) {
+        return state.hasTooFewTokens(state.getSideToMove()) || !hasLegalMove(state);
+    }
+
+    /**
+     * Returns whether a move is legal in a position.
+     * @param state position to check the move in
+     * @param move encoded Move
+     * @return true if generateMoves would produce move
+     */
+    public static boolean isLegal(BoardState state, int move) {
+        int[] moves = new int[MAX_MOVES];
+        int count = generateMoves(state, moves);
+        for (int i = 0; i < count; i++) {
+            if (moves[i] == move) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,109 @@
+package UseCases;
+
+import Entity.BitBoard;
+import Entity.BoardState;
+import Entity.Move;
+import Entity.Symmetry;
+import Gateways.OpeningBookFiles;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Path;
+
+/**
+ * Best moves for placement phase positions, from a file written by OpeningBookBuilder.
+ *
+ * Entries are keyed by Symmetry.canonicalKey, so one entry serves all 16 symmetric images of a position, and hold the
+ * best move on the canonical board with the score and depth it was searched to. The file is memory mapped and binary
+ * searched in place, so opening a book reads nothing up front and a lookup touches a few pages.
+ */
+public class OpeningBook {
+    // result of probe for positions that are not in the book
+    public static final long MISS = 0;
+
+    // data layout, as in TranspositionTable: bits 0-15 move, 16-47 score, 48-55 depth
+    private static final int SCORE_SHIFT = 16;
+    private static final int DEPTH_SHIFT = 48;
+    private static final int NO_MOVE = 0xFFFF;
+
+    private final MappedByteBuffer entries;
+    private final int size;
+
+    /**
+     * Maps a book file.
+     * @param path file written by OpeningBookBuilder
+     * @throws IOException if the file cannot be read, or is not an opening book file
+     */
+    public OpeningBook(Path path) throws IOException {
+        entries = OpeningBookFiles.map(path);
+        size = entries.capacity() / OpeningBookFiles.ENTRY_BYTES;
+    }
+
+    /**
+     * @return number of positions in the book
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Looks up the symmetry class of a position.
+     * @param key Symmetry.canonicalKey of the position
+     * @return packed data of the entry, to read with move, score and depth; or MISS if the position is not in the book
+     */
+    public long probe(long key) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long middleKey = entries.getLong(middle * OpeningBookFiles.ENTRY_BYTES);
+            if (middleKey < key) {
+                low = middle + 1;
+            } else if (middleKey > key) {
+                high = middle - 1;
+            } else {
+                return entries.getLong(middle * OpeningBookFiles.ENTRY_BYTES + Long.BYTES);
+            }
+        }
+        return MISS;
+    }
+
+    /**
+     * @param state position to look up
+     * @return the book move for state, turned back from the canonical board onto state's board; or Move.NONE if the
+     * position is not in the book
+     */
+    public int bestMove(BoardState state) {
+        BitBoard board = state.getBoard();
+        long canonical = Symmetry.canonicalize(board.getMask(BitBoard.WHITE), board.getMask(BitBoard.BLACK));
+        long data = probe(Symmetry.stateKey(canonical, state));
+        if (data == MISS || move(data) == Move.NONE) {
+            return Move.NONE;
+        }
+        return Symmetry.transformMove(Symmetry.inverse(Symmetry.canonicalTransform(canonical)), move(data));
+    }
+
+    /**
+     * Packs an entry's data.
+     * @param move best Move on the canonical board, or Move.NONE
+     * @param score score of move for the side to move
+     * @param depth depth move was searched to, in range 0..255
+     * @return packed data, never MISS
+     */
+    public static long pack(int move, int score, int depth) {
+        return (move & NO_MOVE) | ((long) score & 0xFFFFFFFFL) << SCORE_SHIFT | (long) depth << DEPTH_SHIFT;
+    }
+
+    public static int move(long data) {
+        int move = (int) (data & NO_MOVE);
+        return move == NO_MOVE ? Move.NONE : move;
+    }
+
+    public static int score(long data) {
+        return (int) (data >>> SCORE_SHIFT);
+    }
+
+    public static int depth(long data) {
+        return (int) (data >>> DEPTH_SHIFT) & 0xFF;
+    }
+}
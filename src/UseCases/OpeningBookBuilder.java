@@ -0,0 +1,160 @@
+package UseCases;
+
+import Entity.BitBoard;
+import Entity.BoardState;
+import Entity.Symmetry;
+import Gateways.OpeningBookFiles;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.LongStream;
+
+/**
+ * Builds an opening book by deep offline search: every position of the first plies of the placement phase, up to
+ * symmetry, is searched to a fixed depth and its best move stored.
+ *
+ * Positions are listed ply by ply from the empty board, keeping one canonical image of each, then searched on a pool
+ * of threads that share one TranspositionTable, so positions met again deeper in other searches are not searched twice.
+ */
+public class OpeningBookBuilder {
+    // positions handed to a thread at a time
+    private static final int CHUNK_POSITIONS = 64;
+
+    private final int threads;
+    private final int depth;
+    private final TranspositionTable table;
+
+    /**
+     * @param threads number of threads to search with
+     * @param depth plies to search each position to, in range 1..AlphaBetaSearch.MAX_DEPTH
+     * @param tableBytes memory for the shared transposition table
+     */
+    public OpeningBookBuilder(int threads, int depth, long tableBytes) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("OpeningBookBuilder needs at least one thread");
+        }
+        if (depth < 1 || depth > AlphaBetaSearch.MAX_DEPTH) {
+            throw new IllegalArgumentException("Search depth must be in range 1.." + AlphaBetaSearch.MAX_DEPTH);
+        }
+        this.threads = threads;
+        this.depth = depth;
+        table = new TranspositionTable(tableBytes);
+    }
+
+    /**
+     * Searches every position up to plies moves into the game, and writes the book.
+     * @param plies moves from the empty board of the last positions in the book, in range 0..17
+     * @param path file to write
+     * @return number of positions in the book
+     * @throws IOException if the file cannot be written
+     * @throws InterruptedException if interrupted while searching
+     */
+    public int build(int plies, Path path) throws IOException, InterruptedException {
+        long[] keys = positions(plies);
+        long[] data = search(keys);
+        OpeningBookFiles.write(path, keys, data);
+        return keys.length;
+    }
+
+    /**
+     * Lists the positions of the first plies of the game, up to symmetry.
+     * @param plies moves from the empty board of the last positions to list, in range 0..17
+     * @return Symmetry.canonicalKey of each position, in increasing order
+     */
+    static long[] positions(int plies) {
+        if (plies < 0 || plies >= 2 * BoardState.TOKENS_PER_PLAYER) {
+            throw new IllegalArgumentException("Book plies must be in range 0.." + (2 * BoardState.TOKENS_PER_PLAYER - 1));
+        }
+        long[] level = {Symmetry.canonicalKey(new BoardState())};
+        LongStream.Builder all = LongStream.builder();
+        all.add(level[0]);
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        for (int ply = 1; ply <= plies; ply++) {
+            LongStream.Builder next = LongStream.builder();
+            for (long key : level) {
+                BoardState state = stateOf(key);
+                if (MoveGenerator.isLost(state)) {
+                    continue;
+                }
+                int count = MoveGenerator.generateMoves(state, moves);
+                for (int i = 0; i < count; i++) {
+                    state.make(moves[i]);
+                    if (!state.hasTooFewTokens(state.getSideToMove())) {
+                        next.add(Symmetry.canonicalKey(state));
+                    }
+                    state.unmake(moves[i]);
+                }
+            }
+            level = next.build().sorted().distinct().toArray();
+            for (long key : level) {
+                all.add(key);
+            }
+        }
+        // positions of different plies differ in tokens in hand, so only the order across plies needs fixing
+        return all.build().sorted().toArray();
+    }
+
+    /**
+     * Rebuilds the canonical image of a position from its key.
+     * @param key Symmetry.canonicalKey of a position
+     * @return the position with the canonical masks
+     */
+    static BoardState stateOf(long key) {
+        return new BoardState(new BitBoard(Symmetry.canonicalWhite(key), Symmetry.canonicalBlack(key)),
+                (int) (key >>> 48) & 0xF, (int) (key >>> 52) & 0xF, (int) (key >>> 56) & 1);
+    }
+
+    // searches each position; data[i] is the packed book entry of keys[i]
+    private long[] search(long[] keys) throws InterruptedException {
+        long[] data = new long[keys.length];
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        ThreadLocal<AlphaBetaSearch> searches =
+                ThreadLocal.withInitial(() -> new AlphaBetaSearch(Long.MAX_VALUE / 2, table));
+        try {
+            List<Future<?>> chunks = new ArrayList<>();
+            for (int start = 0; start < keys.length; start += CHUNK_POSITIONS) {
+                int first = start;
+                int last = Math.min(keys.length, start + CHUNK_POSITIONS);
+                chunks.add(pool.submit((Callable<Void>) () -> {
+                    AlphaBetaSearch search = searches.get();
+                    for (int i = first; i < last; i++) {
+                        int move = search.findBestMove(stateOf(keys[i]), depth);
+                        data[i] = OpeningBook.pack(move, search.getBestScore(), search.getCompletedDepth());
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> chunk : chunks) {
+                chunk.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Search thread failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        return data;
+    }
+
+    /**
+     * Builds a book from the command line.
+     * Arguments: [plies] [search depth] [book file] [threads]
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int plies = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        int depth = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        Path path = Paths.get(args.length > 2 ? args[2] : "opening.book");
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        long start = System.currentTimeMillis();
+        int size = new OpeningBookBuilder(threads, depth, 256L << 20).build(plies, path);
+        System.out.println("Searched " + size + " positions to depth " + depth + " in "
+                + (System.currentTimeMillis() - start) + " ms, book written to " + path);
+    }
+}
@@ -0,0 +1,158 @@
+package UseCases;
+
+import Entity.BoardState;
+import Interfaces.MoveSearch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Searches one position with several AlphaBetaSearch threads at once (Lazy SMP).
+ *
+ * The threads share one TranspositionTable and otherwise do not communicate: each searches the whole tree, and finds
+ * the results other threads have already stored. Every other helper thread starts one ply deeper than the main thread,
+ * so the threads spread over two depths rather than searching the same nodes in lockstep. The move played is that of
+ * the thread that finished the deepest iteration.
+ */
+public class ParallelSearch implements MoveSearch {
+    private final TranspositionTable table;
+    private final AlphaBetaSearch[] searches;
+    private final ExecutorService helperPool;
+
+    /**
+     * @param timeBudgetMillis time allowed for each call to findBestMove, in milliseconds
+     * @param threads number of search threads, including the calling thread
+     * @param table transposition table shared by the threads
+     */
+    public ParallelSearch(long timeBudgetMillis, int threads, TranspositionTable table) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("ParallelSearch needs at least one thread");
+        }
+        this.table = table;
+        searches = new AlphaBetaSearch[threads];
+        for (int i = 0; i < threads; i++) {
+            searches[i] = new AlphaBetaSearch(timeBudgetMillis, table);
+        }
+        helperPool = threads == 1 ? null : Executors.newFixedThreadPool(threads - 1, runnable -> {
+            Thread thread = new Thread(runnable, "search-helper");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Lets every thread look up endgame positions in a tablebase instead of searching them.
+     * @param tablebase tablebase to probe, or null to search every position
+     */
+    public void setTablebase(Tablebase tablebase) {
+        for (AlphaBetaSearch search : searches) {
+            search.setTablebase(tablebase);
+        }
+    }
+
+    @Override
+    public int findBestMove(BoardState state) {
+        return findBestMove(state, AlphaBetaSearch.MAX_DEPTH);
+    }
+
+    /**
+     * Searches for the best move of the side to move on all threads, stopping at maxDepth or when the time budget runs
+     * out.
+     * @param state position to search; it is left unchanged
+     * @param maxDepth deepest iteration to search, in range 1..MAX_DEPTH
+     * @return best Move found, or Move.NONE if the side to move has lost
+     */
+    public int findBestMove(BoardState state, int maxDepth) {
+        resetStop();
+        return search(state, maxDepth);
+    }
+
+    // clears a stop request before a search is started on another thread, see Ponderer
+    void resetStop() {
+        for (AlphaBetaSearch search : searches) {
+            search.resetStop();
+        }
+    }
+
+    // findBestMove without clearing a stop request, so a stop made after resetStop is never lost
+    int search(BoardState state, int maxDepth) {
+        table.newSearch();
+        List<Future<Integer>> helpers = new ArrayList<>(searches.length - 1);
+        for (int i = 1; i < searches.length; i++) {
+            AlphaBetaSearch helper = searches[i];
+            int startDepth = 1 + (i & 1);
+            helpers.add(helperPool.submit(() -> helper.iterate(state, startDepth, maxDepth)));
+        }
+
+        int bestMove = searches[0].iterate(state, 1, maxDepth);
+        int bestDepth = searches[0].getCompletedDepth();
+        for (int i = 1; i < searches.length; i++) {
+            searches[i].stop();
+        }
+        for (int i = 1; i < searches.length; i++) {
+            int move = waitFor(helpers.get(i - 1));
+            if (searches[i].getCompletedDepth() > bestDepth) {
+                bestMove = move;
+                bestDepth = searches[i].getCompletedDepth();
+            }
+        }
+        return bestMove;
+    }
+
+    private static int waitFor(Future<Integer> helper) {
+        try {
+            return helper.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while stopping search threads", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Search thread failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    @Override
+    public void stop() {
+        for (AlphaBetaSearch search : searches) {
+            search.stop();
+        }
+    }
+
+    public int getThreads() {
+        return searches.length;
+    }
+
+    /**
+     * @return nodes searched by all threads during the last findBestMove
+     */
+    public long getNodes() {
+        long nodes = 0;
+        for (AlphaBetaSearch search : searches) {
+            nodes += search.getNodes();
+        }
+        return nodes;
+    }
+
+    /**
+     * @return deepest iteration finished by any thread during the last findBestMove
+     */
+    public int getCompletedDepth() {
+        int depth = 0;
+        for (AlphaBetaSearch search : searches) {
+            depth = Math.max(depth, search.getCompletedDepth());
+        }
+        return depth;
+    }
+
+    /**
+     * Stops the helper threads. The search must not be used afterwards.
+     */
+    public void shutdown() {
+        if (helperPool != null) {
+            helperPool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package UseCases;
+
+import Entity.BitBoard;
+import Entity.BoardState;
+import Entity.BoardTopology;
+
+/**
+ * Scores positions for the search from lookup tables of ring and spoke patterns, built once when the class loads.
+ *
+ * Every mill line and every link between two positions lies within one ring (A, B or C) or one spoke (the lines
+ * joining the rings), so the score of a position is the sum of the scores of its three rings and four spokes. A ring
+ * has 8 positions that are empty, white or black, 3^8 = 6561 patterns; a spoke has 3 positions, 27 patterns. The
+ * pattern of a ring is read from the two occupancy masks with a table mapping 8 bits to base 3 digits, and the same
+ * ring pattern gives the ring's share of each spoke pattern, so a position is scored with a few table reads.
+ *
+ * Each side scores its standing mills, its open mills (two tokens on a line with the third position empty), the lines
+ * it blocks (its token on a line where the opponent has the other two), and the empty positions next to its tokens.
+ * scan computes the same score by walking the lines and links, and is kept to check the tables and to compare with.
+ */
+public final class PatternEvaluator {
+    public static final int MATERIAL = 100;
+    public static final int MILL = 30;
+    public static final int OPEN_MILL = 8;
+    public static final int BLOCKED_MILL = 4;
+    public static final int MOBILITY = 2;
+
+    private static final int RINGS = 3;
+    private static final int SPOKES = 4;
+    private static final int RING_SIZE = 8;
+    private static final int RING_PATTERNS = 6561;
+    // a spoke pattern is below 27, and is kept in 5 bits of a packed set of spoke patterns
+    private static final int SPOKE_BITS = 5;
+    private static final int SPOKE_PATTERNS = 1 << SPOKE_BITS;
+    private static final int ALL_POSITIONS = (1 << BitBoard.NUM_POSITIONS) - 1;
+
+    // 8 occupancy bits as base 3 digits: the sum of 3^i over the set bits i
+    private static final int[] TERNARY = new int[256];
+
+    // score of each ring pattern for white less that for black, at [ring * RING_PATTERNS + pattern]
+    private static final int[] RING_SCORES = new int[RINGS * RING_PATTERNS];
+
+    // each ring pattern's digits of the four spoke patterns, packed SPOKE_BITS apart, laid out like RING_SCORES
+    private static final int[] SPOKE_DIGITS = new int[RINGS * RING_PATTERNS];
+
+    // score of each spoke pattern for white less that for black, at [spoke * SPOKE_PATTERNS + pattern]
+    private static final int[] SPOKE_SCORES = new int[SPOKES * SPOKE_PATTERNS];
+
+    static {
+        for (int bits = 0; bits < 256; bits++) {
+            int digits = 0;
+            for (int i = RING_SIZE - 1; i >= 0; i--) {
+                digits = digits * 3 + (bits >> i & 1);
+            }
+            TERNARY[bits] = digits;
+        }
+
+        // the spokes are the mill lines crossing the rings, listed from ring A inwards
+        int[] spokeLines = new int[SPOKES];
+        int spokes = 0;
+        for (int line = 0; line < BoardTopology.NUM_MILLS; line++) {
+            if (BoardTopology.millPosition(line, 0) / RING_SIZE != BoardTopology.millPosition(line, 2) / RING_SIZE) {
+                spokeLines[spokes++] = line;
+            }
+        }
+
+        for (int ring = 0; ring < RINGS; ring++) {
+            int shift = ring * RING_SIZE;
+            int region = 0xFF << shift;
+            for (int white = 0; white < 256; white++) {
+                for (int black = 0; black < 256; black++) {
+                    if ((white & black) != 0) {
+                        continue;
+                    }
+                    int pattern = ring * RING_PATTERNS + TERNARY[white] + 2 * TERNARY[black];
+                    RING_SCORES[pattern] = regionScore(white << shift, black << shift, region);
+                    for (int spoke = 0; spoke < SPOKES; spoke++) {
+                        int bit = BoardTopology.millPosition(spokeLines[spoke], ring) - shift;
+                        int digit = (white >> bit & 1) + 2 * (black >> bit & 1);
+                        SPOKE_DIGITS[pattern] += digit * (ring == 0 ? 1 : ring == 1 ? 3 : 9) << spoke * SPOKE_BITS;
+                    }
+                }
+            }
+        }
+
+        for (int spoke = 0; spoke < SPOKES; spoke++) {
+            int line = spokeLines[spoke];
+            for (int pattern = 0; pattern < 27; pattern++) {
+                int white = 0;
+                int black = 0;
+                for (int k = 0, rest = pattern; k < 3; k++, rest /= 3) {
+                    int bit = 1 << BoardTopology.millPosition(line, k);
+                    white |= rest % 3 == 1 ? bit : 0;
+                    black |= rest % 3 == 2 ? bit : 0;
+                }
+                SPOKE_SCORES[spoke * SPOKE_PATTERNS + pattern] =
+                        regionScore(white, black, BoardTopology.millMask(line));
+            }
+        }
+    }
+
+    private PatternEvaluator() {
+    }
+
+    /**
+     * Scores a position from the point of view of the side to move, from the pattern tables.
+     * @param state position to score
+     * @return positive if the side to move is ahead
+     */
+    public static int evaluate(BoardState state) {
+        BitBoard board = state.getBoard();
+        int white = board.getMask(BitBoard.WHITE);
+        int black = board.getMask(BitBoard.BLACK);
+        int a = TERNARY[white & 0xFF] + 2 * TERNARY[black & 0xFF];
+        int b = RING_PATTERNS + TERNARY[white >>> 8 & 0xFF] + 2 * TERNARY[black >>> 8 & 0xFF];
+        int c = 2 * RING_PATTERNS + TERNARY[white >>> 16] + 2 * TERNARY[black >>> 16];
+        int spokes = SPOKE_DIGITS[a] + SPOKE_DIGITS[b] + SPOKE_DIGITS[c];
+        int score = RING_SCORES[a] + RING_SCORES[b] + RING_SCORES[c]
+                + SPOKE_SCORES[spokes & SPOKE_PATTERNS - 1]
+                + SPOKE_SCORES[SPOKE_PATTERNS + (spokes >>> SPOKE_BITS & SPOKE_PATTERNS - 1)]
+                + SPOKE_SCORES[2 * SPOKE_PATTERNS + (spokes >>> 2 * SPOKE_BITS & SPOKE_PATTERNS - 1)]
+                + SPOKE_SCORES[3 * SPOKE_PATTERNS + (spokes >>> 3 * SPOKE_BITS)]
+                + MATERIAL * (state.material(BitBoard.WHITE) - state.material(BitBoard.BLACK));
+        return state.getSideToMove() == BitBoard.WHITE ? score : -score;
+    }
+
+    /**
+     * Computes the same score as evaluate by walking every mill line and link of the board, without the tables.
+     * @param state position to score
+     * @return positive if the side to move is ahead
+     */
+    public static int scan(BoardState state) {
+        BitBoard board = state.getBoard();
+        int score = regionScore(board.getMask(BitBoard.WHITE), board.getMask(BitBoard.BLACK), ALL_POSITIONS)
+                + MATERIAL * (state.material(BitBoard.WHITE) - state.material(BitBoard.BLACK));
+        return state.getSideToMove() == BitBoard.WHITE ? score : -score;
+    }
+
+    // score of the lines and links lying within region, for white less that for black
+    private static int regionScore(int white, int black, int region) {
+        return sideScore(white, black, region) - sideScore(black, white, region);
+    }
+
+    private static int sideScore(int own, int opponent, int region) {
+        int score = 0;
+        for (int line = 0; line < BoardTopology.NUM_MILLS; line++) {
+            int mask = BoardTopology.millMask(line);
+            if ((mask & region) != mask) {
+                continue;
+            }
+            int owned = Integer.bitCount(own & mask);
+            int opposed = Integer.bitCount(opponent & mask);
+            if (owned == 3) {
+                score += MILL;
+            } else if (owned == 2 && opposed == 0) {
+                score += OPEN_MILL;
+            } else if (owned == 1 && opposed == 2) {
+                score += BLOCKED_MILL;
+            }
+        }
+        int empty = region & ~(own | opponent);
+        for (int tokens = own & region; tokens != 0; tokens &= tokens - 1) {
+            score += MOBILITY * Integer.bitCount(BoardTopology.adjacent(Integer.numberOfTrailingZeros(tokens)) & empty);
+        }
+        return score;
+    }
+}
@@ -0,0 +1,186 @@
+package UseCases;
+
+import Entity.BoardState;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Counts the positions reached after exactly depth moves from a position (perft), to check MoveGenerator against known
+ * counts and to time it.
+ *
+ * Games that end before depth, by a side dropping below three tokens or being blocked, add nothing to the count. Work
+ * is split over a pool of threads by the first two moves. Counts of positions seen before can be kept in a cache
+ * shared by the threads, keyed by the hash of the position and the depth left.
+ */
+public class Perft {
+    // deepest count supported
+    public static final int MAX_DEPTH = 64;
+
+    private final int threads;
+    private final Cache cache;
+    private final ThreadLocal<int[][]> moveLists =
+            ThreadLocal.withInitial(() -> new int[MAX_DEPTH][MoveGenerator.MAX_MOVES]);
+
+    /**
+     * @param threads number of threads to count with
+     * @param cacheBytes memory for the cache of counts, or 0 to count every position again
+     */
+    public Perft(int threads, long cacheBytes) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Perft needs at least one thread");
+        }
+        this.threads = threads;
+        cache = cacheBytes > 0 ? new Cache(cacheBytes) : null;
+    }
+
+    /**
+     * @param state position to count from; it is left unchanged
+     * @param depth moves to play, in range 0..MAX_DEPTH
+     * @return number of positions reached after exactly depth moves
+     * @throws InterruptedException if interrupted while waiting for the threads
+     */
+    public long count(BoardState state, int depth) throws InterruptedException {
+        if (depth < 0 || depth > MAX_DEPTH) {
+            throw new IllegalArgumentException("Perft depth must be in range 0.." + MAX_DEPTH);
+        }
+        BoardState position = state.copy();
+        if (threads == 1 || depth < 2) {
+            return count(position, depth, moveLists.get());
+        }
+
+        // one task per pair of first moves, or per first move when only one more ply is left
+        int splitPlies = depth >= 3 ? 2 : 1;
+        List<int[]> prefixes = new ArrayList<>();
+        addPrefixes(position, splitPlies, new int[splitPlies], 0, prefixes);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Long>> counts = new ArrayList<>(prefixes.size());
+            for (int[] prefix : prefixes) {
+                counts.add(pool.submit(() -> {
+                    BoardState start = position.copy();
+                    for (int move : prefix) {
+                        start.make(move);
+                    }
+                    return count(start, depth - prefix.length, moveLists.get());
+                }));
+            }
+            long total = 0;
+            for (Future<Long> count : counts) {
+                total += count.get();
+            }
+            return total;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Perft thread failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    // lists every sequence of plies moves from state; a game ending sooner adds nothing
+    private static void addPrefixes(BoardState state, int plies, int[] prefix, int ply, List<int[]> prefixes) {
+        if (ply == plies) {
+            prefixes.add(prefix.clone());
+            return;
+        }
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        int count = generate(state, moves);
+        for (int i = 0; i < count; i++) {
+            prefix[ply] = moves[i];
+            state.make(moves[i]);
+            addPrefixes(state, plies, prefix, ply + 1, prefixes);
+            state.unmake(moves[i]);
+        }
+    }
+
+    private long count(BoardState state, int depth, int[][] moves) {
+        if (depth == 0) {
+            return 1;
+        }
+        int[] plyMoves = moves[depth - 1];
+        int count = generate(state, plyMoves);
+        if (depth == 1) {
+            return count;
+        }
+        long key = 0;
+        if (cache != null) {
+            key = state.hash() + depth * 0x9E3779B97F4A7C15L;
+            long cached = cache.probe(key);
+            if (cached >= 0) {
+                return cached;
+            }
+        }
+        long total = 0;
+        for (int i = 0; i < count; i++) {
+            state.make(plyMoves[i]);
+            total += count(state, depth - 1, moves);
+            state.unmake(plyMoves[i]);
+        }
+        if (cache != null) {
+            cache.store(key, total);
+        }
+        return total;
+    }
+
+    // moves of the side to move, or none once the game is over
+    private static int generate(BoardState state, int[] moves) {
+        return state.hasTooFewTokens(state.getSideToMove()) ? 0 : MoveGenerator.generateMoves(state, moves);
+    }
+
+    /**
+     * Counts from a position given on the command line, one depth after another, with the time and speed of each.
+     * Arguments: depth [threads] [cache MiB] [position, as written by BoardState.toText]
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int maxDepth = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        long cacheBytes = (args.length > 2 ? Long.parseLong(args[2]) : 0) << 20;
+        BoardState state = new BoardState();
+        if (args.length > 3) {
+            state = BoardState.parse(String.join(" ", Arrays.copyOfRange(args, 3, args.length)));
+            if (state == null) {
+                throw new IllegalArgumentException("Not a position: expected 24 of W, B or ., side to move (w or b), "
+                        + "and tokens in hand of white and black");
+            }
+        }
+        System.out.println(state.toText());
+        Perft perft = new Perft(threads, cacheBytes);
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            long start = System.nanoTime();
+            long count = perft.count(state, depth);
+            long nanos = Math.max(1, System.nanoTime() - start);
+            System.out.printf("depth %2d  %15d  %8d ms  %12.0f leaves/sec%n", depth, count, nanos / 1000000,
+                    count * 1e9 / nanos);
+        }
+    }
+
+    // table of counts keyed by 64-bit hash, shared without locks: entries are stored as (key ^ count, count), so a
+    // torn entry from racing writers reads as a miss
+    private static final class Cache {
+        private final long[] entries;
+        private final int mask;
+
+        Cache(long sizeBytes) {
+            long slots = Long.highestOneBit(Math.max(2, Math.min(sizeBytes / 16, 1 << 29)));
+            entries = new long[(int) slots * 2];
+            mask = (int) slots - 1;
+        }
+
+        long probe(long key) {
+            int slot = ((int) key & mask) * 2;
+            long count = entries[slot + 1];
+            return (entries[slot] ^ count) == key && count != 0 ? count : -1;
+        }
+
+        void store(long key, long count) {
+            int slot = ((int) key & mask) * 2;
+            entries[slot] = key ^ count;
+            entries[slot + 1] = count;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package UseCases;
+
+import Entity.BoardState;
+import Entity.Move;
+import Interfaces.MoveSearch;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Computer player that keeps searching while the opponent thinks (pondering).
+ *
+ * After the computer moves, startPondering guesses the opponent's reply from the transposition table, which holds the
+ * best move the last search found for that position, and searches the position after it on a background thread. If
+ * the opponent plays the guessed move, findBestMove answers with the pondered move at once; otherwise it searches as
+ * usual, and finds the results pondering left in the shared table. When nothing can be guessed, the opponent's own
+ * position is pondered, which searches the computer's answers to all of the replies.
+ */
+public class Ponderer implements MoveSearch {
+    // shallowest finished pondering iteration whose move is played without searching again
+    public static final int MIN_PONDER_DEPTH = 4;
+
+    private final MoveSearch search;
+    private final ParallelSearch ponderSearch;
+    private final TranspositionTable table;
+    private final ExecutorService ponderThread = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ponder");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // position being pondered and the search of it; only touched with this locked
+    private BoardState ponderedPosition;
+    private Future<Integer> pondering;
+    private boolean[] ponderCancelled;
+    private int ponderHits;
+
+    /**
+     * @param search search for the computer's moves; it must use table
+     * @param ponderSearch search to ponder with, which should have no time limit as it runs until stopped; it must
+     *                     use table
+     * @param table transposition table shared by both searches
+     */
+    public Ponderer(MoveSearch search, ParallelSearch ponderSearch, TranspositionTable table) {
+        this.search = search;
+        this.ponderSearch = ponderSearch;
+        this.table = table;
+    }
+
+    /**
+     * Starts pondering on a background thread, and returns at once. Any earlier pondering is stopped first, without
+     * waiting for it.
+     * @param state position with the opponent to move; it is left unchanged
+     */
+    public synchronized void startPondering(BoardState state) {
+        stopPondering();
+        BoardState position = state.copy();
+        if (MoveGenerator.isLost(position)) {
+            return;
+        }
+        long entry = table.probe(position.hash());
+        int guess = entry == TranspositionTable.MISS ? Move.NONE : TranspositionTable.move(entry);
+        if (guess != Move.NONE && MoveGenerator.isLegal(position, guess)) {
+            position.make(guess);
+            if (MoveGenerator.isLost(position)) {
+                return;
+            }
+        }
+        // the search clears its stop request when it starts, which could undo a stop made before it got to run; so it
+        // is only started with the lock held, if it has not been stopped yet
+        boolean[] cancelled = new boolean[1];
+        ponderedPosition = position;
+        ponderCancelled = cancelled;
+        pondering = ponderThread.submit(() -> {
+            synchronized (this) {
+                if (cancelled[0]) {
+                    return Move.NONE;
+                }
+                ponderSearch.resetStop();
+            }
+            return ponderSearch.search(position, AlphaBetaSearch.MAX_DEPTH);
+        });
+    }
+
+    /**
+     * Stops pondering and searches for the best move, or plays the pondered move if the opponent made the guessed
+     * reply. Waits for the pondering thread to stop, so must not be called on the event dispatch thread.
+     */
+    @Override
+    public int findBestMove(BoardState state) {
+        BoardState pondered;
+        Future<Integer> ponderResult;
+        synchronized (this) {
+            pondered = ponderedPosition;
+            ponderResult = pondering;
+            stopPondering();
+        }
+        if (ponderResult != null) {
+            int move = waitFor(ponderResult);
+            if (move != Move.NONE && state.equals(pondered) && ponderSearch.getCompletedDepth() >= MIN_PONDER_DEPTH
+                    && MoveGenerator.isLegal(state, move)) {
+                synchronized (this) {
+                    ponderHits++;
+                }
+                return move;
+            }
+        }
+        return search.findBestMove(state);
+    }
+
+    /**
+     * Stops pondering and any running search, without waiting. Safe to call from any thread.
+     */
+    @Override
+    public void stop() {
+        synchronized (this) {
+            stopPondering();
+        }
+        search.stop();
+    }
+
+    /**
+     * @return number of times findBestMove played a pondered move
+     */
+    public synchronized int getPonderHits() {
+        return ponderHits;
+    }
+
+    /**
+     * @return whether a pondering search has been started and not yet stopped
+     */
+    public synchronized boolean isPondering() {
+        return pondering != null;
+    }
+
+    /**
+     * Stops the pondering threads. The Ponderer must not be used afterwards.
+     */
+    public void shutdown() {
+        stop();
+        ponderThread.shutdownNow();
+        ponderSearch.shutdown();
+    }
+
+    // asks the pondering search to stop and forgets it; the caller holds the lock
+    private void stopPondering() {
+        if (pondering != null) {
+            ponderCancelled[0] = true;
+            ponderSearch.stop();
+            pondering = null;
+            ponderedPosition = null;
+            ponderCancelled = null;
+        }
+    }
+
+    private static int waitFor(Future<Integer> ponderResult) {
+        try {
+            return ponderResult.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while stopping pondering", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Pondering failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+}
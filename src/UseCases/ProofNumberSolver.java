@@ -0,0 +1,363 @@
+package UseCases;
+
+import Entity.BitBoard;
+import Entity.BoardState;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * Proves positions won, lost or drawn with depth-first proof-number search (df-pn), for puzzles and to check
+ * tablebases.
+ *
+ * A position is solved with two proofs: one trying to prove that the side to move wins, one trying to prove that the
+ * opponent wins. A position neither side can force a win from is a draw. Within a proof, the side
+ * trying to win is the attacker; a position repeating one earlier on the path is a draw, and so not a win for it.
+ *
+ * Proof and disproof numbers of positions are kept in a bounded hash table, keyed by the hash of the position and the
+ * attacker. A result that depends on a repetition only holds for the path it was found on (the graph history
+ * interaction problem). A result is only stored once every repetition it depends on returns to the position itself:
+ * then the defender can keep coming back to it, which holds however the position was reached. Until then the result
+ * is passed up to the parent, with the ply of the shallowest position it returns to.
+ */
+public class ProofNumberSolver {
+    public static final int LOSS = -1;
+    public static final int DRAW = 0;
+    public static final int WIN = 1;
+    // result when the node limit ran out first
+    public static final int UNKNOWN = 2;
+
+    // deepest path searched; a proof needing a longer path gives UNKNOWN
+    public static final int MAX_PLY = 1024;
+
+    private static final int INF = Integer.MAX_VALUE;
+    // nodes each proof may search in the first turn; the budget grows fourfold every turn
+    private static final long FIRST_BUDGET = 1000;
+    // ply of the repeated position a result depends on, for results that depend on none
+    private static final int NO_REPETITION = MAX_PLY;
+    private static final long BLACK_ATTACKER_KEY = 0x6A09E667F3BCC909L;
+
+    // table entries: key, proof numbers (phi << 32 | delta), size of the proof below a solved position, and nodes
+    // searched below the position, which decides which of the two entries of a bucket is replaced
+    private static final int ENTRY_LONGS = 4;
+
+    private final long[] table;
+    private final int bucketMask;
+    private final long maxNodes;
+
+    private final long[] path = new long[MAX_PLY + 1];
+    private final int[][] moves = new int[MAX_PLY][];
+    private final int[][] childPhi = new int[MAX_PLY][];
+    private final int[][] childDelta = new int[MAX_PLY][];
+    private final int[][] childRepeats = new int[MAX_PLY][];
+    private final long[][] childSize = new long[MAX_PLY][];
+
+    private int attacker;
+    private long nodes;
+    private long proofSize;
+    private long elapsedMillis;
+    private long nodeLimit;
+    // set when the proof being searched ran out of nodes, or needed a path longer than MAX_PLY
+    private boolean aborted;
+    private boolean tooDeep;
+
+    // values of the position last searched by mid, read by its parent
+    private int lastPhi;
+    private int lastDelta;
+    private int lastRepeats;
+    private long lastSize;
+
+    /**
+     * @param tableBytes memory for the table of proof numbers
+     * @param maxNodes most positions to search in one call to solve, before giving up with UNKNOWN
+     */
+    public ProofNumberSolver(long tableBytes, long maxNodes) {
+        long entries = Long.highestOneBit(Math.max(2, Math.min(tableBytes / (ENTRY_LONGS * 8), 1 << 28)));
+        table = new long[(int) entries * ENTRY_LONGS];
+        bucketMask = (int) entries / 2 - 1;
+        this.maxNodes = maxNodes;
+    }
+
+    /**
+     * Solves a position.
+     * @param state position to solve; it is left unchanged
+     * @return WIN or LOSS for the side to move, DRAW, or UNKNOWN if the node limit ran out or the proof needed a
+     *         path longer than MAX_PLY
+     */
+    public int solve(BoardState state) {
+        long start = System.nanoTime();
+        BoardState position = state.copy();
+        int side = position.getSideToMove();
+        nodes = 0;
+        tooDeep = false;
+        // the two proofs take turns, with growing node budgets, so that a loss is found without first searching to
+        // the end for a win; each carries on from the numbers the other left in the table
+        boolean[] disproved = new boolean[2];
+        long[] disproofSizes = new long[2];
+        int result = UNKNOWN;
+        proofSize = 0;
+        for (long budget = FIRST_BUDGET; result == UNKNOWN && nodes < maxNodes && !tooDeep;
+                budget = Math.min(budget * 4, maxNodes)) {
+            for (int attacker = side, turn = 0; turn < 2 && result == UNKNOWN; attacker ^= 1, turn++) {
+                if (disproved[attacker]) {
+                    continue;
+                }
+                nodeLimit = Math.min(maxNodes, nodes + budget);
+                if (prove(position, attacker)) {
+                    result = attacker == side ? WIN : LOSS;
+                    proofSize = lastSize;
+                } else if (!aborted) {
+                    disproved[attacker] = true;
+                    disproofSizes[attacker] = lastSize;
+                }
+            }
+            if (disproved[0] && disproved[1]) {
+                result = DRAW;
+                proofSize = disproofSizes[0] + disproofSizes[1];
+            }
+        }
+        elapsedMillis = (System.nanoTime() - start) / 1000000;
+        return result;
+    }
+
+    /**
+     * @return positions searched by the last solve, over both proofs
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * @return positions in the tree proving the result of the last solve, counting positions reached twice as two;
+     *         for a draw, the trees disproving a win for either side
+     */
+    public long getProofSize() {
+        return proofSize;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    // true if attacker can force a win; otherwise aborted tells whether the search gave up first
+    private boolean prove(BoardState state, int attacker) {
+        this.attacker = attacker;
+        aborted = false;
+        if (isLost(state)) {
+            lastSize = 1;
+            return state.getSideToMove() != attacker;
+        }
+        mid(state, 0, INF, INF);
+        if (aborted) {
+            return false;
+        }
+        // phi is the proof number for the side to move, so 0 when it has reached its goal
+        return (lastPhi == 0) == (state.getSideToMove() == attacker);
+    }
+
+    private static boolean isLost(BoardState state) {
+        return state.hasTooFewTokens(state.getSideToMove()) || !MoveGenerator.hasLegalMove(state);
+    }
+
+    /*
+     * Searches below a position until its numbers reach a threshold, in phi/delta form: phi is the proof number for
+     * the side to move reaching its goal (a win for the attacker, or not losing for the defender), delta the
+     * disproof number; phi of a position is the least delta of its children, and delta the sum of their phis.
+     */
+    private void mid(BoardState state, int ply, int thresholdPhi, int thresholdDelta) {
+        long startNodes = nodes++;
+        if (ply == MAX_PLY - 1) {
+            tooDeep = true;
+        }
+        if (nodes > nodeLimit || tooDeep) {
+            aborted = true;
+        }
+        path[ply] = state.hash();
+        if (moves[ply] == null) {
+            moves[ply] = new int[MoveGenerator.MAX_MOVES];
+            childPhi[ply] = new int[MoveGenerator.MAX_MOVES];
+            childDelta[ply] = new int[MoveGenerator.MAX_MOVES];
+            childRepeats[ply] = new int[MoveGenerator.MAX_MOVES];
+            childSize[ply] = new long[MoveGenerator.MAX_MOVES];
+        }
+        int[] plyMoves = moves[ply];
+        int[] phis = childPhi[ply];
+        int[] deltas = childDelta[ply];
+        int[] repeats = childRepeats[ply];
+        long[] sizes = childSize[ply];
+        int count = MoveGenerator.generateMoves(state, plyMoves);
+        for (int i = 0; i < count; i++) {
+            state.make(plyMoves[i]);
+            initChild(state, ply, i);
+            state.unmake(plyMoves[i]);
+        }
+
+        int phi;
+        int delta;
+        while (true) {
+            int best = 0;
+            long minDelta = INF;
+            long secondDelta = INF;
+            long sumPhi = 0;
+            for (int i = 0; i < count; i++) {
+                if (deltas[i] < minDelta) {
+                    secondDelta = minDelta;
+                    minDelta = deltas[i];
+                    best = i;
+                } else if (deltas[i] < secondDelta) {
+                    secondDelta = deltas[i];
+                }
+                sumPhi += phis[i];
+            }
+            phi = (int) minDelta;
+            delta = (int) Math.min(sumPhi, INF);
+            if (phi >= thresholdPhi || delta >= thresholdDelta || phi == 0 || delta == 0 || aborted) {
+                break;
+            }
+            int childThresholdPhi = (int) Math.min((long) thresholdDelta - delta + phis[best], INF);
+            int childThresholdDelta = (int) Math.min(thresholdPhi, secondDelta + 1);
+            state.make(plyMoves[best]);
+            mid(state, ply + 1, childThresholdPhi, childThresholdDelta);
+            state.unmake(plyMoves[best]);
+            phis[best] = lastPhi;
+            deltas[best] = lastDelta;
+            repeats[best] = lastRepeats;
+            sizes[best] = lastSize;
+        }
+
+        int repeated = NO_REPETITION;
+        long size = 0;
+        if (phi == 0) {
+            // reached through one child; prefer the child depending on the shallowest repetition the least
+            int through = -1;
+            for (int i = 0; i < count; i++) {
+                if (deltas[i] == 0 && (through < 0 || repeats[i] > repeats[through])) {
+                    through = i;
+                }
+            }
+            repeated = repeats[through];
+            size = 1 + sizes[through];
+        } else if (delta == 0) {
+            size = 1;
+            for (int i = 0; i < count; i++) {
+                repeated = Math.min(repeated, repeats[i]);
+                size += sizes[i];
+            }
+        }
+        if (repeated >= ply) {
+            repeated = NO_REPETITION;
+            store(path[ply], phi, delta, size, nodes - startNodes);
+        }
+        lastPhi = phi;
+        lastDelta = delta;
+        lastRepeats = repeated;
+        lastSize = size;
+    }
+
+    // sets the numbers of the child of the position at ply reached by its move i, without searching below it
+    private void initChild(BoardState child, int ply, int i) {
+        childRepeats[ply][i] = NO_REPETITION;
+        childSize[ply][i] = 1;
+        if (isLost(child)) {
+            childPhi[ply][i] = INF;
+            childDelta[ply][i] = 0;
+            return;
+        }
+        long hash = child.hash();
+        for (int k = ply - 1; k >= 0; k -= 2) {
+            if (path[k] == hash) {
+                // a draw: the defender has reached its goal, the attacker has not
+                boolean attackerToMove = child.getSideToMove() == attacker;
+                childPhi[ply][i] = attackerToMove ? INF : 0;
+                childDelta[ply][i] = attackerToMove ? 0 : INF;
+                childRepeats[ply][i] = k;
+                return;
+            }
+        }
+        int entry = find(hash);
+        if (entry >= 0) {
+            long numbers = table[entry + 1];
+            childPhi[ply][i] = (int) (numbers >>> 32);
+            childDelta[ply][i] = (int) numbers;
+            childSize[ply][i] = table[entry + 2];
+        } else {
+            childPhi[ply][i] = 1;
+            childDelta[ply][i] = 1;
+        }
+    }
+
+    private long key(long hash) {
+        return attacker == BitBoard.WHITE ? hash : hash ^ BLACK_ATTACKER_KEY;
+    }
+
+    // index of the entry of a position in table, or -1
+    private int find(long hash) {
+        long key = key(hash);
+        int entry = ((int) key & bucketMask) * 2 * ENTRY_LONGS;
+        if (table[entry] == key && table[entry + 1] != 0) {
+            return entry;
+        }
+        entry += ENTRY_LONGS;
+        return table[entry] == key && table[entry + 1] != 0 ? entry : -1;
+    }
+
+    private void store(long hash, int phi, int delta, long size, long work) {
+        long key = key(hash);
+        int entry = ((int) key & bucketMask) * 2 * ENTRY_LONGS;
+        int other = entry + ENTRY_LONGS;
+        if (table[other] == key || (table[entry] != key && table[other + 3] < table[entry + 3])) {
+            entry = other;
+        }
+        table[entry] = key;
+        table[entry + 1] = (long) phi << 32 | delta & 0xFFFFFFFFL;
+        table[entry + 2] = size;
+        table[entry + 3] = work;
+    }
+
+    /**
+     * Solves positions given one per line, as written by BoardState.toText, from a file or standard input, and prints
+     * the result, proof size, positions searched and time of each.
+     * Arguments: [file of positions, or - for standard input] [table MiB] [node limit]
+     */
+    public static void main(String[] args) throws IOException {
+        long tableBytes = (args.length > 1 ? Long.parseLong(args[1]) : 256) << 20;
+        long maxNodes = args.length > 2 ? Long.parseLong(args[2]) : 100000000;
+        ProofNumberSolver solver = new ProofNumberSolver(tableBytes, maxNodes);
+        BufferedReader reader = args.length > 0 && !args[0].equals("-")
+                ? Files.newBufferedReader(Paths.get(args[0]), StandardCharsets.UTF_8)
+                : new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        try (BufferedReader lines = reader) {
+            String line;
+            while ((line = lines.readLine()) != null) {
+                if (line.trim().isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                BoardState state = BoardState.parse(line);
+                if (state == null) {
+                    System.out.println(line.trim() + "  not a position");
+                    continue;
+                }
+                int result = solver.solve(state);
+                System.out.printf("%s  %-7s  proof %d  nodes %d  %d ms%n", state.toText(), resultName(result),
+                        solver.getProofSize(), solver.getNodes(), solver.getElapsedMillis());
+            }
+        }
+    }
+
+    private static String resultName(int result) {
+        switch (result) {
+            case WIN:
+                return "win";
+            case LOSS:
+                return "loss";
+            case DRAW:
+                return "draw";
+            default:
+                return "unknown";
+        }
+    }
+}
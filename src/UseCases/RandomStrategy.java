@@ -0,0 +1,16 @@
+package UseCases;
+
+import Entity.BoardState;
+import Interfaces.Strategy;
+
+import java.util.SplittableRandom;
+
+/**
+ * Plays a uniformly random legal move.
+ */
+public class RandomStrategy implements Strategy {
+    @Override
+    public int chooseMove(BoardState state, int[] moves, int count, SplittableRandom random) {
+        return moves[random.nextInt(count)];
+    }
+}
@@ -0,0 +1,33 @@
+package UseCases;
+
+import Entity.BoardState;
+import Entity.Move;
+import Interfaces.Strategy;
+
+import java.util.SplittableRandom;
+
+/**
+ * Plays the move AlphaBetaSearch finds at a fixed depth, so games are not cut short by the clock.
+ */
+public class SearchStrategy implements Strategy {
+    private static final long TABLE_BYTES = 1 << 20;
+
+    private final int depth;
+    private final AlphaBetaSearch search = new AlphaBetaSearch(Long.MAX_VALUE / 2, new TranspositionTable(TABLE_BYTES));
+
+    /**
+     * @param depth plies to search each move to, in range 1..AlphaBetaSearch.MAX_DEPTH
+     */
+    public SearchStrategy(int depth) {
+        if (depth < 1 || depth > AlphaBetaSearch.MAX_DEPTH) {
+            throw new IllegalArgumentException("Search depth must be in range 1.." + AlphaBetaSearch.MAX_DEPTH);
+        }
+        this.depth = depth;
+    }
+
+    @Override
+    public int chooseMove(BoardState state, int[] moves, int count, SplittableRandom random) {
+        int move = search.findBestMove(state, depth);
+        return move == Move.NONE ? moves[random.nextInt(count)] : move;
+    }
+}
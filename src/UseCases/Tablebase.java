@@ -0,0 +1,79 @@
+package UseCases;
+
+import Entity.BitBoard;
+import Entity.BoardState;
+import Entity.PositionIndexer;
+import Gateways.TablebaseFiles;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Path;
+
+/**
+ * Answers moving and flying phase endgame positions exactly, from tablebase files written by TablebaseGenerator.
+ *
+ * The files are memory mapped when the tablebase is opened, so only the pages of positions actually probed are read
+ * from disk.
+ */
+public class Tablebase {
+    // probe result for positions the tablebase has no file for
+    public static final int NOT_COVERED = -1;
+
+    // probe result for positions where neither side can force a result
+    public static final int DRAW = 0;
+
+    // mapped files, indexed by [own][opp]; null where the directory has no file. TablebaseGenerator solves at most
+    // MAX_TOKENS per side, so every index fits in an int
+    private final MappedByteBuffer[][] tables =
+            new MappedByteBuffer[TablebaseGenerator.MAX_TOKENS + 1][TablebaseGenerator.MAX_TOKENS + 1];
+
+    /**
+     * Maps every tablebase file found in a directory.
+     * @param directory directory written by TablebaseGenerator.generate
+     * @throws IOException if a tablebase file cannot be read
+     */
+    public Tablebase(Path directory) throws IOException {
+        for (int own = BoardState.MIN_TOKENS; own <= TablebaseGenerator.MAX_TOKENS; own++) {
+            for (int opp = BoardState.MIN_TOKENS; opp <= TablebaseGenerator.MAX_TOKENS; opp++) {
+                tables[own][opp] = TablebaseFiles.map(directory, own, opp);
+            }
+        }
+    }
+
+    /**
+     * Looks up a position.
+     * @param state position to look up
+     * @return NOT_COVERED if a side has tokens in hand or the tablebase has no file for the token counts; DRAW; or
+     *         otherwise 1 + the number of plies to the end of the game, read with isWin and distance
+     */
+    public int probe(BoardState state) {
+        if (state.getInHand(BitBoard.WHITE) != 0 || state.getInHand(BitBoard.BLACK) != 0) {
+            return NOT_COVERED;
+        }
+        BitBoard board = state.getBoard();
+        int side = state.getSideToMove();
+        int own = board.count(side);
+        int opp = board.count(side ^ 1);
+        if (own < BoardState.MIN_TOKENS || opp < BoardState.MIN_TOKENS || own > TablebaseGenerator.MAX_TOKENS
+                || opp > TablebaseGenerator.MAX_TOKENS || tables[own][opp] == null) {
+            return NOT_COVERED;
+        }
+        return tables[own][opp].get((int) PositionIndexer.rank(board.getMask(side), board.getMask(side ^ 1))) & 0xFF;
+    }
+
+    /**
+     * @param result probe result other than NOT_COVERED and DRAW
+     * @return true if the side to move wins
+     */
+    public static boolean isWin(int result) {
+        return (distance(result) & 1) == 1;
+    }
+
+    /**
+     * @param result probe result other than NOT_COVERED and DRAW
+     * @return plies to the end of the game with best play
+     */
+    public static int distance(int result) {
+        return result - 1;
+    }
+}
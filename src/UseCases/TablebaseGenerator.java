@@ -0,0 +1,355 @@
+package UseCases;
+
+import Entity.BitBoard;
+import Entity.BoardState;
+import Entity.BoardTopology;
+import Entity.PositionIndexer;
+import Gateways.TablebaseFiles;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Solves the moving and flying phase endgames exactly by retrograde analysis, and writes them as tablebase files.
+ *
+ * A subspace holds every position where the side to move has own tokens on the board, the other side has opp, and
+ * nobody has tokens in hand. Each position gets one byte: 0 if neither side can force a result, or otherwise 1 + the
+ * number of plies to the end of the game with best play; odd distances are wins for the side to move, even ones losses.
+ *
+ * Subspaces (own, opp) and (opp, own) lead into each other and are solved together, after the smaller subspaces that
+ * removing a token leads to. Solving goes round by round: round n finds the positions that are decided in exactly n
+ * plies, and only looks again at positions one move before a position decided in round n - 1. Each round is split over
+ * a pool of threads by ranges of the side to move's tokens.
+ */
+public class TablebaseGenerator {
+    // most tokens per side that can be solved: 6 against 6 already has C(24,6) * C(18,6), about 2.5e9, positions,
+    // more than a byte array can index
+    public static final int MAX_TOKENS = 5;
+
+    private final int threads;
+
+    // solved subspaces, indexed by [own][opp]
+    private final byte[][][] solved = new byte[BoardState.TOKENS_PER_PLAYER + 1][BoardState.TOKENS_PER_PLAYER + 1][];
+
+    /**
+     * @param threads number of threads to solve with
+     */
+    public TablebaseGenerator(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("TablebaseGenerator needs at least one thread");
+        }
+        this.threads = threads;
+    }
+
+    /**
+     * Solves every subspace where both sides have from three to maxTokens tokens, and writes each to a file.
+     * @param maxTokens most tokens of either side, in range 3..MAX_TOKENS
+     * @param directory directory to write the files to
+     * @throws IOException if a file cannot be written
+     * @throws InterruptedException if interrupted while solving
+     */
+    public void generate(int maxTokens, Path directory) throws IOException, InterruptedException {
+        solve(maxTokens);
+        for (int own = BoardState.MIN_TOKENS; own <= maxTokens; own++) {
+            for (int opp = BoardState.MIN_TOKENS; opp <= maxTokens; opp++) {
+                TablebaseFiles.write(directory, own, opp, solved[own][opp]);
+            }
+        }
+    }
+
+    /**
+     * Solves every subspace where both sides have from three to maxTokens tokens, keeping the results in memory.
+     * @param maxTokens most tokens of either side, in range 3..MAX_TOKENS
+     * @throws InterruptedException if interrupted while solving
+     */
+    public void solve(int maxTokens) throws InterruptedException {
+        if (maxTokens < BoardState.MIN_TOKENS || maxTokens > MAX_TOKENS) {
+            throw new IllegalArgumentException("Tablebases cover " + BoardState.MIN_TOKENS + " to " + MAX_TOKENS
+                    + " tokens per side");
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            for (int total = 2 * BoardState.MIN_TOKENS; total <= 2 * maxTokens; total++) {
+                for (int own = BoardState.MIN_TOKENS; 2 * own <= total; own++) {
+                    int opp = total - own;
+                    if (opp <= maxTokens && solved[own][opp] == null) {
+                        solveGroup(pool, own, opp);
+                    }
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * @return values of a solved subspace, indexed by PositionIndexer.rank(side to move's mask, other side's mask), or
+     *         null if it was not solved
+     */
+    byte[] values(int own, int opp) {
+        return solved[own][opp];
+    }
+
+    // one subspace being solved
+    private static final class Subspace {
+        final int own;
+        final int opp;
+        final int oppRanks;
+        final byte[] values;
+        final byte[] dirty;
+        // subspace reached by moves that do not remove a token
+        Subspace partner;
+        // solved subspace reached by removing a token, or null if removing a token wins
+        byte[] captureValues;
+
+        Subspace(int own, int opp) {
+            this.own = own;
+            this.opp = opp;
+            long size = PositionIndexer.size(own, opp);
+            if (size > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Subspace " + own + "v" + opp + " is too large");
+            }
+            oppRanks = PositionIndexer.binomial(BitBoard.NUM_POSITIONS - own, opp);
+            values = new byte[(int) size];
+            dirty = new byte[(int) size];
+        }
+    }
+
+    // chooses which positions of a subspace to visit, by index
+    private interface IndexFilter {
+        boolean accepts(int index);
+    }
+
+    // visits positions of a subspace, given their index and masks
+    private interface PositionVisitor {
+        // returns whether the position was decided
+        boolean visit(int index, int ownMask, int oppMask);
+    }
+
+    private void solveGroup(ExecutorService pool, int own, int opp) throws InterruptedException {
+        Subspace first = new Subspace(own, opp);
+        Subspace second = own == opp ? first : new Subspace(opp, own);
+        first.partner = second;
+        second.partner = first;
+        Subspace[] group = own == opp ? new Subspace[]{first} : new Subspace[]{first, second};
+        int longestCapture = -1;
+        for (Subspace subspace : group) {
+            if (subspace.opp - 1 >= BoardState.MIN_TOKENS) {
+                subspace.captureValues = solved[subspace.opp - 1][subspace.own];
+                for (byte value : subspace.captureValues) {
+                    longestCapture = Math.max(longestCapture, (value & 0xFF) - 1);
+                }
+            }
+        }
+
+        // rounds 0 and 1 look at every position: round 0 finds blocked positions, round 1 wins by removing a token
+        long decided = 0;
+        for (int round = 0; round <= 1; round++) {
+            int n = round;
+            decided = 0;
+            for (Subspace subspace : group) {
+                decided += forEachPosition(pool, subspace.own, subspace.opp, index -> subspace.values[index] == 0,
+                        (index, ownMask, oppMask) -> decide(subspace, index, ownMask, oppMask, n));
+            }
+        }
+        for (int round = 2; decided > 0 || round - 1 <= longestCapture; round++) {
+            if (round > 254) {
+                throw new IllegalStateException("Distance to result does not fit in a tablebase byte");
+            }
+            int n = round;
+            // positions decided in round n - 1, as stored values
+            byte decidedLastRound = (byte) n;
+            for (Subspace subspace : group) {
+                forEachPosition(pool, subspace.own, subspace.opp, index -> subspace.values[index] == decidedLastRound,
+                        (index, ownMask, oppMask) -> markPredecessors(subspace, ownMask, oppMask));
+                byte[] captureValues = subspace.captureValues;
+                if (captureValues != null) {
+                    forEachPosition(pool, subspace.opp - 1, subspace.own,
+                            index -> captureValues[index] == decidedLastRound,
+                            (index, ownMask, oppMask) -> markCapturePredecessors(subspace, ownMask, oppMask));
+                }
+            }
+            decided = 0;
+            for (Subspace subspace : group) {
+                decided += forEachPosition(pool, subspace.own, subspace.opp,
+                        index -> subspace.dirty[index] != 0 && subspace.values[index] == 0,
+                        (index, ownMask, oppMask) -> {
+                            subspace.dirty[index] = 0;
+                            return decide(subspace, index, ownMask, oppMask, n);
+                        });
+            }
+        }
+        solved[own][opp] = first.values;
+        solved[opp][own] = second.values;
+    }
+
+    // calls visitor for the positions of subspace (own, opp) that filter accepts; returns how many positions the
+    // visitor decided
+    private long forEachPosition(ExecutorService pool, int own, int opp, IndexFilter filter, PositionVisitor visitor)
+            throws InterruptedException {
+        int ownRanks = PositionIndexer.binomial(BitBoard.NUM_POSITIONS, own);
+        int tasks = Math.min(ownRanks, threads * 8);
+        List<Callable<Long>> chunks = new ArrayList<>(tasks);
+        for (int t = 0; t < tasks; t++) {
+            int start = (int) ((long) ownRanks * t / tasks);
+            int end = (int) ((long) ownRanks * (t + 1) / tasks);
+            chunks.add(() -> visitRange(own, opp, start, end, filter, visitor));
+        }
+        long decided = 0;
+        try {
+            for (Future<Long> chunk : pool.invokeAll(chunks)) {
+                decided += chunk.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Tablebase worker failed: " + e.getCause().getMessage(), e.getCause());
+        }
+        return decided;
+    }
+
+    private static long visitRange(int own, int opp, int startRank, int endRank, IndexFilter filter,
+                                   PositionVisitor visitor) {
+        int oppRanks = PositionIndexer.binomial(BitBoard.NUM_POSITIONS - own, opp);
+        long decided = 0;
+        for (int ownRank = startRank; ownRank < endRank; ownRank++) {
+            int ownMask = PositionIndexer.colexUnrank(ownRank, own);
+            int free = ~ownMask & BitBoard.FULL_MASK;
+            int index = ownRank * oppRanks;
+            // walk the opponent's masks in colex order, which is increasing order of the packed mask
+            int packed = (1 << opp) - 1;
+            for (int oppRank = 0; oppRank < oppRanks; oppRank++, index++) {
+                if (filter.accepts(index) && visitor.visit(index, ownMask, PositionIndexer.expand(packed, free))) {
+                    decided++;
+                }
+                int lowest = packed & -packed;
+                int ripple = packed + lowest;
+                packed = (((ripple ^ packed) >>> 2) / lowest) | ripple;
+            }
+        }
+        return decided;
+    }
+
+    // tries to decide an undecided position in round n, from the values of its children decided before round n
+    private static boolean decide(Subspace subspace, int index, int ownMask, int oppMask, int n) {
+        int empty = ~(ownMask | oppMask) & BitBoard.FULL_MASK;
+        boolean flying = subspace.own == BoardState.MIN_TOKENS;
+        int removable = MoveGenerator.removableMask(oppMask);
+        boolean anyMove = false;
+        boolean allWins = true;
+        int longestWin = 0;
+        for (int froms = ownMask; froms != 0; froms &= froms - 1) {
+            int from = Integer.numberOfTrailingZeros(froms);
+            int targets = flying ? empty : BoardTopology.adjacent(from) & empty;
+            for (; targets != 0; targets &= targets - 1) {
+                int to = Integer.numberOfTrailingZeros(targets);
+                int ownAfter = ownMask & ~(1 << from) | 1 << to;
+                anyMove = true;
+                if (!BoardTopology.formsMill(ownAfter, to)) {
+                    int child = (subspace.partner.values[(int) PositionIndexer.rank(oppMask, ownAfter)] & 0xFF) - 1;
+                    if (child < 0 || child >= n) {
+                        allWins = false;
+                    } else if ((child & 1) == 0) {
+                        subspace.values[index] = (byte) (child + 2);
+                        return true;
+                    } else {
+                        longestWin = Math.max(longestWin, child);
+                    }
+                    continue;
+                }
+                for (int removals = removable; removals != 0; removals &= removals - 1) {
+                    int child;
+                    if (subspace.captureValues == null) {
+                        // the opponent is left with two tokens, and has lost
+                        child = 0;
+                    } else {
+                        int oppAfter = oppMask & ~(removals & -removals);
+                        child = (subspace.captureValues[(int) PositionIndexer.rank(oppAfter, ownAfter)] & 0xFF) - 1;
+                    }
+                    if (child < 0 || child >= n) {
+                        allWins = false;
+                    } else if ((child & 1) == 0) {
+                        subspace.values[index] = (byte) (child + 2);
+                        return true;
+                    } else {
+                        longestWin = Math.max(longestWin, child);
+                    }
+                }
+            }
+        }
+        if (!anyMove) {
+            // blocked: lost now
+            subspace.values[index] = 1;
+            return true;
+        }
+        if (allWins) {
+            subspace.values[index] = (byte) (longestWin + 2);
+            return true;
+        }
+        return false;
+    }
+
+    // marks every position of the partner subspace that reaches this position without removing a token
+    private static boolean markPredecessors(Subspace subspace, int ownMask, int oppMask) {
+        // the opponent just moved one of its tokens to get here
+        int empty = ~(ownMask | oppMask) & BitBoard.FULL_MASK;
+        boolean flying = subspace.opp == BoardState.MIN_TOKENS;
+        byte[] dirty = subspace.partner.dirty;
+        for (int tos = oppMask; tos != 0; tos &= tos - 1) {
+            int to = Integer.numberOfTrailingZeros(tos);
+            if (BoardTopology.formsMill(oppMask, to)) {
+                // that move would have formed a mill and removed a token
+                continue;
+            }
+            int froms = flying ? empty : BoardTopology.adjacent(to) & empty;
+            for (; froms != 0; froms &= froms - 1) {
+                int before = oppMask & ~(1 << to) | (froms & -froms);
+                dirty[(int) PositionIndexer.rank(before, ownMask)] = 1;
+            }
+        }
+        return false;
+    }
+
+    // marks every position of subspace that reaches the given position of its capture subspace by removing a token
+    private static boolean markCapturePredecessors(Subspace subspace, int capturedMask, int moverMask) {
+        // the mover, the side to move of subspace, just formed a mill at to and removed one of the captured side's
+        // tokens from a position that is now empty
+        int empty = ~(capturedMask | moverMask) & BitBoard.FULL_MASK;
+        boolean flying = subspace.own == BoardState.MIN_TOKENS;
+        for (int tos = moverMask; tos != 0; tos &= tos - 1) {
+            int to = Integer.numberOfTrailingZeros(tos);
+            if (!BoardTopology.formsMill(moverMask, to)) {
+                continue;
+            }
+            int froms = flying ? empty : BoardTopology.adjacent(to) & empty;
+            for (; froms != 0; froms &= froms - 1) {
+                int from = froms & -froms;
+                int before = moverMask & ~(1 << to) | from;
+                for (int removed = empty & ~from; removed != 0; removed &= removed - 1) {
+                    subspace.dirty[(int) PositionIndexer.rank(before, capturedMask | (removed & -removed))] = 1;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Solves the endgames up to a number of tokens per side and writes them to a directory.
+     * @param args most tokens per side, up to MAX_TOKENS (default 3), output directory (default "tablebase"), threads (default: cores)
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int maxTokens = args.length > 0 ? Integer.parseInt(args[0]) : BoardState.MIN_TOKENS;
+        Path directory = Paths.get(args.length > 1 ? args[1] : "tablebase");
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        long start = System.currentTimeMillis();
+        new TablebaseGenerator(threads).generate(maxTokens, directory);
+        System.out.println("Solved up to " + maxTokens + " tokens per side in "
+                + (System.currentTimeMillis() - start) + " ms");
+    }
+}
@@ -1,13 +1,12 @@
-
 package UseCases;
 
+import Entity.BitBoard;
 import Entity.GameBoard;
+import Entity.Position;
 import Entity.Token;
 import Interfaces.Observer;
 
 import java.io.Serializable;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Set;
 
 /**
@@ -20,20 +19,15 @@ public class TokenTracker implements Observer, Serializable {
     private GameBoard gameBoard;
 
     // store all valid gameboard positions
-    private final HashSet<String> gbPositions;
+    private final Set<String> gbPositions;
 
-    // keeps track of where player tokens are on the gameboard
-    private final HashMap<String, Token> playerTokenMap;
+    // keeps track of where player tokens are on the gameboard, indexed by Position index (null for empty positions)
+    private final Token[] playerTokens;
 
     public TokenTracker() {
         gameBoard = new GameBoard();
-        gbPositions = (HashSet<String>) gameBoard.getGameBoardPositions();
-        playerTokenMap = new HashMap<>();
-        HashSet<String> gameBoardPositions = (HashSet<String>) gameBoard.getGameBoardPositions();
-        for (String position : gameBoardPositions) {
-            // initialize all positions as null, until tokens are placed in them
-            playerTokenMap.put(position, null);
-        }
+        gbPositions = gameBoard.getGameBoardPositions();
+        playerTokens = new Token[BitBoard.NUM_POSITIONS];
     }
 
     /**
@@ -71,7 +65,19 @@ public class TokenTracker implements Observer, Serializable {
      * @return boolean True if specified position has one of player's own token
      */
     public boolean isSelfToken(String username, String position) {
-        Token tokenAtPosition = playerTokenMap.get(position);
+        Position parsed = Position.parse(position);
+        return parsed != null && isSelfToken(username, parsed);
+    }
+
+    /**
+     * Return whether player is trying to remove one of their own tokens
+     *
+     * @param username String for username of the player making the move
+     * @param position Position on gameboard where player is trying to remove a token
+     * @return boolean True if specified position has one of player's own token
+     */
+    public boolean isSelfToken(String username, Position position) {
+        Token tokenAtPosition = playerTokens[position.index()];
 
         if (tokenAtPosition == null) {
             // no token placed at position, so cannot be a self token
@@ -83,31 +89,41 @@ public class TokenTracker implements Observer, Serializable {
 
     /**
      * Retrieves a Token from a specified gameboard position. Returns null if no Token is placed there.
-     * @param position GameBoard coordinates, in form [ABC][1-8
+     * @param position GameBoard coordinates, in form [ABC][1-8]
+     * @return Token that was placed at position in gameboard, or null
+     */
+    public Token getToken(String position) {
+        Position parsed = Position.parse(position);
+        return parsed == null ? null : getToken(parsed);
+    }
+
+    /**
+     * Retrieves a Token from a gameboard position. Returns null if no Token is placed there.
+     * @param position GameBoard position
      * @return Token that was placed at position in gameboard, or null
      */
-    public Token getToken(String position) { return playerTokenMap.get(position); }
+    public Token getToken(Position position) { return playerTokens[position.index()]; }
 
     @Override
     // player added token to gameboard
-    public void update(String position, Token playerToken) {
+    public void update(Position position, Token playerToken) {
         // add token to token map
         // add token for player in player tokens
         addTokenMap(position, playerToken);
     }
 
-    private void addTokenMap(String position, Token playerToken) {
-        playerTokenMap.put(position, playerToken);
+    private void addTokenMap(Position position, Token playerToken) {
+        playerTokens[position.index()] = playerToken;
     }
 
     @Override
     // player removed token from gameboard
-    public void update(String position) {
+    public void update(Position position) {
         removeTokenMap(position);
     }
 
-    private void removeTokenMap(String position) {
-        // remove token from position in playerTokenMap by setting associated value to null
-        playerTokenMap.put(position, null);
+    private void removeTokenMap(Position position) {
+        // remove token from position by setting it to null
+        playerTokens[position.index()] = null;
     }
-}
\ No newline at end of file
+}
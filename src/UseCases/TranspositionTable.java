@@ -0,0 +1,176 @@
+package UseCases;
+
+import Entity.Move;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Fixed-size table of search results keyed by 64-bit position hash, shared without locks by any number of search
+ * threads.
+ *
+ * Entries are 16 bytes, stored off-heap in direct buffers of at most 1 GiB each, and grouped into buckets of four that
+ * fill one cache line. An entry holds (key ^ data, data), where data packs the depth, bound, score and best move. Writes
+ * of the two words are not atomic together, so a reader racing a writer can see words of two different entries; such
+ * a torn entry fails the key ^ data check and reads as a miss, instead of returning another position's result.
+ */
+public class TranspositionTable {
+    // bound types stored with a score; 0 is left unused so that data of a stored entry is never 0
+    public static final int UPPER_BOUND = 1;
+    public static final int LOWER_BOUND = 2;
+    public static final int EXACT = 3;
+
+    // result of probe for positions that are not in the table
+    public static final long MISS = 0;
+
+    public static final int ENTRY_BYTES = 16;
+    public static final int BUCKET_ENTRIES = 4;
+    private static final int BUCKET_BYTES = ENTRY_BYTES * BUCKET_ENTRIES;
+
+    // largest direct buffer allocated, as ByteBuffer positions are ints
+    private static final int MAX_CHUNK_BYTES = 1 << 30;
+
+    // data layout: bits 0-15 move, 16-47 score, 48-55 depth, 56-57 bound, 58-63 generation
+    private static final int SCORE_SHIFT = 16;
+    private static final int DEPTH_SHIFT = 48;
+    private static final int BOUND_SHIFT = 56;
+    private static final int GENERATION_SHIFT = 58;
+    private static final int NO_MOVE = 0xFFFF;
+    private static final int GENERATIONS = 64;
+
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private final ByteBuffer[] chunks;
+    private final int bucketsPerChunkShift;
+    private final long bucketMask;
+    private volatile int generation;
+
+    /**
+     * Allocates an empty table.
+     * @param sizeBytes memory to use; rounded down to a power of two, of at least one bucket
+     */
+    public TranspositionTable(long sizeBytes) {
+        if (sizeBytes < BUCKET_BYTES) {
+            throw new IllegalArgumentException("Transposition table needs at least " + BUCKET_BYTES + " bytes");
+        }
+        long tableBytes = Long.highestOneBit(sizeBytes);
+        int chunkBytes = (int) Math.min(tableBytes, MAX_CHUNK_BYTES);
+        chunks = new ByteBuffer[(int) (tableBytes / chunkBytes)];
+        for (int i = 0; i < chunks.length; i++) {
+            // aligned so that every bucket sits in one cache line, and long accesses are allowed in opaque mode
+            chunks[i] = ByteBuffer.allocateDirect(chunkBytes + BUCKET_BYTES).alignedSlice(BUCKET_BYTES);
+        }
+        bucketsPerChunkShift = Integer.numberOfTrailingZeros(chunkBytes / BUCKET_BYTES);
+        bucketMask = tableBytes / BUCKET_BYTES - 1;
+    }
+
+    /**
+     * @return number of entries the table holds
+     */
+    public long capacity() {
+        return (bucketMask + 1) * BUCKET_ENTRIES;
+    }
+
+    /**
+     * Starts a new search: entries stored by earlier searches are replaced before entries of this one.
+     */
+    public void newSearch() {
+        generation = (generation + 1) % GENERATIONS;
+    }
+
+    /**
+     * Empties the table. Must not be called while other threads use it.
+     */
+    public void clear() {
+        for (ByteBuffer chunk : chunks) {
+            for (int offset = 0; offset < chunk.capacity(); offset += Long.BYTES) {
+                LONGS.set(chunk, offset, 0L);
+            }
+        }
+    }
+
+    /**
+     * Looks up a position.
+     * @param key 64-bit hash of the position
+     * @return packed data of the entry, to read with move, score, depth and bound; or MISS if the position is not stored
+     */
+    public long probe(long key) {
+        long bucket = key & bucketMask;
+        ByteBuffer chunk = chunks[(int) (bucket >>> bucketsPerChunkShift)];
+        int base = bucketOffset(bucket);
+        for (int i = 0; i < BUCKET_ENTRIES; i++) {
+            int offset = base + i * ENTRY_BYTES;
+            long check = (long) LONGS.getOpaque(chunk, offset);
+            long data = (long) LONGS.getOpaque(chunk, offset + Long.BYTES);
+            if (data != MISS && (check ^ data) == key) {
+                return data;
+            }
+        }
+        return MISS;
+    }
+
+    /**
+     * Stores the result of searching a position. The entry goes into the slot of the same position if its bucket has
+     * one, or else replaces the slot holding the shallowest result, preferring results of earlier searches.
+     *
+     * @param key 64-bit hash of the position
+     * @param depth remaining depth the position was searched to, in range 0..255
+     * @param bound UPPER_BOUND, LOWER_BOUND or EXACT
+     * @param score score found for the position
+     * @param move best Move found, or Move.NONE
+     */
+    public void store(long key, int depth, int bound, int score, int move) {
+        long data = (move & NO_MOVE) | ((long) score & 0xFFFFFFFFL) << SCORE_SHIFT | (long) depth << DEPTH_SHIFT
+                | (long) bound << BOUND_SHIFT | (long) generation << GENERATION_SHIFT;
+        long bucket = key & bucketMask;
+        ByteBuffer chunk = chunks[(int) (bucket >>> bucketsPerChunkShift)];
+        int base = bucketOffset(bucket);
+
+        int replace = base;
+        int replaceValue = Integer.MAX_VALUE;
+        for (int i = 0; i < BUCKET_ENTRIES; i++) {
+            int offset = base + i * ENTRY_BYTES;
+            long stored = (long) LONGS.getOpaque(chunk, offset + Long.BYTES);
+            if (stored == MISS || ((long) LONGS.getOpaque(chunk, offset) ^ stored) == key) {
+                replace = offset;
+                break;
+            }
+            // entries from older searches count as shallower than any entry of this one
+            int age = (generation - generation(stored) + GENERATIONS) % GENERATIONS;
+            int value = depth(stored) - 256 * age;
+            if (value < replaceValue) {
+                replaceValue = value;
+                replace = offset;
+            }
+        }
+        LONGS.setOpaque(chunk, replace, key ^ data);
+        LONGS.setOpaque(chunk, replace + Long.BYTES, data);
+    }
+
+    private int bucketOffset(long bucket) {
+        return (int) (bucket & ((1L << bucketsPerChunkShift) - 1)) * BUCKET_BYTES;
+    }
+
+    public static int move(long data) {
+        int move = (int) (data & NO_MOVE);
+        return move == NO_MOVE ? Move.NONE : move;
+    }
+
+    public static int score(long data) {
+        return (int) (data >>> SCORE_SHIFT);
+    }
+
+    public static int depth(long data) {
+        return (int) (data >>> DEPTH_SHIFT) & 0xFF;
+    }
+
+    public static int bound(long data) {
+        return (int) (data >>> BOUND_SHIFT) & 3;
+    }
+
+    private static int generation(long data) {
+        return (int) (data >>> GENERATION_SHIFT);
+    }
+}
@@ -7,8 +7,8 @@ public class WinnerCalculator {
     // Creates and stores a GameBoard instance, and processes Player moves on the GameBoard
     private final CheckMill cm;
 
-    public static Player player1;
-    public static Player player2;
+    private final Player player1;
+    private final Player player2;
 
     public WinnerCalculator(GamePlay1 gp, Player player1, Player player2){
         this.player1 = player1;
@@ -26,6 +26,16 @@ public class WinnerCalculator {
         }
     }
 
+    /**
+     * Returns the winner of a game that ended by the rules
+     * @param loserNum number of the player who was reduced to two tokens or could not move
+     * @return message naming the other player as the winner
+     */
+    public String who_won(int loserNum) {
+        Player winner = loserNum == 1 ? player2 : player1;
+        return winner.get_username() + " won";
+    }
+
     private Player option1(int p1Houses, int p2Houses){
         if (p1Houses > p2Houses){
             return player1;
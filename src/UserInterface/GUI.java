@@ -2,26 +2,38 @@ package UserInterface;/*
  * GUI is a subclass of JFrame where the game is displayed. An object of this class is created to run the game.
  */
 
-import Controller.GamePlay1;
-import Exceptions.InvalidPositionException;
+import Controller.GameSession;
+import Entity.Move;
+import Entity.Phase;
+import Entity.Position;
 import Exceptions.InvalidSaveFileException;
-import Exceptions.LoadedSuccessfully;
-import Exceptions.SavedSuccessfully;
 import Gateways.LeaderboardDataGateway;
 import Interfaces.DataAdapter;
+import Interfaces.MoveSearch;
+import UseCases.BookSearch;
+import UseCases.OpeningBook;
+import UseCases.ParallelSearch;
+import UseCases.Ponderer;
+import UseCases.Tablebase;
+import UseCases.TranspositionTable;
 
 import javax.imageio.ImageIO;
 import javax.swing.*;
+import javax.swing.filechooser.FileNameExtensionFilter;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.WindowEvent;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.lang.reflect.Array;
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
 import java.util.TimerTask;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 
 
@@ -29,14 +41,75 @@ public class GUI extends JFrame implements ActionListener, DataAdapter<String, I
     JPanel loginPanel, welcomePanel, whiteTokenPanel, blackTokenPanel, gamePanel, gamePanelWrapper, headerPanel, leaderboardPanel;
     DefaultButton saveButton, newGameButton, exitButton;
     JFrame tutorialPopup;
-    GamePlay1 gamePlay;
+    // the game being played; the GUI only displays it and passes the players' clicks on
+    GameSession session;
+    // index of the token button chosen to be moved in the moving phase, or -1 if none is chosen
+    int selectedTokenIndex = -1;
+    // time the computer player may think about each move
+    static final long COMPUTER_TIME_BUDGET_MILLIS = 2000;
+    // number of the player played by the computer, or 0 if both players are human
+    int computerPlayerNum = 0;
+    // the computer searches on every core, sharing one transposition table
+    static final int COMPUTER_THREADS = Runtime.getRuntime().availableProcessors();
+    static final long COMPUTER_TABLE_BYTES = 64L << 20;
+    // endgame tablebase files written by TablebaseGenerator, used by the computer when present
+    static final String TABLEBASE_DIRECTORY = "src/Gateways/data/tablebase";
+    // opening book written by OpeningBookBuilder, consulted by the computer before searching when present
+    static final String OPENING_BOOK_FILE = "src/Gateways/data/opening.book";
+    // the computer ponders on the human's time with a second search of the same table, until stopped; both are only
+    // created once a computer opponent is chosen, and shut down when the game ends
+    Ponderer computerSearch;
+    ParallelSearch computerMoveSearch;
 
     public GUI() {
         initiateGUI();
     }
 
     /**
-     * Initiates all instance attributes of GUI except gamePlay, headerPanel,
+     * Creates the computer's searches, unless they are already running.
+     */
+    private void startComputerSearch() {
+        if (computerSearch != null) {
+            return;
+        }
+        TranspositionTable table = new TranspositionTable(COMPUTER_TABLE_BYTES);
+        ParallelSearch search = new ParallelSearch(COMPUTER_TIME_BUDGET_MILLIS, COMPUTER_THREADS, table);
+        ParallelSearch ponderSearch = new ParallelSearch(Long.MAX_VALUE / 2, COMPUTER_THREADS, table);
+        if (new File(TABLEBASE_DIRECTORY).isDirectory()) {
+            try {
+                Tablebase tablebase = new Tablebase(Paths.get(TABLEBASE_DIRECTORY));
+                search.setTablebase(tablebase);
+                ponderSearch.setTablebase(tablebase);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+        MoveSearch moveSearch = search;
+        if (new File(OPENING_BOOK_FILE).isFile()) {
+            try {
+                moveSearch = new BookSearch(new OpeningBook(Paths.get(OPENING_BOOK_FILE)), search);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+        computerMoveSearch = search;
+        computerSearch = new Ponderer(moveSearch, ponderSearch, table);
+    }
+
+    /**
+     * Stops the computer's searches and their threads, and lets the transposition table be freed.
+     */
+    private void shutdownComputerSearch() {
+        if (computerSearch != null) {
+            computerSearch.shutdown();
+            computerMoveSearch.shutdown();
+            computerSearch = null;
+            computerMoveSearch = null;
+        }
+    }
+
+    /**
+     * Initiates all instance attributes of GUI except headerPanel,
      * and tutorial Popup, since the first two require information that the user/gateways will give later,
      * while the latter should only be initialized when the user chooses to watch the tutorial.
      * Calls helper method to set the preferred JFrame settings.
@@ -49,7 +122,7 @@ public class GUI extends JFrame implements ActionListener, DataAdapter<String, I
         blackTokenPanel = new TokenPanel("B");
         gamePanel = new GamePanel();
         leaderboardPanel = new LeaderboardPanel();
-        //gamePlay and headerPanel must be initialized later
+        //headerPanel must be initialized later
 
         //gamePanelWrapper is used to fix a size for GamePanel because if
         //it was added directly into the frame it would not have a fixed size.
@@ -57,7 +130,7 @@ public class GUI extends JFrame implements ActionListener, DataAdapter<String, I
         gamePanelWrapper.setLayout(new BoxLayout(gamePanelWrapper, BoxLayout.PAGE_AXIS));
         gamePanelWrapper.setBackground(Color.white);
 
-        gamePlay = new GamePlay1();
+        session = new GameSession("", "");
 
         saveButton = new DefaultButton(Color.decode("#FF1B3A"),20, 65,
                 250, "SAVE PROGRESS");
@@ -92,16 +165,9 @@ public class GUI extends JFrame implements ActionListener, DataAdapter<String, I
     public void addActionEvent() {
         ((LoginPanel) loginPanel).continueButton.addActionListener(e -> confirmButtonAction());
 
-        ((LoginPanel) loginPanel).loadButton.addActionListener(e -> {
-            try {
-                loadButtonAction();
-            } catch (InvalidSaveFileException ex) {
-                ex.printStackTrace();
-            }
-        });
+        ((LoginPanel) loginPanel).loadButton.addActionListener(e -> loadButtonAction());
 
-        saveButton.addActionListener(e -> JOptionPane.showMessageDialog(null,
-                gamePlay.saveGame(((HeaderPanel) headerPanel).gameState.getText())));
+        saveButton.addActionListener(e -> saveButtonAction());
 
         ((WelcomePanel) welcomePanel).tutorialButton.addActionListener(e -> tutorialButtonAction());
 
@@ -111,7 +177,7 @@ public class GUI extends JFrame implements ActionListener, DataAdapter<String, I
             tokenButtons[i].addActionListener(e -> {
                 try {
                     tokenButtonAction(finalI);
-                } catch (SavedSuccessfully | LoadedSuccessfully | InvalidPositionException | IOException ex) {
+                } catch (IOException ex) {
                     ex.printStackTrace();
                 }
             });
@@ -130,39 +196,78 @@ public class GUI extends JFrame implements ActionListener, DataAdapter<String, I
      *
      */
     private void confirmButtonAction() {
+        if(((LoginPanel) loginPanel).isComputerOpponent()
+                && ((LoginPanel) loginPanel).player2TextField.getText().equals("")){
+            ((LoginPanel) loginPanel).player2TextField.setText("Computer");
+        }
         if(((LoginPanel) loginPanel).player1TextField.getText().equals("") ||
                 ((LoginPanel) loginPanel).player2TextField.getText().equals("")){
             JOptionPane.showMessageDialog(null, "Usernames cannot be blank!");
         }
+        else if(((LoginPanel) loginPanel).player1TextField.getText().equals(
+                ((LoginPanel) loginPanel).player2TextField.getText())){
+            JOptionPane.showMessageDialog(null, "Usernames must be different!");
+        }
         else{
-            gamePlay.setPlayers(((LoginPanel) loginPanel).getPlayerUsername(1),
+            session.newGame(((LoginPanel) loginPanel).getPlayerUsername(1),
                     ((LoginPanel) loginPanel).getPlayerUsername(2));
-            headerPanel = new HeaderPanel(gamePlay.getPlayerName(1), gamePlay.getPlayerName(2));
+            headerPanel = new HeaderPanel(session.getPlayerName(1), session.getPlayerName(2));
             goToGameFrame();
         }
     }
 
-    private void loadButtonAction() throws InvalidSaveFileException {
-        String[] gamePlayLoadedResult = gamePlay.loadGame();
-        if (gamePlayLoadedResult.length == 1){
-            JOptionPane.showMessageDialog(null, gamePlayLoadedResult);
+    /**
+     * Helper method for saveButton actionPerformed. Lets the user choose a directory,
+     * and saves the game there in a file named after the players and the date.
+     */
+    private void saveButtonAction() {
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setFileSelectionMode(JFileChooser.DIRECTORIES_ONLY);
+        if (fileChooser.showOpenDialog(null) != JFileChooser.APPROVE_OPTION) {
+            JOptionPane.showMessageDialog(null, "Couldn't save: no directory chosen");
+            return;
         }
+        String saveName = session.getPlayerName(1) + session.getPlayerName(2) + java.time.LocalDate.now() + ".save";
+        File file = new File(fileChooser.getSelectedFile(), saveName);
+        try (OutputStream out = Files.newOutputStream(file.toPath())) {
+            session.save(out);
+            JOptionPane.showMessageDialog(null, "Game saved successfully");
+        } catch (IOException e) {
+            JOptionPane.showMessageDialog(null, "Couldn't save:" + e.getMessage());
+        }
+    }
 
-        else {
-            ((LoginPanel) loginPanel).setPlayersUsername(gamePlayLoadedResult[0], gamePlayLoadedResult[1]);
-            //update the available tokens to be placed
-            for (int i = 9; i > Integer.parseInt(gamePlayLoadedResult[2]); i--){
-                ((TokenPanel) whiteTokenPanel).removeToken();
-            }
-            for (int i = 9; i > Integer.parseInt(gamePlayLoadedResult[3]); i--){
-                ((TokenPanel) blackTokenPanel).removeToken();
-            }
+    /**
+     * Helper method for loadButton actionPerformed. Lets the user choose a save file,
+     * loads the game from it and shows it.
+     */
+    private void loadButtonAction() {
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setFileFilter(new FileNameExtensionFilter("Save files", "save"));
+        if (fileChooser.showOpenDialog(null) != JFileChooser.APPROVE_OPTION) {
+            JOptionPane.showMessageDialog(null, "Couldn't load: Invalid File selected.");
+            return;
+        }
+        try (InputStream in = Files.newInputStream(fileChooser.getSelectedFile().toPath())) {
+            session.load(in);
+        } catch (IOException | InvalidSaveFileException e) {
+            JOptionPane.showMessageDialog(null, "Couldn't load:" + e.getMessage());
+            return;
+        }
 
-            headerPanel = new HeaderPanel(gamePlay.getPlayerName(1), gamePlay.getPlayerName(2));
-            ((HeaderPanel) headerPanel).setGameState(gamePlayLoadedResult[4]);
-            setLoadedGameBoard();
-            goToGameFrame();
+        ((LoginPanel) loginPanel).setPlayersUsername(session.getPlayerName(1), session.getPlayerName(2));
+        //update the available tokens to be placed
+        for (int i = 9; i > session.getTokensRemaining(1); i--){
+            ((TokenPanel) whiteTokenPanel).removeToken();
         }
+        for (int i = 9; i > session.getTokensRemaining(2); i--){
+            ((TokenPanel) blackTokenPanel).removeToken();
+        }
+
+        headerPanel = new HeaderPanel(session.getPlayerName(1), session.getPlayerName(2));
+        ((HeaderPanel) headerPanel).setGameState(session.describeTurn());
+        setLoadedGameBoard();
+        goToGameFrame();
     }
 
     private void tutorialButtonAction(){
@@ -177,79 +282,46 @@ public class GUI extends JFrame implements ActionListener, DataAdapter<String, I
 
     /**
      * Helper method for tokenButton actionPerformed.
-     * Get the text in both text fields and check if any of them are empty.
-     * If so, pop a message dialog saying that they cannot be blank.
-     * Otherwise, update the frame to show the actual game.
+     * Plays the click for the player whose turn it is: places a token on an empty
+     * position, removes an opponent token after a mill, or chooses and moves a token.
+     * Clicks are ignored while the computer is thinking and once the game is over.
      *
      * @param tokenIndex    the index of the desired tokenButton in the array
      *                      returned by getTokenButtons
      */
-    private void tokenButtonAction(int tokenIndex) throws SavedSuccessfully, LoadedSuccessfully, InvalidPositionException, IOException {
-        String gameState = ((HeaderPanel) headerPanel).gameState.getText();
-        TokenButton tokenButton = ((GamePanel) gamePanel).getTokenButtons()[tokenIndex];
-
-        if(gameState.equals(gamePlay.getPlayerName(1) + "'s turn to add a token") & tokenButton.addable){
-            tokenButton.setColour("W");
-            ((TokenPanel) whiteTokenPanel).removeToken();
-
-            int currentPlayerHouses = gamePlay.getPlayerHouses(1);
-            gamePlay.move_token(1, adaptData(tokenIndex));
-            if(gamePlay.playerMadeMill(currentPlayerHouses, 1)){
-                ((HeaderPanel) headerPanel).setGameState(gamePlay.getPlayerName(1) + "'s turn to remove a token");
-            }
-            else{
-                ((HeaderPanel) headerPanel).setGameState(gamePlay.getPlayerName(2) + "'s turn to add a token");
-            }
-            tokenButton.setAddable(false);
-            tokenButton.setRemovable(true);
-            tokenButton.setButtonVisual();
+    private void tokenButtonAction(int tokenIndex) throws IOException {
+        if (session.isGameOver()
+                || !((HeaderPanel) headerPanel).gameState.getText().equals(session.describeTurn())) {
+            return;
         }
-
-        else if(gameState.equals(gamePlay.getPlayerName(2) + "'s turn to add a token") & tokenButton.addable){
-            tokenButton.setColour("B");
-            ((TokenPanel) blackTokenPanel).removeToken();
-
-            int currentPlayerHouses = gamePlay.getPlayerHouses(2);
-            gamePlay.move_token(2, adaptData(tokenIndex));
-            if(gamePlay.playerMadeMill(currentPlayerHouses, 2)){
-                ((HeaderPanel) headerPanel).setGameState(gamePlay.getPlayerName(2) + "'s turn to remove a token");
-            }
-            else{
-                ((HeaderPanel) headerPanel).setGameState(gamePlay.getPlayerName(1) + "'s turn to add a token");
+        TokenButton tokenButton = ((GamePanel) gamePanel).getTokenButtons()[tokenIndex];
+        int playerNum = session.getPlayerToMove();
+        String colour = playerNum == 1 ? "W" : "B";
+
+        if(session.isRemovalPending()){
+            if(tokenButton.removable & tokenButton.colour.equals(playerNum == 1 ? "B" : "W")){
+                String result = session.remove(Position.fromGuiIndex(tokenIndex));
+                if(result.equals("")){
+                    setButtonEmpty(tokenButton);
+                }
+                else{
+                    JOptionPane.showMessageDialog(null, result);
+                }
             }
-            tokenButton.setAddable(false);
-            tokenButton.setRemovable(true);
-            tokenButton.setButtonVisual();
         }
-
-        if(gameState.equals(gamePlay.getPlayerName(1) + "'s turn to remove a token")
-                & tokenButton.removable & tokenButton.colour.equals("B")){
-            tokenButton.setColour("");
-
-            if(gamePlay.remove_token(2, adaptData(tokenIndex)).equals("")){
-                ((HeaderPanel) headerPanel).setGameState(gamePlay.getPlayerName(2) + "'s turn to add a token");
-                tokenButton.setAddable(true);
-                tokenButton.setRemovable(false);
+        else if(session.getPhase(playerNum) == Phase.PLACING){
+            if(tokenButton.addable && session.place(Position.fromGuiIndex(tokenIndex)).equals("")){
+                tokenButton.setColour(colour);
+                ((TokenPanel) (playerNum == 1 ? whiteTokenPanel : blackTokenPanel)).removeToken();
+                tokenButton.setAddable(false);
+                tokenButton.setRemovable(true);
                 tokenButton.setButtonVisual();
             }
-            else{
-                JOptionPane.showMessageDialog(null, gamePlay.remove_token(2, adaptData(tokenIndex)));
-            }
         }
-        else if(gameState.equals(gamePlay.getPlayerName(2) + "'s turn to remove a token")
-                & tokenButton.removable & tokenButton.colour.equals("W")){
-            tokenButton.setColour("");
-
-            if(gamePlay.remove_token(1, adaptData(tokenIndex)).equals("")){
-                ((HeaderPanel) headerPanel).setGameState(gamePlay.getPlayerName(1) + "'s turn to add a token");
-                tokenButton.setAddable(true);
-                tokenButton.setRemovable(false);
-                tokenButton.setButtonVisual();
-            }
-            else{
-                JOptionPane.showMessageDialog(null, gamePlay.remove_token(1, adaptData(tokenIndex)));
-            }
+        else{
+            moveTokenAction(playerNum, tokenIndex);
         }
+        ((HeaderPanel) headerPanel).setGameState(session.describeTurn());
 
         gamePanel.revalidate();
         gamePanel.repaint();
@@ -260,21 +332,165 @@ public class GUI extends JFrame implements ActionListener, DataAdapter<String, I
         this.revalidate();
         this.repaint();
 
-        gamePlay.updateEndOfP1();
-        gamePlay.updateEndOfP1();
-        if(gamePlay.endOfP1 & (tokenButton.addable | tokenButton.removable)){
+        checkTurnEnd();
+    }
+
+    /**
+     * Ends the game once it is over. Otherwise starts the computer's turn if it is
+     * next, and not while a player still has to remove a token.
+     */
+    private void checkTurnEnd() throws IOException {
+        if(session.isGameOver()){
             endGame();
         }
+        else if(!session.isRemovalPending() && session.getPlayerToMove() == computerPlayerNum){
+            startComputerTurn();
+        }
+    }
+
+    /**
+     * Searches for the computer player's move on a background thread, so the window
+     * stays responsive, then plays it. Clicks on the board are ignored meanwhile,
+     * since the header does not show any player's turn.
+     */
+    private void startComputerTurn(){
+        int playerNum = computerPlayerNum;
+        Ponderer search = computerSearch;
+        ((HeaderPanel) headerPanel).setGameState(session.getPlayerName(playerNum) + " is thinking");
+        new SwingWorker<Integer, Void>() {
+            @Override
+            protected Integer doInBackground() {
+                return session.findComputerMove(search);
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    playComputerMove(playerNum, get());
+                } catch (InterruptedException | ExecutionException | IOException e) {
+                    e.printStackTrace();
+                    computerTurnFailed("The computer could not find a move: " + e.getMessage());
+                }
+            }
+        }.execute();
+    }
+
+    /**
+     * Helper method for startComputerTurn. Shows the turn again in the header, so the
+     * board takes clicks and the computer's move can be played by hand, and tells the
+     * user why.
+     *
+     * @param message       why the computer did not move
+     */
+    private void computerTurnFailed(String message){
+        ((HeaderPanel) headerPanel).setGameState(session.describeTurn());
+        JOptionPane.showMessageDialog(null, message + "\nPlease make its move.");
+    }
+
+    /**
+     * Helper method for startComputerTurn. Plays the computer's move, including
+     * the removal of a token when it forms a mill, and updates the token buttons.
+     *
+     * @param playerNum     the player played by the computer
+     * @param move          encoded Move found by the search
+     */
+    private void playComputerMove(int playerNum, int move) throws IOException {
+        if(move == Move.NONE){
+            ((HeaderPanel) headerPanel).setGameState(session.describeTurn());
+            checkTurnEnd();
+            return;
+        }
+        String result = session.play(move);
+        if(!result.equals("")){
+            computerTurnFailed("The computer's move was refused: " + result);
+            return;
+        }
+
+        TokenButton[] tokenButtons = ((GamePanel) gamePanel).getTokenButtons();
+        String colour = playerNum == 1 ? "W" : "B";
+        if(Move.isPlacement(move)){
+            ((TokenPanel) (playerNum == 1 ? whiteTokenPanel : blackTokenPanel)).removeToken();
+        }
+        else{
+            setButtonEmpty(tokenButtons[Position.of(Move.from(move)).guiIndex()]);
+        }
+        TokenButton toButton = tokenButtons[Position.of(Move.to(move)).guiIndex()];
+        toButton.setColour(colour);
+        toButton.setAddable(false);
+        toButton.setRemovable(true);
+        toButton.setButtonVisual();
+        if(Move.hasRemoval(move)){
+            setButtonEmpty(tokenButtons[Position.of(Move.removed(move)).guiIndex()]);
+        }
+
+        ((HeaderPanel) headerPanel).setGameState(session.describeTurn());
+        this.revalidate();
+        this.repaint();
+        checkTurnEnd();
+        if(!session.isGameOver()){
+            // returns at once; the search runs on its own thread until the human has moved
+            computerSearch.startPondering(session.getState());
+        }
+    }
+
+    private void setButtonEmpty(TokenButton button){
+        button.setColour("");
+        button.setAddable(true);
+        button.setRemovable(false);
+        button.setButtonVisual();
+    }
+
+    /**
+     * Helper method for tokenButtonAction in the moving phase.
+     * A click on one of the player's own tokens chooses it to be moved, and
+     * a following click on another position tries to move the chosen token there.
+     *
+     * @param playerNum     the player whose turn it is
+     * @param tokenIndex    the index of the clicked tokenButton in the array
+     *                      returned by getTokenButtons
+     */
+    private void moveTokenAction(int playerNum, int tokenIndex){
+        TokenButton[] tokenButtons = ((GamePanel) gamePanel).getTokenButtons();
+        String colour = playerNum == 1 ? "W" : "B";
+
+        if(tokenButtons[tokenIndex].colour.equals(colour)){
+            selectedTokenIndex = tokenIndex;
+            return;
+        }
+        if(selectedTokenIndex < 0){
+            JOptionPane.showMessageDialog(null, "Choose one of your tokens to move first");
+            return;
+        }
+
+        String result = session.slide(Position.fromGuiIndex(selectedTokenIndex), Position.fromGuiIndex(tokenIndex));
+        if(result.equals("")){
+            TokenButton fromButton = tokenButtons[selectedTokenIndex];
+            fromButton.setColour("");
+            fromButton.setAddable(true);
+            fromButton.setRemovable(false);
+            fromButton.setButtonVisual();
+
+            TokenButton toButton = tokenButtons[tokenIndex];
+            toButton.setColour(colour);
+            toButton.setAddable(false);
+            toButton.setRemovable(true);
+            toButton.setButtonVisual();
+        }
+        else{
+            JOptionPane.showMessageDialog(null, result);
+        }
+        selectedTokenIndex = -1;
     }
 
     private void endGame() throws IOException {
+        shutdownComputerSearch();
         TokenButton[] tokenButtons = ((GamePanel) gamePanel).getTokenButtons();
         for (TokenButton button : tokenButtons) {
             button.setAddable(false);
             button.setRemovable(false);
             button.setCursor(Cursor.getPredefinedCursor(Cursor.DEFAULT_CURSOR));
         }
-        String winner = gamePlay.getWinner();
+        String winner = session.getWinner();
         ((HeaderPanel) headerPanel).setGameState(winner);
 
         if(!winner.equals("It's a Tie")){
@@ -309,6 +525,15 @@ public class GUI extends JFrame implements ActionListener, DataAdapter<String, I
 
         this.revalidate();
         this.repaint();
+
+        computerPlayerNum = ((LoginPanel) loginPanel).isComputerOpponent() ? 2 : 0;
+        if(computerPlayerNum != 0){
+            startComputerSearch();
+        }
+        if(computerPlayerNum != 0 && !session.isGameOver() && !session.isRemovalPending()
+                && session.getPlayerToMove() == computerPlayerNum){
+            startComputerTurn();
+        }
     }
 
     public void goToLeaderboardFrame() {
@@ -326,8 +551,8 @@ public class GUI extends JFrame implements ActionListener, DataAdapter<String, I
     }
 
     public void setLoadedGameBoard(){
-        ArrayList<String> whiteTokenCoord = gamePlay.getTokenCoordinates("W");
-        ArrayList<String> blackTokenCoord = gamePlay.getTokenCoordinates("B");
+        List<String> whiteTokenCoord = session.getTokenCoordinates("W");
+        List<String> blackTokenCoord = session.getTokenCoordinates("B");
 
         TokenButton[] tokenButtons = ((GamePanel) gamePanel).getTokenButtons();
 
@@ -352,6 +577,7 @@ public class GUI extends JFrame implements ActionListener, DataAdapter<String, I
      * used in the constructor.
      */
     private void restart() {
+        shutdownComputerSearch();
         this.remove(leaderboardPanel);
         this.remove(gamePanelWrapper);
         this.remove(headerPanel);
@@ -368,41 +594,13 @@ public class GUI extends JFrame implements ActionListener, DataAdapter<String, I
 
     /**
      * Convert between the button indexing format used in GUI ([0-23])
-     * to the one used in gamePlay ([A-C][1-8]).
+     * to the one used by the game ([A-C][1-8]).
      *
-     * @param data index in the list of button stored in gamePlay
+     * @param data index in the list of button stored in gamePanel
      * @return String of the button's position in the [A-C][1-8] format
      */
     @Override
     public String adaptData(Integer data) {
-        HashMap<Integer, String> guiDataToGameData = new HashMap<>();
-        guiDataToGameData.put(0, "A1");
-        guiDataToGameData.put(1, "A2");
-        guiDataToGameData.put(2, "A3");
-        guiDataToGameData.put(9, "A4");
-        guiDataToGameData.put(14, "A5");
-        guiDataToGameData.put(21, "A6");
-        guiDataToGameData.put(22, "A7");
-        guiDataToGameData.put(23, "A8");
-
-        guiDataToGameData.put(3, "B1");
-        guiDataToGameData.put(4, "B2");
-        guiDataToGameData.put(5, "B3");
-        guiDataToGameData.put(10, "B4");
-        guiDataToGameData.put(13, "B5");
-        guiDataToGameData.put(18, "B6");
-        guiDataToGameData.put(19, "B7");
-        guiDataToGameData.put(20, "B8");
-
-        guiDataToGameData.put(6, "C1");
-        guiDataToGameData.put(7, "C2");
-        guiDataToGameData.put(8, "C3");
-        guiDataToGameData.put(11, "C4");
-        guiDataToGameData.put(12, "C5");
-        guiDataToGameData.put(15, "C6");
-        guiDataToGameData.put(16, "C7");
-        guiDataToGameData.put(17, "C8");
-
-        return guiDataToGameData.get(data);
+        return Position.fromGuiIndex(data).name();
     }
 }
\ No newline at end of file
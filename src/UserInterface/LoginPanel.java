@@ -6,6 +6,7 @@ import java.awt.*;
 public class LoginPanel extends JPanel {
     JLabel player1Label, player2Label, loadGameLabel, dividerLabel;
     JTextField player1TextField, player2TextField;
+    JCheckBox computerCheckBox;
     DefaultButton continueButton, loadButton;
 
     public LoginPanel(){
@@ -16,6 +17,7 @@ public class LoginPanel extends JPanel {
 
         player2Label = new JLabel("Enter Player 2's username:");
         player2TextField = new JTextField();
+        computerCheckBox = new JCheckBox("Player 2 is the computer");
 
         continueButton = new DefaultButton(Color.decode("#FF1B3A"), 20, 65, 250, "CONTINUE");
 
@@ -51,6 +53,10 @@ public class LoginPanel extends JPanel {
         player2TextField.setMaximumSize(new Dimension(350, 30));
         player2TextField.setAlignmentX(Component.CENTER_ALIGNMENT);
 
+        computerCheckBox.setFont(new Font("Segoe UI Light", Font.PLAIN, 20));
+        computerCheckBox.setBackground(Color.white);
+        computerCheckBox.setAlignmentX(Component.CENTER_ALIGNMENT);
+
         loadGameLabel.setBounds(50,150,100,25);
         loadGameLabel.setFont(new Font("Segoe UI Light", Font.PLAIN, 25));
         loadGameLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
@@ -70,7 +76,9 @@ public class LoginPanel extends JPanel {
         this.add(player2Label);
         this.add(Box.createRigidArea(new Dimension(0, 10)));
         this.add(player2TextField);
-        this.add(Box.createRigidArea(new Dimension(0, 50)));
+        this.add(Box.createRigidArea(new Dimension(0, 10)));
+        this.add(computerCheckBox);
+        this.add(Box.createRigidArea(new Dimension(0, 30)));
         this.add(continueButton);
         this.add(Box.createRigidArea(new Dimension(0, 30)));
         this.add(dividerLabel);
@@ -106,4 +114,12 @@ public class LoginPanel extends JPanel {
             return "";
         }
     }
+
+    /**
+     * Returns whether player 2 should be played by the computer
+     * @return true if the computer checkbox is ticked
+     */
+    public boolean isComputerOpponent(){
+        return computerCheckBox.isSelected();
+    }
 }
@@ -0,0 +1,103 @@
+import Controller.GamePlay1;
+import Entity.BitBoard;
+import Entity.BoardState;
+import Entity.Move;
+import Entity.Position;
+import UseCases.AlphaBetaSearch;
+import UseCases.MoveGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AlphaBetaSearchTest {
+
+    private static int mask(Position... positions) {
+        int mask = 0;
+        for (Position position : positions) {
+            mask |= position.mask();
+        }
+        return mask;
+    }
+
+    @Test
+    void completesMillAndRemovesInOneMove() {
+        // white to place with A1 and A2 down; closing the mill with A3 also removes a black token
+        BitBoard board = new BitBoard(mask(Position.A1, Position.A2), mask(Position.B4, Position.C7));
+        BoardState state = new BoardState(board, 7, 7, BitBoard.WHITE);
+        int move = new AlphaBetaSearch(1000).findBestMove(state, 2);
+        assertEquals(Position.A3.index(), Move.to(move));
+        assertTrue(Move.hasRemoval(move));
+        assertTrue(MoveGenerator.isLegal(state, move));
+    }
+
+    @Test
+    void findsWinningRemoval() {
+        // black is down to three tokens; white slides B3 to B2 to form A2-B2-C2 and takes black below three
+        BitBoard board = new BitBoard(mask(Position.A2, Position.C2, Position.B3, Position.A6, Position.C6),
+                mask(Position.A8, Position.B8, Position.C8));
+        BoardState state = new BoardState(board, 0, 0, BitBoard.WHITE);
+        AlphaBetaSearch search = new AlphaBetaSearch(1000);
+        int move = search.findBestMove(state, 3);
+        assertEquals("B3-B2", Move.toText(move).substring(0, 5));
+        assertTrue(search.getBestScore() > AlphaBetaSearch.WIN_SCORE - AlphaBetaSearch.MAX_DEPTH);
+        // the search leaves its argument unchanged
+        assertEquals(mask(Position.A2, Position.C2, Position.B3, Position.A6, Position.C6), board.getMask(0));
+    }
+
+    @Test
+    void noMoveWhenLost() {
+        BitBoard board = new BitBoard(mask(Position.A1, Position.A2), mask(Position.B4, Position.C7, Position.C8));
+        assertEquals(Move.NONE, new AlphaBetaSearch(1000).findBestMove(new BoardState(board, 0, 0, BitBoard.WHITE)));
+    }
+
+    @Test
+    void respectsTimeBudget() {
+        AlphaBetaSearch search = new AlphaBetaSearch(200);
+        long start = System.currentTimeMillis();
+        int move = search.findBestMove(new BoardState());
+        assertTrue(System.currentTimeMillis() - start < 2000);
+        assertTrue(search.getCompletedDepth() >= 1);
+        assertTrue(Move.isPlacement(move));
+    }
+
+    @Test
+    void listenerHearsEveryIteration() {
+        AlphaBetaSearch search = new AlphaBetaSearch(10000);
+        List<Integer> depths = new ArrayList<>();
+        int[] lastMove = {Move.NONE};
+        search.setListener((depth, score, nodes, bestMove) -> {
+            depths.add(depth);
+            lastMove[0] = bestMove;
+            assertTrue(nodes > 0);
+        });
+        int move = search.findBestMove(new BoardState(), 4);
+        assertEquals(List.of(1, 2, 3, 4), depths);
+        assertEquals(move, lastMove[0]);
+    }
+
+    @Test
+    void computerPlaysThroughGamePlay() {
+        GamePlay1 gamePlay = new GamePlay1();
+        gamePlay.setPlayers("Human", "Computer");
+        gamePlay.move_token(1, "A1");
+        gamePlay.move_token(2, "B4");
+        gamePlay.move_token(1, "A2");
+        AlphaBetaSearch search = new AlphaBetaSearch(500);
+
+        // black blocks the mill at A3
+        int move = gamePlay.findComputerMove(2, search);
+        assertEquals(Position.A3.index(), Move.to(move));
+        assertEquals("", gamePlay.play_move(2, move));
+        assertEquals(7, gamePlay.playerManager.getTokensRemaining(2));
+
+        // a compound move places the token and removes the opponent's token
+        gamePlay.move_token(1, "A4");
+        gamePlay.move_token(2, "C7");
+        assertEquals("", gamePlay.play_move(1, Move.parse("A6xC7")));
+        assertEquals(1, gamePlay.getPlayerHouses(1));
+        assertEquals(mask(Position.A3, Position.B4), gamePlay.toBoardState(2).getBoard().getMask(BitBoard.BLACK));
+    }
+}
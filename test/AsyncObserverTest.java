@@ -0,0 +1,199 @@
+import Entity.BoardEvent;
+import Entity.GameBoard;
+import Entity.Position;
+import Entity.Token;
+import Interfaces.BatchObserver;
+import UseCases.AsyncObserver;
+import UseCases.CheckMill;
+import UseCases.GameBoardManipulator;
+import UseCases.GameBoardPlacer;
+import UseCases.GameBoardRemover;
+import UseCases.TokenTracker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncObserverTest {
+    private static final Token WHITE = new Token("alice", "W");
+
+    private TokenTracker tracker;
+    private GameBoardManipulator gbm;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new TokenTracker();
+        gbm = new GameBoardManipulator(new GameBoardPlacer(), new GameBoardRemover(), new CheckMill());
+        gbm.register(tracker);
+    }
+
+    // batch observer that records what it is given, and can be held inside its first call
+    private static final class Recorder implements BatchObserver {
+        final List<String> events = new ArrayList<>();
+        final List<Integer> batchSizes = new ArrayList<>();
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release;
+
+        Recorder(boolean held) {
+            release = new CountDownLatch(held ? 1 : 0);
+        }
+
+        @Override
+        public void update(List<BoardEvent> batch) {
+            synchronized (this) {
+                batchSizes.add(batch.size());
+                for (BoardEvent event : batch) {
+                    events.add((event.isPlacement() ? "+" : "-") + event.getPosition());
+                }
+            }
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public synchronized void update(Position position, Token playerToken) {
+            fail("a BatchObserver is given batches");
+        }
+
+        @Override
+        public synchronized void update(Position position) {
+            fail("a BatchObserver is given batches");
+        }
+    }
+
+    @Test
+    void slowObserverDoesNotHoldUpMovesAndGetsBatches() throws Exception {
+        Recorder recorder = new Recorder(true);
+        gbm.registerAsync(recorder);
+        gbm.notifyObservers(Position.A1, WHITE);
+        recorder.entered.await();
+
+        // the observer is stuck in its first call, yet moves go on and the synchronous tracker keeps up
+        GameBoard gb = tracker.getGameBoard();
+        gbm.placeToken(Position.B1, WHITE, gb);
+        gbm.placeToken(Position.B2, WHITE, gb);
+        gbm.slideToken(Position.B2, Position.B3, WHITE, gb, false);
+        assertSame(WHITE, tracker.getToken(Position.B3));
+
+        recorder.release.countDown();
+        gbm.awaitAsyncObservers();
+        synchronized (recorder) {
+            assertEquals(List.of("+A1", "+B1", "+B2", "-B2", "+B3"), recorder.events);
+            assertEquals(List.of(1, 4), recorder.batchSizes);
+        }
+    }
+
+    @Test
+    void plainObserverIsUpdatedOffTheGameThread() throws InterruptedException {
+        TokenTracker asyncTracker = new TokenTracker();
+        gbm.registerAsync(asyncTracker);
+        for (Position position : Position.values()) {
+            gbm.notifyObservers(position, WHITE);
+        }
+        gbm.notifyObservers(Position.C8);
+        gbm.awaitAsyncObservers();
+        assertSame(WHITE, asyncTracker.getToken(Position.A1));
+        assertNull(asyncTracker.getToken(Position.C8));
+
+        // unregistering delivers what is waiting, then stops the updates
+        gbm.notifyObservers(Position.A1);
+        gbm.unregister(asyncTracker);
+        gbm.notifyObservers(Position.C8, WHITE);
+        assertNull(asyncTracker.getToken(Position.A1));
+        assertNull(asyncTracker.getToken(Position.C8));
+    }
+
+    @Test
+    void deliveryIsQueuedOnlyWhenThereAreEvents() throws InterruptedException {
+        List<Runnable> queued = new ArrayList<>();
+        TokenTracker asyncTracker = new TokenTracker();
+        AsyncObserver observer = new AsyncObserver(asyncTracker, 8, AsyncObserver.OverflowPolicy.BLOCK, queued::add);
+        assertTrue(queued.isEmpty());
+
+        // one task delivers both events, and none is queued once they are delivered
+        observer.publish(Position.A1, WHITE);
+        observer.publish(Position.A2, WHITE);
+        assertEquals(1, queued.size());
+        queued.remove(0).run();
+        observer.awaitDelivery();
+        assertSame(WHITE, asyncTracker.getToken(Position.A2));
+        assertTrue(queued.isEmpty());
+    }
+
+    @Test
+    void closeDeliversWhatIsWaitingThenStops() {
+        TokenTracker asyncTracker = new TokenTracker();
+        gbm.registerAsync(asyncTracker);
+        gbm.notifyObservers(Position.A1, WHITE);
+        gbm.close();
+        assertSame(WHITE, asyncTracker.getToken(Position.A1));
+        gbm.notifyObservers(Position.A2, WHITE);
+        assertNull(asyncTracker.getToken(Position.A2));
+        // the synchronous tracker is still updated
+        assertSame(WHITE, tracker.getToken(Position.A2));
+    }
+
+    @Test
+    void dropPolicyCountsDroppedEvents() throws InterruptedException {
+        Recorder recorder = new Recorder(true);
+        AsyncObserver observer = gbm.registerAsync(recorder, 4, AsyncObserver.OverflowPolicy.DROP);
+        gbm.notifyObservers(Position.A1, WHITE);
+        recorder.entered.await();
+        for (int i = 0; i < 9; i++) {
+            gbm.notifyObservers(Position.A2, WHITE);
+        }
+        // A1 still holds its slot until the observer returns, so three more fit
+        assertEquals(6, observer.getDropped());
+        recorder.release.countDown();
+        gbm.awaitAsyncObservers();
+        synchronized (recorder) {
+            assertEquals(4, recorder.events.size());
+        }
+    }
+
+    @Test
+    void failPolicyThrowsWhenFull() throws InterruptedException {
+        Recorder recorder = new Recorder(true);
+        gbm.registerAsync(recorder, 2, AsyncObserver.OverflowPolicy.FAIL);
+        gbm.notifyObservers(Position.A1, WHITE);
+        recorder.entered.await();
+        gbm.notifyObservers(Position.A2, WHITE);
+        assertThrows(IllegalStateException.class, () -> gbm.notifyObservers(Position.A3, WHITE));
+        recorder.release.countDown();
+    }
+
+    @Test
+    void blockPolicyWaitsForTheObserver() throws InterruptedException {
+        Recorder recorder = new Recorder(true);
+        gbm.registerAsync(recorder, 2, AsyncObserver.OverflowPolicy.BLOCK);
+        gbm.notifyObservers(Position.A1, WHITE);
+        recorder.entered.await();
+        Thread releaser = new Thread(() -> {
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            recorder.release.countDown();
+        });
+        long start = System.nanoTime();
+        releaser.start();
+        for (int i = 0; i < 10; i++) {
+            gbm.notifyObservers(Position.A2, WHITE);
+        }
+        assertTrue(System.nanoTime() - start >= 150000000L);
+        gbm.awaitAsyncObservers();
+        synchronized (recorder) {
+            assertEquals(11, recorder.events.size());
+        }
+        releaser.join();
+    }
+}
@@ -0,0 +1,29 @@
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Thread counts the benchmarks measure: 1, 2, 4, ... up to the largest power of two below maxThreads, then maxThreads
+ * itself, each once.
+ */
+class BenchmarkThreads {
+    private BenchmarkThreads() {
+    }
+
+    /**
+     * @param args benchmark arguments; the first one, if any, is the largest thread count
+     * @return thread counts in increasing order, up to the first argument or else the number of cores
+     */
+    static List<Integer> counts(String[] args) {
+        int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        if (maxThreads < 1) {
+            throw new IllegalArgumentException("Thread count must be positive");
+        }
+        List<Integer> counts = new ArrayList<>();
+        for (int threads = 1; ; threads = Math.min(threads * 2, maxThreads)) {
+            counts.add(threads);
+            if (threads == maxThreads) {
+                return counts;
+            }
+        }
+    }
+}
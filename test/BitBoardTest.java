@@ -0,0 +1,53 @@
+import Entity.BitBoard;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BitBoardTest {
+    BitBoard board;
+
+    @BeforeEach
+    void setUp() { board = new BitBoard(); }
+
+    @Test
+    void placeAndRemove() {
+        board.place(BitBoard.WHITE, 0);
+        board.place(BitBoard.BLACK, 23);
+        assertEquals(BitBoard.WHITE, board.sideAt(0));
+        assertEquals(BitBoard.BLACK, board.sideAt(23));
+        assertEquals(BitBoard.NO_SIDE, board.sideAt(5));
+        assertEquals(22, board.emptyCount());
+
+        board.remove(0);
+        assertTrue(board.isEmpty(0));
+        assertEquals(0, board.getMask(BitBoard.WHITE));
+        assertEquals(1 << 23, board.getOccupiedMask());
+    }
+
+    @Test
+    void count() {
+        for (int i = 0; i < 9; i++) {
+            board.place(BitBoard.WHITE, i);
+        }
+        board.place(BitBoard.BLACK, 20);
+        assertEquals(9, board.count(BitBoard.WHITE));
+        assertEquals(1, board.count(BitBoard.BLACK));
+        assertEquals(BitBoard.FULL_MASK & ~0x1001FF, board.getEmptyMask());
+    }
+
+    @Test
+    void copy() {
+        board.place(BitBoard.WHITE, 3);
+        BitBoard copy = board.copy();
+        assertEquals(board, copy);
+
+        // copies must not share occupancy masks
+        copy.place(BitBoard.BLACK, 4);
+        assertTrue(board.isEmpty(4));
+
+        board.copyFrom(copy);
+        assertEquals(copy, board);
+    }
+
+}
@@ -0,0 +1,92 @@
+import Entity.GameBoard;
+import Entity.Position;
+import UseCases.CheckMill;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares the per-move cost of the table driven CheckMill.checkMill2 against the previous implementation, which built
+ * the 16 mill lines as lists of strings on every call. Run with the main method; not part of the unit tests.
+ */
+public class CheckMillBenchmark {
+    private static final String[][] LEGACY_LINES = {
+            {"A1", "A2", "A3"}, {"B1", "B2", "B3"}, {"C1", "C2", "C3"}, {"A1", "A4", "A6"}, {"B1", "B4", "B6"},
+            {"C1", "C4", "C6"}, {"A3", "A5", "A8"}, {"B3", "B5", "B8"}, {"C3", "C5", "C8"}, {"A6", "A7", "A8"},
+            {"B6", "B7", "B8"}, {"C6", "C7", "C8"}, {"A2", "B2", "C2"}, {"A4", "B4", "C4"}, {"A7", "B7", "C7"},
+            {"A5", "B5", "C5"}
+    };
+
+    // the old checkMill2: builds every mill line as a fresh list, then scans all of them
+    static boolean legacyCheckMill2(String position, String colour, GameBoard gameboard) {
+        List<List<String>> combinations = new ArrayList<>();
+        for (String[] line : LEGACY_LINES) {
+            List<String> innerList = new ArrayList<>();
+            for (String p : line) {
+                innerList.add(p);
+            }
+            combinations.add(innerList);
+        }
+        for (List<String> lo : combinations) {
+            if (lo.contains(position)) {
+                boolean found = false;
+                for (String o : lo) {
+                    String token = gameboard.getTokenAtPosition(o);
+                    if (token == null || !token.equals(colour)) {
+                        found = false;
+                        break;
+                    }
+                    found = true;
+                }
+                if (found) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    public static void main(String[] args) {
+        int boards = 256;
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        Random random = new Random(42);
+        GameBoard[] gameBoards = new GameBoard[boards];
+        Position[] positions = new Position[boards];
+        for (int b = 0; b < boards; b++) {
+            gameBoards[b] = new GameBoard();
+            for (int i = 0; i < 24; i++) {
+                int r = random.nextInt(3);
+                if (r > 0) {
+                    gameBoards[b].setToken(r == 1 ? "W" : "B", Position.of(i));
+                }
+            }
+            positions[b] = Position.of(random.nextInt(24));
+        }
+        CheckMill checkMill = new CheckMill();
+
+        for (int round = 0; round < 3; round++) {
+            int hits = 0;
+            long start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                int b = i & (boards - 1);
+                if (legacyCheckMill2(positions[b].name(), "W", gameBoards[b])) {
+                    hits++;
+                }
+            }
+            long legacy = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                int b = i & (boards - 1);
+                if (checkMill.checkMill2(positions[b], "W", gameBoards[b])) {
+                    hits--;
+                }
+            }
+            long table = System.nanoTime() - start;
+
+            System.out.printf("round %d: legacy %.1f ns/call, table driven %.1f ns/call (check %d)%n", round,
+                    (double) legacy / iterations, (double) table / iterations, hits);
+        }
+    }
+}
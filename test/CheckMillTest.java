@@ -0,0 +1,113 @@
+import Entity.GameBoard;
+import Entity.Position;
+import UseCases.CheckMill;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CheckMillTest {
+    GameBoard gameBoard;
+    CheckMill checkMill;
+
+    @BeforeEach
+    void setUp() {
+        gameBoard = new GameBoard();
+        checkMill = new CheckMill();
+    }
+
+    @Test
+    void checkMill2() {
+        gameBoard.setToken("W", "A2");
+        gameBoard.setToken("W", "B2");
+        assertFalse(checkMill.checkMill2(Position.A2, "W", gameBoard));
+
+        // spoke mill A2 B2 C2
+        gameBoard.setToken("W", "C2");
+        assertTrue(checkMill.checkMill2(Position.B2, "W", gameBoard));
+        assertFalse(checkMill.checkMill2(Position.B2, "B", gameBoard));
+
+        // position not on the mill line
+        assertFalse(checkMill.checkMill2(Position.B1, "W", gameBoard));
+    }
+
+    @Test
+    void checkMillAgreesWithLegacy() {
+        // every position on a board filled with alternating colours, plus a few full lines
+        String[] colours = {"W", "B"};
+        for (int i = 0; i < 24; i++) {
+            gameBoard.setToken(colours[(i / 3) % 2], Position.of(i));
+        }
+        for (int i = 0; i < 24; i++) {
+            Position position = Position.of(i);
+            for (String colour : colours) {
+                assertEquals(CheckMillBenchmark.legacyCheckMill2(position.name(), colour, gameBoard),
+                        checkMill.checkMill2(position, colour, gameBoard), position + colour);
+            }
+        }
+    }
+
+    @Test
+    void checkMill() throws Exception {
+        gameBoard.setToken("B", "C3");
+        gameBoard.setToken("B", "C5");
+        gameBoard.setToken("B", "C8");
+        checkMill.checkMill(Position.C8, "B", gameBoard);
+        assertEquals(1, checkMill.getPlayerHouses(2));
+        assertEquals(0, checkMill.getPlayerHouses(1));
+        assertTrue(checkMill.getPlayerHousesIndexes("B").containsAll(java.util.List.of("C3", "C5", "C8")));
+    }
+
+    @Test
+    void millBookkeeping() throws Exception {
+        // two white mills sharing A1: A1 A2 A3 and A1 A4 A6
+        for (String position : new String[]{"A2", "A3", "A4", "A6", "A1"}) {
+            gameBoard.setToken("W", position);
+        }
+        checkMill.checkMill(Position.A1, "W", gameBoard);
+        assertEquals(2, checkMill.getPlayerHouses(1));
+        assertEquals(5, checkMill.getTokensInMills(1));
+        assertTrue(checkMill.isInMill(Position.A6));
+        assertFalse(checkMill.isInMill(Position.B1));
+
+        // checking the same position again must not count the mills twice
+        checkMill.checkMill(Position.A1, "W", gameBoard);
+        assertEquals(2, checkMill.getPlayerHouses(1));
+        assertEquals(5, checkMill.getTokensInMills(1));
+
+        // removing the shared token breaks both mills
+        checkMill.removeTokenFromMill(Position.A1, 1);
+        gameBoard.removeToken("A1");
+        assertEquals(0, checkMill.getPlayerHouses(1));
+        assertEquals(0, checkMill.getTokensInMills(1));
+        assertFalse(checkMill.isInMill(Position.A2));
+
+        // removing a token from one of two mills only breaks that mill
+        gameBoard.setToken("W", "A1");
+        checkMill.checkMill(Position.A1, "W", gameBoard);
+        checkMill.tokenRemoved(Position.A6);
+        gameBoard.removeToken("A6");
+        assertEquals(1, checkMill.getPlayerHouses(1));
+        assertEquals(3, checkMill.getTokensInMills(1));
+        assertTrue(checkMill.isInMill(Position.A1));
+        assertFalse(checkMill.isInMill(Position.A4));
+    }
+
+    @Test
+    void millsFormedCountsEveryNewMill() throws Exception {
+        for (String position : new String[]{"A1", "A2", "A3", "B4", "C4"}) {
+            gameBoard.setToken("W", position);
+        }
+        checkMill.checkMill(Position.A3, "W", gameBoard);
+        assertEquals(1, checkMill.getMillsFormed(1));
+
+        // sliding A1 to A4 breaks A1 A2 A3 and forms A4 B4 C4: the standing count stays
+        // the same but a new mill was formed
+        checkMill.tokenRemoved(Position.A1);
+        gameBoard.removeToken("A1");
+        gameBoard.setToken("W", "A4");
+        checkMill.checkMill(Position.A4, "W", gameBoard);
+        assertEquals(1, checkMill.getPlayerHouses(1));
+        assertEquals(2, checkMill.getMillsFormed(1));
+    }
+}
@@ -0,0 +1,65 @@
+import Controller.GameActor;
+import Controller.GameSession;
+import Entity.BoardState;
+import UseCases.MoveGenerator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Measures moves per second of random games played through GameActors sharing one scheduler, from 1 thread up to the
+ * number of cores, or the thread count given as the first argument. Every game gets all its moves queued at once, put
+ * waiting whenever its mailbox is full. Run with the main method; not part of the unit tests.
+ */
+public class GameActorBenchmark {
+    private static final int GAMES = 2000;
+    private static final int PLIES = 200;
+
+    public static void main(String[] args) throws ExecutionException, InterruptedException {
+        // warm up the JIT
+        measure(1);
+
+        System.out.println("threads  moves/sec");
+        for (int threads : BenchmarkThreads.counts(args)) {
+            System.out.printf("%7d  %9.0f%n", threads, measure(threads));
+        }
+    }
+
+    private static double measure(int threads) throws ExecutionException, InterruptedException {
+        ForkJoinPool scheduler = GameActor.newScheduler(threads);
+        List<GameActor> actors = new ArrayList<>(GAMES);
+        for (int g = 0; g < GAMES; g++) {
+            actors.add(new GameActor(new GameSession("w" + g, "b" + g), scheduler, GameActor.DEFAULT_MAILBOX_CAPACITY));
+        }
+        long start = System.nanoTime();
+        List<CompletableFuture<Integer>> counts = new ArrayList<>(GAMES * PLIES);
+        for (int ply = 0; ply < PLIES; ply++) {
+            for (int g = 0; g < GAMES; g++) {
+                SplittableRandom random = new SplittableRandom(g * 1000L + ply);
+                counts.add(actors.get(g).put(game -> playRandomMove(game, random)));
+            }
+        }
+        long moves = 0;
+        for (CompletableFuture<Integer> count : counts) {
+            moves += count.get();
+        }
+        long nanos = System.nanoTime() - start;
+        scheduler.shutdown();
+        return moves * 1e9 / nanos;
+    }
+
+    // plays a random move; returns the number of moves played
+    private static int playRandomMove(GameSession game, SplittableRandom random) {
+        if (game.isGameOver()) {
+            return 0;
+        }
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        BoardState state = game.getState();
+        game.play(moves[random.nextInt(MoveGenerator.generateMoves(state, moves))]);
+        return 1;
+    }
+}
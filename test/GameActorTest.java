@@ -0,0 +1,161 @@
+import Controller.GameActor;
+import Controller.GameSession;
+import Entity.BoardState;
+import UseCases.MoveGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameActorTest {
+    private final ForkJoinPool scheduler = GameActor.newScheduler(4);
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    // plays one random move of the side to move; returns false once the game is over
+    private static boolean playRandomMove(GameSession game, SplittableRandom random) {
+        if (game.isGameOver()) {
+            return false;
+        }
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        BoardState state = game.getState();
+        assertEquals("", game.play(moves[random.nextInt(MoveGenerator.generateMoves(state, moves))]));
+        return true;
+    }
+
+    @Test
+    void runsCommandsInOrder() throws ExecutionException, InterruptedException {
+        GameActor actor = new GameActor(new GameSession("alice", "bob"), scheduler, 100);
+        List<CompletableFuture<Integer>> turns = new ArrayList<>();
+        SplittableRandom random = new SplittableRandom(1);
+        for (int i = 0; i < 10; i++) {
+            actor.offer(game -> playRandomMove(game, random));
+            turns.add(actor.offer(GameSession::getPlayerToMove));
+        }
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i % 2 == 0 ? 2 : 1, (int) turns.get(i).get());
+        }
+        BoardState state = actor.getState().get();
+        assertEquals(8, state.getInHand(0) + state.getInHand(1));
+    }
+
+    @Test
+    void playersAndSpectatorsShareAGameWithoutLocks() throws InterruptedException {
+        GameActor actor = new GameActor(new GameSession("alice", "bob"), scheduler, 8);
+        AtomicInteger played = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int player = 0; player < 2; player++) {
+            SplittableRandom random = new SplittableRandom(player);
+            threads.add(new Thread(() -> {
+                try {
+                    for (int i = 0; i < 200; i++) {
+                        if (actor.put(game -> playRandomMove(game, random)).get()) {
+                            played.incrementAndGet();
+                        }
+                    }
+                } catch (InterruptedException | ExecutionException e) {
+                    failures.incrementAndGet();
+                }
+            }));
+        }
+        for (int spectator = 0; spectator < 4; spectator++) {
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 500; i++) {
+                    // a full mailbox turns spectators away rather than queueing them
+                    actor.getState().exceptionally(e -> {
+                        if (!(e instanceof RejectedExecutionException)) {
+                            failures.incrementAndGet();
+                        }
+                        return null;
+                    });
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(0, failures.get());
+        assertTrue(played.get() > 0);
+    }
+
+    @Test
+    void fullMailboxPushesBack() throws Exception {
+        // a scheduler that holds drains back until told to run them
+        List<Runnable> held = Collections.synchronizedList(new ArrayList<>());
+        GameActor actor = new GameActor(new GameSession("alice", "bob"), held::add, 3);
+        List<CompletableFuture<Integer>> accepted = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            accepted.add(actor.offer(GameSession::getPlayerToMove));
+        }
+        CompletableFuture<Integer> refused = actor.offer(GameSession::getPlayerToMove);
+        ExecutionException e = assertThrows(ExecutionException.class, refused::get);
+        assertTrue(e.getCause() instanceof RejectedExecutionException);
+        assertEquals(3, actor.getQueuedCommands());
+        assertEquals(1, held.size());
+
+        // put waits until the drain makes room
+        CompletableFuture<CompletableFuture<Integer>> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return actor.put(GameSession::getPlayerToMove);
+            } catch (InterruptedException ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        Thread.sleep(100);
+        assertFalse(waiting.isDone());
+        held.remove(0).run();
+        for (CompletableFuture<Integer> result : accepted) {
+            assertEquals(1, (int) result.get());
+        }
+        CompletableFuture<Integer> late = waiting.get(5, TimeUnit.SECONDS);
+        while (!late.isDone()) {
+            synchronized (held) {
+                if (!held.isEmpty()) {
+                    held.remove(0).run();
+                }
+            }
+        }
+        assertEquals(1, (int) late.get());
+    }
+
+    @Test
+    void manyGamesPlayToTheEndOnOneScheduler() throws ExecutionException, InterruptedException {
+        List<CompletableFuture<Boolean>> lastMoves = new ArrayList<>();
+        List<GameActor> actors = new ArrayList<>();
+        for (int g = 0; g < 200; g++) {
+            actors.add(new GameActor(new GameSession("w" + g, "b" + g), scheduler, 400));
+        }
+        for (int g = 0; g < actors.size(); g++) {
+            SplittableRandom random = new SplittableRandom(g);
+            CompletableFuture<Boolean> last = null;
+            for (int ply = 0; ply < 300; ply++) {
+                last = actors.get(g).offer(game -> playRandomMove(game, random));
+            }
+            lastMoves.add(last);
+        }
+        for (CompletableFuture<Boolean> last : lastMoves) {
+            last.get();
+        }
+        for (GameActor actor : actors) {
+            assertEquals(0, actor.getQueuedCommands());
+        }
+    }
+}
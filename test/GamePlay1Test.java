@@ -1,5 +1,7 @@
 import Controller.GamePlay1;
+import Entity.Phase;
 import Entity.Player;
+import Entity.Position;
 import Exceptions.InvalidPositionException;
 import Exceptions.LoadedSuccessfully;
 import Exceptions.SavedSuccessfully;
@@ -9,6 +11,8 @@ import org.junit.jupiter.api.Test;
 
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.*;
+
 class GamePlay1Test {
     GamePlay1 gamePlay1;
     Player player1, player2;
@@ -34,9 +38,38 @@ class GamePlay1Test {
 
     @Test
     void move_token() {
+        gamePlay1.setPlayers("Player1", "Player2");
+        assertEquals("", gamePlay1.move_token(1, "A1"));
+        // an occupied or nonexistent position is refused once, without using up a token
+        assertNotEquals("", gamePlay1.move_token(2, "A1"));
+        assertNotEquals("", gamePlay1.move_token(2, "D9"));
+        assertEquals(9, gamePlay1.playerManager.getTokensRemaining(2));
+        assertEquals("", gamePlay1.move_token(2, "B1"));
+        assertEquals(8, gamePlay1.playerManager.getTokensRemaining(2));
     }
 
     @Test
     void remove_token() {
     }
-}
\ No newline at end of file
+
+    @Test
+    void slide_token() {
+        gamePlay1.setPlayers("Player1", "Player2");
+        // place all tokens, alternating between the outer and inner box so nobody forms a mill
+        String[] white = {"A1", "A3", "A7", "B2", "B4", "B8", "C1", "C5", "C6"};
+        String[] black = {"A2", "A4", "A5", "A8", "B1", "B6", "C2", "C4", "C8"};
+        for (int i = 0; i < 9; i++) {
+            gamePlay1.move_token(1, white[i]);
+            gamePlay1.move_token(2, black[i]);
+        }
+        assertEquals(Phase.MOVING, gamePlay1.getPhase(1));
+
+        // A7 -> A6 is a slide along a line; C1 -> C3 is not
+        assertEquals("", gamePlay1.slide_token(1, Position.A7, Position.A6));
+        assertNotEquals("", gamePlay1.slide_token(2, Position.C2, Position.A6));
+        assertNotEquals("", gamePlay1.slide_token(1, Position.C1, Position.C3));
+        assertNotEquals("", gamePlay1.slide_token(1, Position.A2, Position.A3));
+        gamePlay1.updateGameOver(2);
+        assertFalse(gamePlay1.gameOver);
+    }
+}
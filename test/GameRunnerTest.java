@@ -0,0 +1,42 @@
+import Controller.GamePlay1;
+import Controller.GameResult;
+import Controller.GameRunner;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameRunnerTest {
+
+    @Test
+    void parallelMatchesSequential() throws InterruptedException {
+        GameRunner runner = new GameRunner(4);
+        List<GameResult> sequential = runner.runSequential(200, 1234L);
+        List<GameResult> parallel = runner.runParallel(200, 1234L);
+        assertEquals(sequential, parallel);
+
+        // games with different seeds should not all play out the same way
+        assertNotEquals(sequential.get(0).getMoves(), sequential.get(1).getMoves());
+    }
+
+    @Test
+    void gamesDoNotShareMills() {
+        GamePlay1 game1 = new GamePlay1();
+        game1.setPlayers("a", "b");
+        GamePlay1 game2 = new GamePlay1();
+        game2.setPlayers("c", "d");
+
+        // player 1 forms a mill in game1 only
+        game1.move_token(1, "A1");
+        game1.move_token(1, "A2");
+        game1.move_token(1, "A3");
+        assertEquals(1, game1.getPlayerHouses(1));
+        assertEquals(0, game2.getPlayerHouses(1));
+        // the no-arg constructor registers the tracker too
+        assertEquals(List.of("A1", "A2", "A3"), game1.getTokenCoordinates("W"));
+        assertEquals(List.of(), game2.getTokenCoordinates("W"));
+        assertEquals("a won", game1.getWinner());
+        assertEquals("It's a Tie", game2.getWinner());
+    }
+}
@@ -0,0 +1,187 @@
+import Controller.GameServer;
+import Entity.BitBoard;
+import Entity.BoardState;
+import Entity.Move;
+import UseCases.MoveGenerator;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.SplittableRandom;
+
+/**
+ * Measures sustained moves per second and move latency of GameServer over loopback, with the connections given as the
+ * first argument (10000 by default) playing random games in pairs for the seconds given as the second argument.
+ * Latency is timed by the client from sending a move to reading the server's "played" line. The server runs in this
+ * process unless a host:port is given as the third argument; each connection then needs two file descriptors in this
+ * process, so raise the open files limit to match. Run with the main method; not part of the unit tests.
+ */
+public class GameServerBenchmark {
+    private static final int WARMUP_SECONDS = 3;
+    // plies after which a client resigns, as random games can go on for long
+    private static final int PLY_LIMIT = 200;
+
+    private static final int[] moves = new int[MoveGenerator.MAX_MOVES];
+    private static final SplittableRandom random = new SplittableRandom(7);
+
+    private static long[] latencies = new long[1 << 20];
+    private static int samples;
+    private static boolean measuring;
+    private static long games;
+    private static long errors;
+
+    public static void main(String[] args) throws IOException {
+        int connections = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        GameServer server = null;
+        InetSocketAddress address;
+        if (args.length > 2) {
+            String[] hostPort = args[2].split(":");
+            address = new InetSocketAddress(hostPort[0], Integer.parseInt(hostPort[1]));
+        } else {
+            server = new GameServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+            address = new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort());
+        }
+
+        Selector selector = Selector.open();
+        long connectStart = System.nanoTime();
+        for (int i = 0; i < connections; i++) {
+            SocketChannel channel = SocketChannel.open(address);
+            channel.configureBlocking(false);
+            channel.socket().setTcpNoDelay(true);
+            Client client = new Client(channel, "c" + i);
+            channel.register(selector, SelectionKey.OP_READ, client);
+            send(client, "join " + client.name);
+        }
+        System.out.printf("%d connections opened in %d ms%n", connections, (System.nanoTime() - connectStart) / 1000000);
+
+        long measureStart = System.nanoTime() + WARMUP_SECONDS * 1000000000L;
+        long end = measureStart + seconds * 1000000000L;
+        long gamesBefore = 0;
+        long now;
+        while ((now = System.nanoTime()) < end) {
+            if (!measuring && now >= measureStart) {
+                measuring = true;
+                gamesBefore = games;
+            }
+            selector.select(100);
+            Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+            while (keys.hasNext()) {
+                SelectionKey key = keys.next();
+                keys.remove();
+                read((Client) key.attachment());
+            }
+        }
+
+        long[] sorted = Arrays.copyOf(latencies, samples);
+        Arrays.sort(sorted);
+        System.out.println("connections  moves/sec  games/sec  p50(us)  p99(us)  max(us)  errors");
+        System.out.printf("%11d  %9.0f  %9.0f  %7d  %7d  %7d  %6d%n", connections, samples / (double) seconds,
+                (games - gamesBefore) / (double) seconds, percentile(sorted, 0.5), percentile(sorted, 0.99),
+                samples == 0 ? 0 : sorted[samples - 1] / 1000, errors);
+
+        for (SelectionKey key : selector.keys()) {
+            key.channel().close();
+        }
+        selector.close();
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    private static long percentile(long[] sorted, double fraction) {
+        return sorted.length == 0 ? 0 : sorted[(int) Math.min(sorted.length - 1, sorted.length * fraction)] / 1000;
+    }
+
+    private static void read(Client client) throws IOException {
+        ByteBuffer input = client.input;
+        if (client.channel.read(input) < 0) {
+            throw new IOException("Server closed connection " + client.name);
+        }
+        int start = 0;
+        for (int i = 0; i < input.position(); i++) {
+            if (input.get(i) == '\n') {
+                handle(client, new String(input.array(), start, i - start, StandardCharsets.US_ASCII));
+                start = i + 1;
+            }
+        }
+        input.flip().position(start);
+        input.compact();
+    }
+
+    private static void handle(Client client, String line) throws IOException {
+        if (line.startsWith("start ")) {
+            client.state = new BoardState();
+            client.side = line.startsWith("start white") ? BitBoard.WHITE : BitBoard.BLACK;
+            client.plies = 0;
+            if (client.side == BitBoard.WHITE) {
+                sendMove(client);
+            }
+        } else if (line.startsWith("played ")) {
+            if (client.sentAt != 0) {
+                if (measuring) {
+                    if (samples == latencies.length) {
+                        latencies = Arrays.copyOf(latencies, samples * 2);
+                    }
+                    latencies[samples++] = System.nanoTime() - client.sentAt;
+                }
+                client.sentAt = 0;
+            }
+            BoardState state = client.state;
+            state.make(Move.parse(line.substring("played ".length())));
+            client.plies++;
+            if (state.getSideToMove() == client.side && !state.hasTooFewTokens(client.side)
+                    && MoveGenerator.hasLegalMove(state)) {
+                if (client.plies >= PLY_LIMIT) {
+                    send(client, "resign");
+                } else {
+                    sendMove(client);
+                }
+            }
+        } else if (line.startsWith("over ")) {
+            // both players are told the game is over; count it once
+            if (client.side == BitBoard.WHITE) {
+                games++;
+            }
+            send(client, "join " + client.name);
+        } else if (line.startsWith("error ")) {
+            errors++;
+        }
+    }
+
+    private static void sendMove(Client client) throws IOException {
+        int move = moves[random.nextInt(MoveGenerator.generateMoves(client.state, moves))];
+        client.sentAt = System.nanoTime();
+        send(client, "move " + Move.toText(move));
+    }
+
+    // commands are short, so the socket takes them at once; loop in case it does not
+    private static void send(Client client, String line) throws IOException {
+        ByteBuffer output = ByteBuffer.wrap((line + "\n").getBytes(StandardCharsets.US_ASCII));
+        while (output.hasRemaining()) {
+            client.channel.write(output);
+        }
+    }
+
+    private static final class Client {
+        final SocketChannel channel;
+        final String name;
+        final ByteBuffer input = ByteBuffer.allocate(1024);
+        BoardState state;
+        int side;
+        int plies;
+        long sentAt;
+
+        Client(SocketChannel channel, String name) {
+            this.channel = channel;
+            this.name = name;
+        }
+    }
+}
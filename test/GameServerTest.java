@@ -0,0 +1,138 @@
+import Controller.GameServer;
+import Entity.BoardState;
+import Entity.Move;
+import UseCases.MoveGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameServerTest {
+    private GameServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new GameServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.close();
+    }
+
+    // blocking client of the server, over loopback
+    private final class Client implements AutoCloseable {
+        final Socket socket;
+        final BufferedReader in;
+        final PrintWriter out;
+
+        Client() throws IOException {
+            socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+            socket.setSoTimeout(10000);
+            in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+            out = new PrintWriter(socket.getOutputStream(), true);
+        }
+
+        String ask(String command) throws IOException {
+            out.println(command);
+            return in.readLine();
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+
+    @Test
+    void pairsPlayersAndRelaysMoves() throws IOException {
+        try (Client alice = new Client(); Client bob = new Client()) {
+            assertEquals("waiting", alice.ask("join alice"));
+            assertEquals("start black alice", bob.ask("join bob"));
+            assertEquals("start white bob", alice.in.readLine());
+
+            assertEquals("played A1", alice.ask("move A1"));
+            assertEquals("played A1", bob.in.readLine());
+            assertEquals("error not your turn", alice.ask("move A2"));
+            assertTrue(bob.ask("move A1").startsWith("error "));
+            assertEquals("error not a move: Z9", bob.ask("move Z9"));
+            assertEquals("state W....................... b 8 9", bob.ask("state"));
+            assertEquals("played B1", bob.ask("move B1"));
+            assertEquals("played B1", alice.in.readLine());
+            assertEquals(2, server.getMovesPlayed());
+        }
+    }
+
+    @Test
+    void playsWholeGames() throws IOException {
+        Random random = new Random(3);
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        try (Client alice = new Client(); Client bob = new Client()) {
+            for (int game = 0; game < 3; game++) {
+                assertEquals("waiting", alice.ask("join alice"));
+                assertEquals("start black alice", bob.ask("join bob"));
+                assertEquals("start white bob", alice.in.readLine());
+                Client[] players = {alice, bob};
+                BoardState state = new BoardState();
+                String result = null;
+                for (int ply = 0; ply < 300 && result == null; ply++) {
+                    Client mover = players[state.getSideToMove()];
+                    int move = moves[random.nextInt(MoveGenerator.generateMoves(state, moves))];
+                    String played = "played " + Move.toText(move);
+                    assertEquals(played, mover.ask("move " + Move.toText(move)));
+                    assertEquals(played, players[1 - state.getSideToMove()].in.readLine());
+                    state.make(move);
+                    if (state.hasTooFewTokens(state.getSideToMove()) || !MoveGenerator.hasLegalMove(state)) {
+                        result = alice.in.readLine();
+                        assertEquals(result, bob.in.readLine());
+                    }
+                }
+                if (result == null) {
+                    assertEquals("over bob won", alice.ask("resign"));
+                    assertEquals("over bob won", bob.in.readLine());
+                } else {
+                    assertTrue(result.startsWith("over "), result);
+                }
+            }
+        }
+    }
+
+    @Test
+    void disconnectingLosesTheGame() throws IOException {
+        try (Client alice = new Client()) {
+            assertEquals("waiting", alice.ask("join alice"));
+            try (Client bob = new Client()) {
+                assertEquals("start black alice", bob.ask("join bob"));
+                assertEquals("start white bob", alice.in.readLine());
+            }
+            assertEquals("over alice won", alice.in.readLine());
+            assertEquals("error not in a game", alice.ask("move A1"));
+        }
+    }
+
+    @Test
+    void refusesBadCommands() throws IOException {
+        try (Client alice = new Client()) {
+            assertEquals("error unknown command: fly", alice.ask("fly"));
+            assertEquals("error join needs a name without spaces", alice.ask("join"));
+            assertEquals("waiting", alice.ask("join alice"));
+            assertEquals("error already joined", alice.ask("join alice"));
+            try (Client other = new Client()) {
+                assertEquals("error name taken by your opponent", other.ask("join alice"));
+            }
+            assertEquals("error line too long", alice.ask("x".repeat(GameServer.MAX_LINE)));
+            assertNull(alice.in.readLine());
+        }
+    }
+}
@@ -0,0 +1,136 @@
+import Controller.GameSession;
+import Entity.BitBoard;
+import Entity.BoardState;
+import Entity.Move;
+import Entity.Phase;
+import Entity.Position;
+import Exceptions.InvalidSaveFileException;
+import UseCases.AlphaBetaSearch;
+import UseCases.MoveGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameSessionTest {
+    GameSession session;
+
+    @BeforeEach
+    void setUp() {
+        session = new GameSession("alice", "bob");
+    }
+
+    @Test
+    void newGameStartsWithPlayer1Placing() {
+        assertEquals(1, session.getPlayerToMove());
+        assertEquals(Phase.PLACING, session.getPhase(1));
+        assertEquals("alice's turn to add a token", session.describeTurn());
+        assertEquals(new BoardState(), session.getState());
+        assertFalse(session.isGameOver());
+    }
+
+    @Test
+    void placesInTurnAndRefusesOccupiedPositions() {
+        assertEquals("", session.place(Position.A1));
+        assertEquals(2, session.getPlayerToMove());
+        assertNotEquals("", session.place(Position.A1));
+        assertNotEquals("", session.place(null));
+        assertEquals(2, session.getPlayerToMove());
+        assertEquals("", session.place(Position.B1));
+        assertEquals(8, session.getTokensRemaining(1));
+        assertEquals(8, session.getTokensRemaining(2));
+        assertEquals(BitBoard.WHITE, session.getState().getBoard().sideAt(Position.A1.index()));
+        assertNotEquals("", session.slide(Position.A1, Position.A2));
+    }
+
+    @Test
+    void millMustBeFollowedByARemoval() {
+        session.place(Position.A1);
+        session.place(Position.B1);
+        session.place(Position.A2);
+        session.place(Position.B2);
+        assertNotEquals("", session.remove(Position.B1));
+        assertEquals("", session.place(Position.A3));
+        assertTrue(session.isRemovalPending());
+        assertEquals("alice's turn to remove a token", session.describeTurn());
+        assertNotEquals("", session.place(Position.C1));
+        assertNotEquals("", session.remove(Position.A1));
+        assertEquals("", session.remove(Position.B1));
+        assertFalse(session.isRemovalPending());
+        assertEquals(2, session.getPlayerToMove());
+        assertTrue(session.getState().getBoard().isEmpty(Position.B1.index()));
+    }
+
+    @Test
+    void randomGamePlaysToTheEnd() {
+        Random random = new Random(5);
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        for (int ply = 0; ply < 400 && !session.isGameOver(); ply++) {
+            BoardState state = session.getState();
+            int move = moves[random.nextInt(MoveGenerator.generateMoves(state, moves))];
+            assertEquals("", session.play(move));
+            state.make(move);
+            assertEquals(state, session.getState());
+        }
+        if (session.isGameOver()) {
+            assertTrue(session.getWinner().endsWith(" won"));
+            assertEquals(Move.NONE, session.findComputerMove(new AlphaBetaSearch(100)));
+            assertNotEquals("", session.place(Position.A1));
+        }
+    }
+
+    @Test
+    void illegalMovesAreRefused() {
+        session.place(Position.A1);
+        int occupied = Move.place(Position.A1.index());
+        assertNotEquals("", session.play(occupied));
+        assertEquals(2, session.getPlayerToMove());
+    }
+
+    @Test
+    void saveAndLoadRoundTrip() throws IOException, InvalidSaveFileException {
+        session.place(Position.A1);
+        session.place(Position.B1);
+        session.place(Position.A2);
+        session.place(Position.B2);
+        session.place(Position.A3);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        session.save(out);
+
+        GameSession loaded = new GameSession("", "");
+        loaded.load(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals("alice", loaded.getPlayerName(1));
+        assertEquals("bob", loaded.getPlayerName(2));
+        assertEquals(session.getState(), loaded.getState());
+        assertEquals(List.of("A1", "A2", "A3"), loaded.getTokenCoordinates("W"));
+        assertEquals(List.of("B1", "B2"), loaded.getTokenCoordinates("B"));
+        assertTrue(loaded.isRemovalPending());
+        assertEquals(1, loaded.getPlayerToMove());
+        assertNotEquals("", loaded.remove(Position.A1));
+        assertEquals("", loaded.remove(Position.B2));
+        assertEquals("", loaded.place(Position.B2));
+        assertEquals("", loaded.place(Position.C8));
+
+        // the loaded mill A1 A2 A3 still protects its tokens while white has one outside it
+        assertEquals("", loaded.place(Position.B3));
+        assertTrue(loaded.isRemovalPending());
+        assertNotEquals("", loaded.remove(Position.A1));
+        assertEquals("", loaded.remove(Position.C8));
+        assertEquals(1, loaded.getPlayerToMove());
+    }
+
+    @Test
+    void loadRejectsOtherData() {
+        GameSession other = new GameSession("", "");
+        assertThrows(IOException.class, () -> other.load(new ByteArrayInputStream(new byte[]{1, 2, 3})));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertDoesNotThrow(() -> Gateways.data.GameState.save("not a game", out));
+        assertThrows(InvalidSaveFileException.class, () -> other.load(new ByteArrayInputStream(out.toByteArray())));
+    }
+}
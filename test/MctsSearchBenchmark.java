@@ -0,0 +1,27 @@
+import Entity.BoardState;
+import UseCases.MctsSearch;
+
+/**
+ * Measures playouts per second of MctsSearch from the opening position, from 1 thread up to the number of cores, or
+ * the thread count given as the first argument. Run with the main method; not part of the unit tests.
+ */
+public class MctsSearchBenchmark {
+    private static final long TIME_MILLIS = 3000;
+
+    public static void main(String[] args) {
+        BoardState state = new BoardState();
+        // warm up the JIT
+        new MctsSearch(TIME_MILLIS, 1).findBestMove(state, 20000);
+
+        System.out.println("threads  playouts  playouts/sec  per thread");
+        for (int threads : BenchmarkThreads.counts(args)) {
+            MctsSearch search = new MctsSearch(TIME_MILLIS, threads);
+            long start = System.nanoTime();
+            search.findBestMove(state);
+            long nanos = System.nanoTime() - start;
+            search.shutdown();
+            double rate = search.getPlayouts() * 1e9 / nanos;
+            System.out.printf("%7d  %8d  %12.0f  %10.0f%n", threads, search.getPlayouts(), rate, rate / threads);
+        }
+    }
+}
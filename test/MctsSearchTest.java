@@ -0,0 +1,57 @@
+import Entity.BitBoard;
+import Entity.BoardState;
+import Entity.Move;
+import Entity.Position;
+import UseCases.MctsSearch;
+import UseCases.MoveGenerator;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MctsSearchTest {
+
+    @Test
+    void findsTheWinningMove() {
+        // black is down to three tokens; white slides B3 to B2 to form A2-B2-C2 and takes black below three
+        BitBoard board = new BitBoard(Position.A2.mask() | Position.C2.mask() | Position.B3.mask()
+                | Position.A6.mask() | Position.C6.mask(), Position.A8.mask() | Position.B8.mask() | Position.C8.mask());
+        BoardState state = new BoardState(board, 0, 0, BitBoard.WHITE);
+        MctsSearch search = new MctsSearch(5000, 1);
+        assertEquals("B3-B2", Move.toText(search.findBestMove(state, 20000)).substring(0, 5));
+        assertTrue(search.getBestWinRate() > 0.9);
+    }
+
+    @Test
+    void threadsShareOneTree() {
+        MctsSearch search = new MctsSearch(5000, 3);
+        try {
+            BoardState state = new BoardState();
+            int move = search.findBestMove(state, 3000);
+            assertTrue(MoveGenerator.isLegal(state, move));
+            assertEquals(3000, search.getPlayouts());
+            assertEquals(3, search.getThreads());
+            // the position searched is left unchanged
+            assertEquals(new BoardState(), state);
+        } finally {
+            search.shutdown();
+        }
+    }
+
+    @Test
+    void lostPositionHasNoMove() {
+        BitBoard board = new BitBoard(Position.A1.mask() | Position.A2.mask() | Position.A3.mask(),
+                Position.B1.mask() | Position.B2.mask());
+        BoardState state = new BoardState(board, 0, 0, BitBoard.BLACK);
+        assertEquals(Move.NONE, new MctsSearch(1000, 1).findBestMove(state));
+    }
+
+    @Test
+    void stopsWithinTheTimeBudget() {
+        MctsSearch search = new MctsSearch(200, 1);
+        long start = System.currentTimeMillis();
+        int move = search.findBestMove(new BoardState());
+        assertTrue(System.currentTimeMillis() - start < 2000);
+        assertTrue(MoveGenerator.isLegal(new BoardState(), move));
+        assertTrue(search.getPlayouts() > 0);
+    }
+}
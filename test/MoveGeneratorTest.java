@@ -0,0 +1,132 @@
+import Entity.BitBoard;
+import Entity.BoardState;
+import Entity.BoardTopology;
+import Entity.Move;
+import Entity.Phase;
+import Entity.Position;
+import UseCases.MoveGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoveGeneratorTest {
+    int[] moves;
+
+    @BeforeEach
+    void setUp() { moves = new int[MoveGenerator.MAX_MOVES]; }
+
+    // builds a state with no tokens in hand from the positions of each side's tokens
+    private BoardState movingState(Position[] white, Position[] black, int sideToMove) {
+        BitBoard board = new BitBoard();
+        for (Position p : white) {
+            board.place(BitBoard.WHITE, p.index());
+        }
+        for (Position p : black) {
+            board.place(BitBoard.BLACK, p.index());
+        }
+        return new BoardState(board, 0, 0, sideToMove);
+    }
+
+    @Test
+    void adjacency() {
+        // corners have two neighbours, middles of sides on the middle box have four
+        assertEquals(Position.A2.mask() | Position.A4.mask(), BoardTopology.adjacent(Position.A1.index()));
+        assertEquals(4, Integer.bitCount(BoardTopology.adjacent(Position.B2.index())));
+        assertEquals(3, Integer.bitCount(BoardTopology.adjacent(Position.C7.index())));
+        for (int i = 0; i < 24; i++) {
+            for (int j = 0; j < 24; j++) {
+                boolean ij = (BoardTopology.adjacent(i) & 1 << j) != 0;
+                boolean ji = (BoardTopology.adjacent(j) & 1 << i) != 0;
+                assertEquals(ij, ji);
+            }
+        }
+    }
+
+    @Test
+    void placingMoves() {
+        BoardState state = new BoardState();
+        assertEquals(Phase.PLACING, state.phase(BitBoard.WHITE));
+        assertEquals(24, MoveGenerator.generateMoves(state, moves));
+
+        // white has A1 and A2 and can close the mill at A3, removing either black token
+        state.make(Move.place(Position.A1.index()));
+        state.make(Move.place(Position.B1.index()));
+        state.make(Move.place(Position.A2.index()));
+        state.make(Move.place(Position.B8.index()));
+        int count = MoveGenerator.generateMoves(state, moves);
+        assertEquals(20 - 1 + 2, count);
+        assertTrue(MoveGenerator.isLegal(state, Move.parse("A3xB1")));
+        assertTrue(MoveGenerator.isLegal(state, Move.parse("A3xB8")));
+        assertFalse(MoveGenerator.isLegal(state, Move.parse("A3")));
+    }
+
+    @Test
+    void slidingAndFlyingMoves() {
+        BoardState state = movingState(new Position[]{Position.A1, Position.B2, Position.C3, Position.C5},
+                new Position[]{Position.A2, Position.A4, Position.C8, Position.B5}, BitBoard.WHITE);
+        assertEquals(Phase.MOVING, state.phase(BitBoard.WHITE));
+        // A1 is blocked; B2 -> B1, B3, C2; C3 -> C2; C5 -> none (C3 own, C8 and B5 black)
+        assertEquals(4, MoveGenerator.generateMoves(state, moves));
+        assertFalse(MoveGenerator.isLegal(state, Move.parse("A1-A3")));
+
+        // with three tokens, white may fly anywhere
+        state = movingState(new Position[]{Position.A1, Position.B2, Position.C3},
+                new Position[]{Position.A2, Position.A4, Position.C8, Position.B5}, BitBoard.WHITE);
+        assertEquals(Phase.FLYING, state.phase(BitBoard.WHITE));
+        assertEquals(3 * 17, MoveGenerator.generateMoves(state, moves));
+    }
+
+    @Test
+    void removalSkipsMills() {
+        // black A6 A7 A8 is a mill, so white may only remove B1 after closing C1 C2 C3
+        BoardState state = movingState(new Position[]{Position.C1, Position.C2, Position.C5, Position.A1},
+                new Position[]{Position.A6, Position.A7, Position.A8, Position.B1}, BitBoard.WHITE);
+        assertTrue(MoveGenerator.isLegal(state, Move.parse("C5-C3xB1")));
+        assertFalse(MoveGenerator.isLegal(state, Move.parse("C5-C3xA7")));
+
+        // once every black token is in a mill, any of them can be removed
+        state.getBoard().remove(Position.B1.index());
+        assertTrue(MoveGenerator.isLegal(state, Move.parse("C5-C3xA7")));
+    }
+
+    @Test
+    void blockedSideLoses() {
+        BoardState state = movingState(new Position[]{Position.A1, Position.A2, Position.C8, Position.C6},
+                new Position[]{Position.A3, Position.B2, Position.A4, Position.B1, Position.C7}, BitBoard.WHITE);
+        // A1 and A2 are blocked, but C8 and C6 can still move
+        assertFalse(MoveGenerator.isLost(state));
+        state = movingState(new Position[]{Position.A1, Position.A2, Position.A3},
+                new Position[]{Position.A4, Position.B2, Position.A5, Position.B1}, BitBoard.WHITE);
+        // flying side is never blocked
+        assertFalse(MoveGenerator.isLost(state));
+        state = movingState(new Position[]{Position.A1, Position.A2, Position.A3, Position.C1},
+                new Position[]{Position.A4, Position.B2, Position.A5, Position.C2, Position.C4}, BitBoard.WHITE);
+        assertEquals(0, MoveGenerator.generateMoves(state, moves));
+        assertTrue(MoveGenerator.isLost(state));
+    }
+
+    @Test
+    void makeUnmake() {
+        BoardState state = movingState(new Position[]{Position.C1, Position.C2, Position.C5, Position.A1},
+                new Position[]{Position.A6, Position.A7, Position.A8, Position.B1}, BitBoard.WHITE);
+        BoardState before = state.copy();
+        int count = MoveGenerator.generateMoves(state, moves);
+        for (int i = 0; i < count; i++) {
+            state.make(moves[i]);
+            assertEquals(BitBoard.BLACK, state.getSideToMove());
+            state.unmake(moves[i]);
+            assertEquals(before, state);
+        }
+    }
+
+    @Test
+    void moveText() {
+        for (String text : new String[]{"A1", "A1-A2", "C3xB5", "B2-C2xA7"}) {
+            assertEquals(text, Move.toText(Move.parse(text)));
+        }
+        assertEquals(Move.NONE, Move.parse("D4"));
+        assertEquals(Move.NONE, Move.parse("A1-"));
+        assertEquals(Move.NONE, Move.parse("A1xZ"));
+    }
+}
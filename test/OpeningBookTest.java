@@ -0,0 +1,102 @@
+import Entity.BoardState;
+import Entity.Move;
+import Entity.Symmetry;
+import Interfaces.MoveSearch;
+import UseCases.BookSearch;
+import UseCases.MoveGenerator;
+import UseCases.OpeningBook;
+import UseCases.OpeningBookBuilder;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpeningBookTest {
+    private static final int PLIES = 2;
+    private static Path directory;
+    private static OpeningBook book;
+
+    @BeforeAll
+    static void buildBook() throws IOException, InterruptedException {
+        directory = Files.createTempDirectory("book");
+        Path path = directory.resolve("test.book");
+        int size = new OpeningBookBuilder(2, 3, 1 << 20).build(PLIES, path);
+        book = new OpeningBook(path);
+        assertEquals(size, book.size());
+    }
+
+    @AfterAll
+    static void deleteBook() throws IOException {
+        Files.deleteIfExists(directory.resolve("test.book"));
+        Files.deleteIfExists(directory);
+    }
+
+    @Test
+    void holdsOnePositionPerSymmetryClass() {
+        // the empty board; the 4 kinds of position for the first token; and for the second, the classes of 24 * 23
+        // ordered pairs of positions
+        assertTrue(book.size() > 1 + 4 && book.size() < 1 + 4 + 24 * 23 / 4);
+        assertNotEquals(OpeningBook.MISS, book.probe(Symmetry.canonicalKey(new BoardState())));
+    }
+
+    @Test
+    void everyPositionOfTheFirstPliesHasALegalMove() {
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        int[] replies = new int[MoveGenerator.MAX_MOVES];
+        BoardState state = new BoardState();
+        assertTrue(MoveGenerator.isLegal(state, book.bestMove(state)));
+        int count = MoveGenerator.generateMoves(state, moves);
+        for (int i = 0; i < count; i++) {
+            state.make(moves[i]);
+            assertTrue(MoveGenerator.isLegal(state, book.bestMove(state)), state.toText());
+            int replyCount = MoveGenerator.generateMoves(state, replies);
+            for (int j = 0; j < replyCount; j++) {
+                state.make(replies[j]);
+                assertTrue(MoveGenerator.isLegal(state, book.bestMove(state)), state.toText());
+                assertEquals(3, OpeningBook.depth(book.probe(Symmetry.canonicalKey(state))));
+                state.unmake(replies[j]);
+            }
+            state.unmake(moves[i]);
+        }
+    }
+
+    @Test
+    void positionsOutsideTheBookAreMissed() {
+        BoardState state = new BoardState();
+        for (String move : new String[] {"A1", "B2", "C3"}) {
+            state.make(Move.parse(move));
+        }
+        assertEquals(OpeningBook.MISS, book.probe(Symmetry.canonicalKey(state)));
+        assertEquals(Move.NONE, book.bestMove(state));
+    }
+
+    @Test
+    void bookSearchAsksTheSearchOnlyOutsideTheBook() {
+        int[] calls = new int[1];
+        MoveSearch fallback = new MoveSearch() {
+            @Override
+            public int findBestMove(BoardState state) {
+                calls[0]++;
+                return Move.parse("C8");
+            }
+
+            @Override
+            public void stop() {
+            }
+        };
+        BookSearch search = new BookSearch(book, fallback);
+        BoardState state = new BoardState();
+        state.make(Move.parse("A1"));
+        assertTrue(MoveGenerator.isLegal(state, search.findBestMove(state)));
+        assertEquals(0, calls[0]);
+        state.make(Move.parse("B2"));
+        state.make(Move.parse("C3"));
+        assertEquals(Move.parse("C8"), search.findBestMove(state));
+        assertEquals(1, calls[0]);
+    }
+}
@@ -0,0 +1,34 @@
+import Entity.BoardState;
+import Entity.Move;
+import UseCases.ParallelSearch;
+import UseCases.TranspositionTable;
+
+/**
+ * Measures nodes per second and time to depth of ParallelSearch from 1 thread up to the number of cores, or the thread
+ * count given as the first argument. Run with the main method; not part of the unit tests.
+ */
+public class ParallelSearchBenchmark {
+    private static final String[] OPENING = {"A1", "B2", "C3", "B4", "A8", "C6"};
+    private static final int DEPTH = 7;
+
+    public static void main(String[] args) {
+        BoardState state = new BoardState();
+        for (String move : OPENING) {
+            state.make(Move.parse(move));
+        }
+
+        System.out.println("threads  depth  time(ms)  nodes  nodes/sec");
+        for (int threads : BenchmarkThreads.counts(args)) {
+            ParallelSearch search = new ParallelSearch(Long.MAX_VALUE / 2, threads, new TranspositionTable(64L << 20));
+            // warm up the JIT on a shallower search with a separate table
+            new ParallelSearch(Long.MAX_VALUE / 2, 1, new TranspositionTable(1 << 20)).findBestMove(state, DEPTH - 2);
+
+            long start = System.nanoTime();
+            search.findBestMove(state, DEPTH);
+            long nanos = System.nanoTime() - start;
+            search.shutdown();
+            System.out.printf("%7d  %5d  %8d  %5d  %9.0f%n", threads, search.getCompletedDepth(), nanos / 1000000,
+                    search.getNodes(), search.getNodes() * 1e9 / nanos);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+import Entity.BitBoard;
+import Entity.BoardState;
+import Entity.Move;
+import Entity.Position;
+import UseCases.MoveGenerator;
+import UseCases.ParallelSearch;
+import UseCases.TranspositionTable;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelSearchTest {
+
+    @Test
+    void helpersFindTheWinningMove() {
+        // black is down to three tokens; white slides B3 to B2 to form A2-B2-C2 and takes black below three
+        BitBoard board = new BitBoard(Position.A2.mask() | Position.C2.mask() | Position.B3.mask()
+                | Position.A6.mask() | Position.C6.mask(), Position.A8.mask() | Position.B8.mask() | Position.C8.mask());
+        BoardState state = new BoardState(board, 0, 0, BitBoard.WHITE);
+        ParallelSearch search = new ParallelSearch(2000, 4, new TranspositionTable(1 << 20));
+        try {
+            assertEquals("B3-B2", Move.toText(search.findBestMove(state, 5)).substring(0, 5));
+            assertEquals(4, search.getThreads());
+        } finally {
+            search.shutdown();
+        }
+    }
+
+    @Test
+    void searchesAreRepeatable() {
+        ParallelSearch search = new ParallelSearch(2000, 3, new TranspositionTable(1 << 20));
+        try {
+            BoardState state = new BoardState();
+            for (int i = 0; i < 3; i++) {
+                int move = search.findBestMove(state, 4);
+                assertTrue(MoveGenerator.isLegal(state, move));
+                assertTrue(search.getCompletedDepth() >= 4);
+                assertTrue(search.getNodes() > 0);
+            }
+            // the position searched is left unchanged
+            assertEquals(new BoardState(), state);
+        } finally {
+            search.shutdown();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+import Entity.BoardState;
+import UseCases.MoveGenerator;
+import UseCases.PatternEvaluator;
+
+import java.util.Random;
+
+/**
+ * Measures the cost of PatternEvaluator.evaluate against scanning the lines and links for the same score, on positions
+ * from random games. Run with the main method; not part of the unit tests.
+ */
+public class PatternEvaluatorBenchmark {
+    private static final int POSITIONS = 1 << 14;
+    private static final int ROUNDS = 500;
+
+    public static void main(String[] args) {
+        Random random = new Random(1);
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        BoardState[] states = new BoardState[POSITIONS];
+        BoardState state = new BoardState();
+        for (int i = 0; i < POSITIONS; i++) {
+            if (MoveGenerator.isLost(state)) {
+                state = new BoardState();
+            }
+            state.make(moves[random.nextInt(MoveGenerator.generateMoves(state, moves))]);
+            states[i] = state.copy();
+        }
+
+        long sink = 0;
+        for (int warmup = 0; warmup < 3; warmup++) {
+            long start = System.nanoTime();
+            for (int r = 0; r < ROUNDS; r++) {
+                for (BoardState position : states) {
+                    sink += PatternEvaluator.evaluate(position);
+                }
+            }
+            long tableNanos = System.nanoTime() - start;
+            start = System.nanoTime();
+            for (int r = 0; r < ROUNDS; r++) {
+                for (BoardState position : states) {
+                    sink += PatternEvaluator.scan(position);
+                }
+            }
+            long scanNanos = System.nanoTime() - start;
+            System.out.printf("tables: %.1f ns/position  scan: %.1f ns/position%n",
+                    (double) tableNanos / POSITIONS / ROUNDS, (double) scanNanos / POSITIONS / ROUNDS);
+        }
+        System.out.println(sink == 42 ? "" : " ");
+    }
+}
@@ -0,0 +1,61 @@
+import Entity.BitBoard;
+import Entity.BoardState;
+import UseCases.MoveGenerator;
+import UseCases.PatternEvaluator;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PatternEvaluatorTest {
+
+    @Test
+    void startIsEven() {
+        assertEquals(0, PatternEvaluator.evaluate(new BoardState()));
+    }
+
+    @Test
+    void scoresMillsOpenAndBlockedLines() {
+        // white mill A1 A2 A3; black open mill B1 B2 with B3 empty
+        BoardState state = BoardState.parse("WWW.....BB.............. w 0 0");
+        assertEquals(PatternEvaluator.scan(state), PatternEvaluator.evaluate(state));
+        BoardState blocked = BoardState.parse("WWW.....BBW............. w 0 0");
+        assertEquals(PatternEvaluator.scan(blocked), PatternEvaluator.evaluate(blocked));
+        // white's token on B3 takes black's open mill away and blocks it
+        assertTrue(PatternEvaluator.evaluate(blocked) - PatternEvaluator.evaluate(state)
+                >= PatternEvaluator.OPEN_MILL + PatternEvaluator.BLOCKED_MILL);
+    }
+
+    @Test
+    void scoreIsFromSideToMove() {
+        BoardState white = BoardState.parse("WWW.....BB.............. w 0 0");
+        BoardState black = BoardState.parse("WWW.....BB.............. b 0 0");
+        assertEquals(-PatternEvaluator.evaluate(white), PatternEvaluator.evaluate(black));
+    }
+
+    @Test
+    void tablesMatchScanOnRandomPositions() {
+        Random random = new Random(7);
+        for (int i = 0; i < 200000; i++) {
+            int white = random.nextInt(1 << BitBoard.NUM_POSITIONS);
+            int black = random.nextInt(1 << BitBoard.NUM_POSITIONS) & ~white;
+            BoardState state = new BoardState(new BitBoard(white, black), 0, 0, random.nextInt(2));
+            assertEquals(PatternEvaluator.scan(state), PatternEvaluator.evaluate(state), state.toText());
+        }
+    }
+
+    @Test
+    void tablesMatchScanInPlayedGames() {
+        Random random = new Random(11);
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        for (int game = 0; game < 200; game++) {
+            BoardState state = new BoardState();
+            for (int ply = 0; ply < 100 && !MoveGenerator.isLost(state); ply++) {
+                assertEquals(PatternEvaluator.scan(state), PatternEvaluator.evaluate(state), state.toText());
+                int count = MoveGenerator.generateMoves(state, moves);
+                state.make(moves[random.nextInt(count)]);
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+import Entity.BoardState;
+import UseCases.Perft;
+
+/**
+ * Measures leaves per second of Perft from the opening, and from a moving phase position, without and with the cache,
+ * from 1 thread up to the number of cores, or the thread count given as the first argument. Run with the main method;
+ * not part of the unit tests.
+ */
+public class PerftBenchmark {
+    private static final String MOVING = "W.WWB.B.BW.B..W.BW..B.W. w 0 0";
+    private static final long CACHE_BYTES = 64L << 20;
+
+    public static void main(String[] args) throws InterruptedException {
+        // warm up the JIT
+        new Perft(1, 0).count(new BoardState(), 5);
+
+        System.out.println("position  depth  threads  cache       leaves  time(ms)   leaves/sec");
+        for (int threads : BenchmarkThreads.counts(args)) {
+            for (long cacheBytes : new long[] {0, CACHE_BYTES}) {
+                measure("opening", new BoardState(), 6, threads, cacheBytes);
+                measure("moving", BoardState.parse(MOVING), 6, threads, cacheBytes);
+            }
+        }
+    }
+
+    private static void measure(String name, BoardState state, int depth, int threads, long cacheBytes)
+            throws InterruptedException {
+        Perft perft = new Perft(threads, cacheBytes);
+        long start = System.nanoTime();
+        long leaves = perft.count(state, depth);
+        long nanos = System.nanoTime() - start;
+        System.out.printf("%-8s  %5d  %7d  %5s  %11d  %8d  %11.0f%n", name, depth, threads, cacheBytes > 0 ? "yes" : "no",
+                leaves, nanos / 1000000, leaves * 1e9 / nanos);
+    }
+}
@@ -0,0 +1,165 @@
+import Controller.GamePlay1;
+import Entity.BitBoard;
+import Entity.BoardState;
+import Entity.Move;
+import Entity.Position;
+import UseCases.MoveGenerator;
+import UseCases.Perft;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PerftTest {
+    private static final long[] OPENING_COUNTS = {1, 24, 552, 12144, 255024, 5140800};
+
+    // white to move in the moving phase, able to close A1-A2-A3 by sliding B2 to A2
+    private static final String MOVING = "W.WWB.B.BW.B..W.BW..B.W. w 0 0";
+    private static final long[] MOVING_COUNTS = {1, 25, 237, 3307, 28209};
+
+    // white is down to three tokens and flies, black still slides
+    private static final String FLYING = "W.W.B.B.B...B...W..B.... w 0 0";
+    private static final long[] FLYING_COUNTS = {1, 52, 565, 28402, 303106};
+
+    @Test
+    void openingCounts() throws InterruptedException {
+        Perft perft = new Perft(1, 0);
+        for (int depth = 0; depth < OPENING_COUNTS.length; depth++) {
+            assertEquals(OPENING_COUNTS[depth], perft.count(new BoardState(), depth), "depth " + depth);
+        }
+    }
+
+    @Test
+    void movingAndFlyingCounts() throws InterruptedException {
+        Perft perft = new Perft(1, 0);
+        for (int depth = 0; depth < MOVING_COUNTS.length; depth++) {
+            assertEquals(MOVING_COUNTS[depth], perft.count(BoardState.parse(MOVING), depth), "moving depth " + depth);
+            assertEquals(FLYING_COUNTS[depth], perft.count(BoardState.parse(FLYING), depth), "flying depth " + depth);
+        }
+    }
+
+    @Test
+    void threadsAndCacheGiveTheSameCounts() throws InterruptedException {
+        Perft perft = new Perft(3, 1 << 20);
+        assertEquals(OPENING_COUNTS[5], perft.count(new BoardState(), 5));
+        // counts again, now from the cache
+        assertEquals(OPENING_COUNTS[5], perft.count(new BoardState(), 5));
+        assertEquals(MOVING_COUNTS[4], perft.count(BoardState.parse(MOVING), 4));
+        assertEquals(FLYING_COUNTS[4], new Perft(2, 0).count(BoardState.parse(FLYING), 4));
+    }
+
+    @Test
+    void textFormRoundTrips() {
+        BoardState state = BoardState.parse(MOVING);
+        assertEquals(MOVING, state.toText());
+        assertEquals("........................ w 9 9", new BoardState().toText());
+        assertNull(BoardState.parse("W.W w 0 0"));
+        assertNull(BoardState.parse("WWWWWWWWWW.............. w 0 0"));
+        assertNull(BoardState.parse("W.WWB.B.BW.B..W.BW..B.W. x 0 0"));
+    }
+
+    @Test
+    void gamePlayRulesAgreeWithMoveGenerator() throws InterruptedException {
+        // plays random games, and at points in each phase counts two plies ahead through GamePlay1
+        Random random = new Random(16);
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        for (int game = 0; game < 3; game++) {
+            BoardState state = new BoardState();
+            List<Integer> history = new ArrayList<>();
+            for (int ply = 0; ply < 60 && !MoveGenerator.isLost(state); ply++) {
+                if (ply % 7 == 5) {
+                    assertEquals(new Perft(1, 0).count(state, 2), gamePlayPerft(history, 2), state.toText());
+                }
+                int move = moves[random.nextInt(MoveGenerator.generateMoves(state, moves))];
+                history.add(move);
+                state.make(move);
+            }
+        }
+    }
+
+    // counts like Perft, but finds the legal moves by trying every placement, slide and removal through GamePlay1
+    private static long gamePlayPerft(List<Integer> history, int depth) {
+        if (depth == 0) {
+            return 1;
+        }
+        GamePlay1 game = replay(history);
+        int playerNum = history.size() % 2 + 1;
+        game.updateGameOver(playerNum);
+        if (game.gameOver) {
+            return 0;
+        }
+        BoardState state = game.toBoardState(playerNum);
+        int side = playerNum - 1;
+        List<Integer> froms = new ArrayList<>();
+        if (state.getInHand(side) > 0) {
+            froms.add(Move.NO_POSITION);
+        } else {
+            for (int index = 0; index < BitBoard.NUM_POSITIONS; index++) {
+                if (state.getBoard().sideAt(index) == side) {
+                    froms.add(index);
+                }
+            }
+        }
+        long total = 0;
+        for (int from : froms) {
+            for (int to = 0; to < BitBoard.NUM_POSITIONS; to++) {
+                if (!state.getBoard().isEmpty(to)) {
+                    continue;
+                }
+                int move = from == Move.NO_POSITION ? Move.place(to) : Move.slide(from, to);
+                GamePlay1 trial = replay(history);
+                int millsBefore = trial.getMillsFormed(playerNum);
+                if (!play(trial, playerNum, move)) {
+                    continue;
+                }
+                if (!trial.playerMadeMill(millsBefore, playerNum)) {
+                    total += child(history, move, depth);
+                    continue;
+                }
+                int removed = 0;
+                for (int index = 0; index < BitBoard.NUM_POSITIONS; index++) {
+                    if (state.getBoard().sideAt(index) != (side ^ 1)) {
+                        continue;
+                    }
+                    GamePlay1 removal = replay(history);
+                    play(removal, playerNum, move);
+                    if (removal.remove_token(3 - playerNum, Position.of(index)).equals("")) {
+                        total += child(history, Move.withRemoval(move, index), depth);
+                        removed++;
+                    }
+                }
+                if (removed == 0) {
+                    total += child(history, move, depth);
+                }
+            }
+        }
+        return total;
+    }
+
+    private static long child(List<Integer> history, int move, int depth) {
+        history.add(move);
+        long count = gamePlayPerft(history, depth - 1);
+        history.remove(history.size() - 1);
+        return count;
+    }
+
+    private static boolean play(GamePlay1 game, int playerNum, int move) {
+        Position to = Position.of(Move.to(move));
+        if (Move.isPlacement(move)) {
+            return game.move_token(playerNum, to).equals("");
+        }
+        return game.slide_token(playerNum, Position.of(Move.from(move)), to).equals("");
+    }
+
+    private static GamePlay1 replay(List<Integer> history) {
+        GamePlay1 game = new GamePlay1();
+        game.setPlayers("Player1", "Player2");
+        for (int i = 0; i < history.size(); i++) {
+            assertEquals("", game.play_move(i % 2 + 1, history.get(i)));
+        }
+        return game;
+    }
+}
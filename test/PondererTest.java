@@ -0,0 +1,84 @@
+import Entity.BoardState;
+import Entity.Move;
+import UseCases.MoveGenerator;
+import UseCases.ParallelSearch;
+import UseCases.Ponderer;
+import UseCases.TranspositionTable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PondererTest {
+    private static final long BUDGET_MILLIS = 1000;
+
+    private TranspositionTable table;
+    private Ponderer ponderer;
+
+    @BeforeEach
+    void setUp() {
+        table = new TranspositionTable(1 << 22);
+        ponderer = new Ponderer(new ParallelSearch(BUDGET_MILLIS, 1, table),
+                new ParallelSearch(Long.MAX_VALUE / 2, 1, table), table);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ponderer.shutdown();
+    }
+
+    // the computer plays the first move; returns the position with the opponent to move
+    private BoardState computerMoves() {
+        BoardState state = new BoardState();
+        state.make(ponderer.findBestMove(state));
+        return state;
+    }
+
+    @Test
+    void predictedReplyIsAnsweredAtOnce() throws InterruptedException {
+        BoardState state = computerMoves();
+        // the pondering search has no time limit, so startPondering would never return if it waited for it
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> ponderer.startPondering(state),
+                "startPondering must not wait for the search");
+        assertTrue(ponderer.isPondering());
+
+        int predicted = TranspositionTable.move(table.probe(state.hash()));
+        assertNotEquals(Move.NONE, predicted);
+        Thread.sleep(BUDGET_MILLIS);
+        state.make(predicted);
+        int move = ponderer.findBestMove(state);
+        assertTrue(MoveGenerator.isLegal(state, move));
+        // a ponder hit plays the pondered move instead of searching again
+        assertEquals(1, ponderer.getPonderHits());
+        assertFalse(ponderer.isPondering());
+    }
+
+    @Test
+    void otherReplyIsSearched() throws InterruptedException {
+        BoardState state = computerMoves();
+        ponderer.startPondering(state);
+        int predicted = TranspositionTable.move(table.probe(state.hash()));
+        Thread.sleep(200);
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        MoveGenerator.generateMoves(state, moves);
+        state.make(moves[0] == predicted ? moves[1] : moves[0]);
+        assertTrue(MoveGenerator.isLegal(state, ponderer.findBestMove(state)));
+        assertEquals(0, ponderer.getPonderHits());
+    }
+
+    @Test
+    void stoppingDoesNotWait() {
+        BoardState state = computerMoves();
+        // pondering started and stopped at once, before its thread gets to run, must not keep searching
+        for (int i = 0; i < 20; i++) {
+            ponderer.startPondering(state);
+        }
+        assertTimeoutPreemptively(Duration.ofSeconds(10), ponderer::stop);
+        assertFalse(ponderer.isPondering());
+        state.make(TranspositionTable.move(table.probe(state.hash())));
+        assertTrue(MoveGenerator.isLegal(state, ponderer.findBestMove(state)));
+    }
+}
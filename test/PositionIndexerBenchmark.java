@@ -0,0 +1,49 @@
+import Entity.PositionIndexer;
+
+import java.util.Random;
+
+/**
+ * Measures the cost of PositionIndexer.rank and unrank on random midgame positions. Run with the main method; not part
+ * of the unit tests.
+ */
+public class PositionIndexerBenchmark {
+    private static final int POSITIONS = 1 << 16;
+    private static final int ROUNDS = 200;
+
+    public static void main(String[] args) {
+        Random random = new Random(1);
+        int[] white = new int[POSITIONS];
+        int[] black = new int[POSITIONS];
+        long[] indexes = new long[POSITIONS];
+        for (int i = 0; i < POSITIONS; i++) {
+            while (Integer.bitCount(white[i]) < 6) {
+                white[i] |= 1 << random.nextInt(24);
+            }
+            while (Integer.bitCount(black[i]) < 6) {
+                black[i] |= 1 << random.nextInt(24) & ~white[i];
+            }
+            indexes[i] = PositionIndexer.rank(white[i], black[i]);
+        }
+
+        long sink = 0;
+        for (int warmup = 0; warmup < 2; warmup++) {
+            long start = System.nanoTime();
+            for (int r = 0; r < ROUNDS; r++) {
+                for (int i = 0; i < POSITIONS; i++) {
+                    sink += PositionIndexer.rank(white[i], black[i]);
+                }
+            }
+            long rankNanos = System.nanoTime() - start;
+            start = System.nanoTime();
+            for (int r = 0; r < ROUNDS; r++) {
+                for (int i = 0; i < POSITIONS; i++) {
+                    sink += PositionIndexer.unrank(indexes[i], 6, 6);
+                }
+            }
+            long unrankNanos = System.nanoTime() - start;
+            System.out.printf("rank: %.1f ns/call  unrank: %.1f ns/call%n", (double) rankNanos / POSITIONS / ROUNDS,
+                    (double) unrankNanos / POSITIONS / ROUNDS);
+        }
+        System.out.println(sink == 42 ? "" : " ");
+    }
+}
@@ -0,0 +1,68 @@
+import Entity.PositionIndexer;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PositionIndexerTest {
+
+    @Test
+    void binomials() {
+        assertEquals(1, PositionIndexer.binomial(24, 0));
+        assertEquals(2704156, PositionIndexer.binomial(24, 12));
+        assertEquals(0, PositionIndexer.binomial(3, 4));
+        assertEquals(2024L * 1330, PositionIndexer.size(3, 3));
+        assertEquals(1, PositionIndexer.size(0, 0));
+    }
+
+    @Test
+    void colexRanksFollowNumericOrder() {
+        for (int k = 0; k <= 4; k++) {
+            int rank = 0;
+            for (int mask = 0; mask < 1 << 24; mask++) {
+                if (Integer.bitCount(mask) == k) {
+                    assertEquals(rank, PositionIndexer.colexRank(mask));
+                    assertEquals(mask, PositionIndexer.colexUnrank(rank, k));
+                    rank++;
+                }
+            }
+            assertEquals(PositionIndexer.binomial(24, k), rank);
+        }
+    }
+
+    @Test
+    void rankAndUnrankAreInverse() {
+        // every index of every small subspace maps to a distinct position with the right counts, and back
+        for (int white = 0; white <= 3; white++) {
+            for (int black = 0; black <= 3; black++) {
+                long size = PositionIndexer.size(white, black);
+                BitSet seen = new BitSet();
+                for (long index = 0; index < size; index++) {
+                    long position = PositionIndexer.unrank(index, white, black);
+                    int whiteMask = PositionIndexer.whiteMask(position);
+                    int blackMask = PositionIndexer.blackMask(position);
+                    assertEquals(white, Integer.bitCount(whiteMask));
+                    assertEquals(black, Integer.bitCount(blackMask));
+                    assertEquals(0, whiteMask & blackMask);
+                    assertEquals(index, PositionIndexer.rank(whiteMask, blackMask));
+                    assertFalse(seen.get((int) PositionIndexer.rank(blackMask, whiteMask)));
+                    seen.set((int) PositionIndexer.rank(blackMask, whiteMask));
+                }
+                assertEquals(size, seen.cardinality());
+            }
+        }
+    }
+
+    @Test
+    void largeSubspaces() {
+        int white = 0b101010101010101010;
+        int black = 0b010101010101010101 << 6 & ~white & 0xFFFFFF;
+        long index = PositionIndexer.rank(white, black);
+        assertTrue(index < PositionIndexer.size(Integer.bitCount(white), Integer.bitCount(black)));
+        long position = PositionIndexer.unrank(index, Integer.bitCount(white), Integer.bitCount(black));
+        assertEquals(white, PositionIndexer.whiteMask(position));
+        assertEquals(black, PositionIndexer.blackMask(position));
+        assertEquals(PositionIndexer.size(9, 9) - 1, PositionIndexer.rank(0x1FF << 15, 0x1FF << 6));
+    }
+}
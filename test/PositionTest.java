@@ -0,0 +1,42 @@
+import Entity.Position;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PositionTest {
+
+    @Test
+    void parse() {
+        assertEquals(Position.A1, Position.parse("A1"));
+        assertEquals(Position.B1, Position.parse("B1"));
+        assertEquals(Position.C8, Position.parse("C8"));
+        assertNull(Position.parse("D1"));
+        assertNull(Position.parse("A9"));
+        assertNull(Position.parse("A10"));
+        assertNull(Position.parse("save"));
+        assertNull(Position.parse(null));
+    }
+
+    @Test
+    void index() {
+        assertEquals(0, Position.A1.index());
+        assertEquals(8, Position.B1.index());
+        assertEquals(23, Position.C8.index());
+        for (Position position : Position.values()) {
+            assertEquals(position, Position.of(position.index()));
+            assertEquals(position, Position.parse(position.name()));
+            assertEquals(1 << position.index(), position.mask());
+        }
+    }
+
+    @Test
+    void guiIndex() {
+        assertEquals(Position.A1, Position.fromGuiIndex(0));
+        assertEquals(Position.A4, Position.fromGuiIndex(9));
+        assertEquals(Position.B5, Position.fromGuiIndex(13));
+        assertEquals(Position.C8, Position.fromGuiIndex(17));
+        for (Position position : Position.values()) {
+            assertEquals(position, Position.fromGuiIndex(position.guiIndex()));
+        }
+    }
+}
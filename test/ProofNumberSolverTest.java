@@ -0,0 +1,116 @@
+import Entity.BitBoard;
+import Entity.BoardState;
+import UseCases.ProofNumberSolver;
+import UseCases.Tablebase;
+import UseCases.TablebaseGenerator;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProofNumberSolverTest {
+    static Path directory;
+    static Tablebase tablebase;
+
+    @BeforeAll
+    static void generate() throws IOException, InterruptedException {
+        directory = Files.createTempDirectory("tablebase");
+        new TablebaseGenerator(2).generate(3, directory);
+        tablebase = new Tablebase(directory);
+    }
+
+    @AfterAll
+    static void deleteFiles() throws IOException {
+        tablebase = null;
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    void lostPositionIsALoss() {
+        BoardState state = BoardState.parse("WW......BBB............. w 0 0");
+        ProofNumberSolver solver = new ProofNumberSolver(1 << 20, 1000);
+        assertEquals(ProofNumberSolver.LOSS, solver.solve(state));
+        assertEquals(1, solver.getProofSize());
+    }
+
+    @Test
+    void millInOneIsAWin() {
+        // white closes A1 A2 A3 and takes black down to two tokens
+        BoardState state = BoardState.parse("WW.....W........BBB..... w 0 0");
+        ProofNumberSolver solver = new ProofNumberSolver(1 << 20, 100000);
+        assertEquals(ProofNumberSolver.WIN, solver.solve(state));
+        assertTrue(solver.getProofSize() >= 2);
+        assertTrue(solver.getNodes() >= 1);
+    }
+
+    @Test
+    void nodeLimitGivesUnknown() {
+        ProofNumberSolver solver = new ProofNumberSolver(1 << 20, 100);
+        assertEquals(ProofNumberSolver.UNKNOWN, solver.solve(new BoardState()));
+        assertEquals(0, solver.getProofSize());
+    }
+
+    @Test
+    void resultsAgreeWithTablebase() {
+        Random random = new Random(3);
+        ProofNumberSolver solver = new ProofNumberSolver(16 << 20, 2000000);
+        int[] seen = new int[3];
+        int checked = 0;
+        while (checked < 30) {
+            BoardState state = randomPosition(random);
+            int probe = tablebase.probe(state);
+            if (probe == Tablebase.DRAW || Tablebase.distance(probe) > 6) {
+                continue;
+            }
+            int expected = Tablebase.isWin(probe) ? ProofNumberSolver.WIN : ProofNumberSolver.LOSS;
+            assertEquals(expected, solver.solve(state), state.toText());
+            assertTrue(solver.getProofSize() > Tablebase.distance(probe));
+            seen[expected + 1]++;
+            checked++;
+        }
+        assertTrue(seen[0] > 0 && seen[2] > 0);
+    }
+
+    @Test
+    void drawsAreNeverProved() {
+        // a draw can take more nodes than allowed here to show, but must never be proved won or lost
+        Random random = new Random(9);
+        ProofNumberSolver solver = new ProofNumberSolver(16 << 20, 20000);
+        int checked = 0;
+        while (checked < 10) {
+            BoardState state = randomPosition(random);
+            if (tablebase.probe(state) == Tablebase.DRAW) {
+                int result = solver.solve(state);
+                assertTrue(result == ProofNumberSolver.DRAW || result == ProofNumberSolver.UNKNOWN, state.toText());
+                checked++;
+            }
+        }
+    }
+
+    // random position with three tokens each and nobody to place
+    private static BoardState randomPosition(Random random) {
+        int white = 0;
+        int black = 0;
+        while (Integer.bitCount(white) < 3 || Integer.bitCount(black) < 3) {
+            int bit = 1 << random.nextInt(24);
+            if (((white | black) & bit) == 0) {
+                if (Integer.bitCount(white) < 3) {
+                    white |= bit;
+                } else {
+                    black |= bit;
+                }
+            }
+        }
+        return new BoardState(new BitBoard(white, black), 0, 0, random.nextInt(2));
+    }
+}
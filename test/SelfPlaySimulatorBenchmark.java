@@ -0,0 +1,34 @@
+import Controller.SelfPlaySimulator;
+import Controller.SimulationStats;
+import UseCases.GreedyStrategy;
+import UseCases.RandomStrategy;
+
+/**
+ * Measures games per minute of SelfPlaySimulator between random players, and between a greedy and a random player,
+ * from 1 thread up to the number of cores, or the thread count given as the first argument. Run with the main method;
+ * not part of the unit tests.
+ */
+public class SelfPlaySimulatorBenchmark {
+    private static final long GAMES = 200000;
+
+    public static void main(String[] args) throws InterruptedException {
+        // warm up the JIT
+        new SelfPlaySimulator(1, SelfPlaySimulator.DEFAULT_PLY_LIMIT, GreedyStrategy::new, RandomStrategy::new)
+                .run(GAMES / 10, 1, null);
+
+        System.out.println("players          threads  games/min");
+        for (int threads : BenchmarkThreads.counts(args)) {
+            measure("random-random", new SelfPlaySimulator(threads, SelfPlaySimulator.DEFAULT_PLY_LIMIT,
+                    RandomStrategy::new, RandomStrategy::new), threads);
+            measure("greedy-random", new SelfPlaySimulator(threads, SelfPlaySimulator.DEFAULT_PLY_LIMIT,
+                    GreedyStrategy::new, RandomStrategy::new), threads);
+        }
+    }
+
+    private static void measure(String players, SelfPlaySimulator simulator, int threads) throws InterruptedException {
+        long start = System.nanoTime();
+        SimulationStats stats = simulator.run(GAMES, 42, null);
+        long nanos = System.nanoTime() - start;
+        System.out.printf("%-15s  %7d  %9.0f%n", players, threads, stats.getGames() * 6e10 / nanos);
+    }
+}
@@ -0,0 +1,60 @@
+import Controller.SelfPlaySimulator;
+import Controller.SimulationStats;
+import UseCases.GreedyStrategy;
+import UseCases.RandomStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SelfPlaySimulatorTest {
+
+    @Test
+    void resultsDoNotDependOnThreads() throws InterruptedException {
+        SimulationStats one = new SelfPlaySimulator(1, 300, RandomStrategy::new, RandomStrategy::new).run(25000, 7, null);
+        SimulationStats three = new SelfPlaySimulator(3, 300, RandomStrategy::new, RandomStrategy::new)
+                .run(25000, 7, null);
+        assertEquals(one, three);
+        assertEquals(25000, one.getGames());
+        assertEquals(one.getGames(), one.getWhiteWins() + one.getBlackWins() + one.getDraws());
+        assertTrue(one.getMills() > 0);
+    }
+
+    @Test
+    void writesOneLinePerBatchAndTotals() throws InterruptedException {
+        StringWriter out = new StringWriter();
+        SelfPlaySimulator simulator = new SelfPlaySimulator(2, 300, RandomStrategy::new, RandomStrategy::new);
+        SimulationStats total = simulator.run(SelfPlaySimulator.BATCH_GAMES + 10, 3, new PrintWriter(out));
+        String[] lines = out.toString().split("\\R");
+        assertEquals(4, lines.length);
+        assertEquals(SimulationStats.CSV_HEADER, lines[0]);
+        assertTrue(lines[1].startsWith("0," + SelfPlaySimulator.BATCH_GAMES + ","));
+        assertTrue(lines[2].startsWith("1,10,"));
+        assertEquals(total.toCsvRow("total"), lines[3]);
+    }
+
+    @Test
+    void searchBeatsRandom() {
+        SelfPlaySimulator simulator = new SelfPlaySimulator(1, 300, SelfPlaySimulator.strategy("search:2"),
+                RandomStrategy::new);
+        SimulationStats stats = simulator.playBatch(100, 11);
+        assertTrue(stats.getWhiteWins() > 10 * stats.getBlackWins());
+    }
+
+    @Test
+    void plyLimitEndsGamesAsDraws() {
+        SimulationStats stats = new SelfPlaySimulator(1, 10, RandomStrategy::new, RandomStrategy::new)
+                .playBatch(100, 5);
+        assertEquals(100, stats.getDraws());
+        assertEquals(1000, stats.getPlies());
+    }
+
+    @Test
+    void strategiesByName() {
+        assertTrue(SelfPlaySimulator.strategy("random").get() instanceof RandomStrategy);
+        assertTrue(SelfPlaySimulator.strategy("greedy").get() instanceof GreedyStrategy);
+        assertThrows(IllegalArgumentException.class, () -> SelfPlaySimulator.strategy("perfect"));
+    }
+}
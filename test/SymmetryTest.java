@@ -0,0 +1,88 @@
+import Entity.BitBoard;
+import Entity.BoardState;
+import Entity.BoardTopology;
+import Entity.Move;
+import Entity.Position;
+import Entity.Symmetry;
+import UseCases.MoveGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SymmetryTest {
+
+    @Test
+    void transformsPreserveBoardStructure() {
+        Set<String> permutations = new HashSet<>();
+        for (int t = 0; t < Symmetry.NUM_TRANSFORMS; t++) {
+            StringBuilder permutation = new StringBuilder();
+            for (int i = 0; i < 24; i++) {
+                permutation.append(Symmetry.transform(t, i)).append(',');
+                // adjacent positions stay adjacent
+                assertEquals(Symmetry.transformMask(t, BoardTopology.adjacent(i)),
+                        BoardTopology.adjacent(Symmetry.transform(t, i)));
+                assertEquals(i, Symmetry.transform(Symmetry.inverse(t), Symmetry.transform(t, i)));
+            }
+            permutations.add(permutation.toString());
+            // mill lines map onto mill lines
+            for (int line = 0; line < BoardTopology.NUM_MILLS; line++) {
+                int image = Symmetry.transformMask(t, BoardTopology.millMask(line));
+                assertEquals(image, BoardTopology.millMembers(image));
+            }
+        }
+        // all 16 transforms are different
+        assertEquals(16, permutations.size());
+        assertEquals(Position.C8.index(), Symmetry.transform(8, Position.A8.index()));
+    }
+
+    @Test
+    void canonicalizeIsInvariant() {
+        Random random = new Random(3);
+        for (int n = 0; n < 500; n++) {
+            int white = 0;
+            int black = 0;
+            for (int i = 0; i < 24; i++) {
+                int r = random.nextInt(3);
+                if (r == 1) {
+                    white |= 1 << i;
+                } else if (r == 2) {
+                    black |= 1 << i;
+                }
+            }
+            long canonical = Symmetry.canonicalize(white, black);
+            int t = Symmetry.canonicalTransform(canonical);
+            assertEquals(Symmetry.canonicalWhite(canonical), Symmetry.transformMask(t, white));
+            assertEquals(Symmetry.canonicalBlack(canonical), Symmetry.transformMask(t, black));
+            for (int u = 0; u < Symmetry.NUM_TRANSFORMS; u++) {
+                long image = Symmetry.canonicalize(Symmetry.transformMask(u, white), Symmetry.transformMask(u, black));
+                assertEquals(canonical & ((1L << 48) - 1), image & ((1L << 48) - 1));
+            }
+        }
+    }
+
+    @Test
+    void movesMapBack() {
+        BoardState state = new BoardState();
+        for (String move : new String[]{"A1", "B2", "A2", "C5", "A4"}) {
+            state.make(Move.parse(move));
+        }
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        long canonical = Symmetry.canonicalize(state.getBoard().getMask(BitBoard.WHITE),
+                state.getBoard().getMask(BitBoard.BLACK));
+        int t = Symmetry.canonicalTransform(canonical);
+        BoardState image = new BoardState(new BitBoard(Symmetry.canonicalWhite(canonical),
+                Symmetry.canonicalBlack(canonical)), state.getInHand(0), state.getInHand(1), state.getSideToMove());
+        assertEquals(Symmetry.canonicalKey(state), Symmetry.canonicalKey(image));
+
+        // every legal move in the canonical image maps back to a legal move of the original position
+        int count = MoveGenerator.generateMoves(image, moves);
+        assertEquals(count, MoveGenerator.generateMoves(state, new int[MoveGenerator.MAX_MOVES]));
+        for (int i = 0; i < count; i++) {
+            assertTrue(MoveGenerator.isLegal(state, Symmetry.transformMove(Symmetry.inverse(t), moves[i])));
+        }
+    }
+}
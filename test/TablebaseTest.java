@@ -0,0 +1,161 @@
+import Entity.BitBoard;
+import Entity.BoardState;
+import UseCases.AlphaBetaSearch;
+import UseCases.MoveGenerator;
+import UseCases.Tablebase;
+import UseCases.TablebaseGenerator;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TablebaseTest {
+    static Path directory;
+    static Tablebase tablebase;
+
+    @BeforeAll
+    static void generate() throws IOException, InterruptedException {
+        directory = Files.createTempDirectory("tablebase");
+        new TablebaseGenerator(2).generate(3, directory);
+        tablebase = new Tablebase(directory);
+    }
+
+    @AfterAll
+    static void deleteFiles() throws IOException {
+        tablebase = null;
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    // random position with three tokens each and nobody to place
+    private static BoardState randomPosition(Random random) {
+        int white = 0;
+        int black = 0;
+        while (Integer.bitCount(white) < 3 || Integer.bitCount(black) < 3) {
+            int bit = 1 << random.nextInt(24);
+            if (((white | black) & bit) == 0) {
+                if (Integer.bitCount(white) < 3) {
+                    white |= bit;
+                } else {
+                    black |= bit;
+                }
+            }
+        }
+        return new BoardState(new BitBoard(white, black), 0, 0, random.nextInt(2));
+    }
+
+    // value of a child position from the point of view of its side to move; 0 (a loss now) if it has lost on material
+    private static int childResult(BoardState child) {
+        if (child.hasTooFewTokens(child.getSideToMove())) {
+            return 1;
+        }
+        return tablebase.probe(child);
+    }
+
+    @Test
+    void resultsAgreeWithChildren() {
+        Random random = new Random(5);
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        for (int n = 0; n < 3000; n++) {
+            BoardState state = randomPosition(random);
+            int result = tablebase.probe(state);
+            assertNotEquals(Tablebase.NOT_COVERED, result);
+
+            int count = MoveGenerator.generateMoves(state, moves);
+            int shortestLoss = Integer.MAX_VALUE;
+            int longestWin = -1;
+            boolean allDecidedWins = true;
+            for (int i = 0; i < count; i++) {
+                state.make(moves[i]);
+                int child = childResult(state);
+                state.unmake(moves[i]);
+                if (child == Tablebase.DRAW) {
+                    allDecidedWins = false;
+                } else if (Tablebase.isWin(child)) {
+                    longestWin = Math.max(longestWin, Tablebase.distance(child));
+                } else {
+                    shortestLoss = Math.min(shortestLoss, Tablebase.distance(child));
+                }
+            }
+
+            if (count == 0) {
+                assertEquals(0, Tablebase.distance(result));
+            } else if (shortestLoss != Integer.MAX_VALUE) {
+                // win by moving to the quickest loss for the opponent
+                assertTrue(Tablebase.isWin(result));
+                assertEquals(shortestLoss + 1, Tablebase.distance(result));
+            } else if (allDecidedWins) {
+                assertFalse(Tablebase.isWin(result));
+                assertEquals(longestWin + 1, Tablebase.distance(result));
+            } else {
+                assertEquals(Tablebase.DRAW, result);
+            }
+        }
+    }
+
+    @Test
+    void notCoveredOutsideFiles() {
+        assertEquals(Tablebase.NOT_COVERED, tablebase.probe(new BoardState()));
+        BoardState fourTokens = new BoardState(new BitBoard(0b1111, 0b111 << 8), 0, 0, BitBoard.WHITE);
+        assertEquals(Tablebase.NOT_COVERED, tablebase.probe(fourTokens));
+        BoardState sixTokens = new BoardState(new BitBoard(0b111111, 0b111111 << 8), 0, 0, BitBoard.WHITE);
+        assertEquals(Tablebase.NOT_COVERED, tablebase.probe(sixTokens));
+    }
+
+    @Test
+    void refusesSubspacesTooLargeToIndex() {
+        // refused up front, before solving any of the smaller subspaces
+        assertThrows(IllegalArgumentException.class,
+                () -> new TablebaseGenerator(1).solve(TablebaseGenerator.MAX_TOKENS + 1));
+    }
+
+    @Test
+    void searchPlaysTablebaseWins() {
+        Random random = new Random(11);
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        int checked = 0;
+        while (checked < 20) {
+            BoardState state = randomPosition(random);
+            int result = tablebase.probe(state);
+            if (result == Tablebase.DRAW || !Tablebase.isWin(result) || Tablebase.distance(result) > 3) {
+                continue;
+            }
+            // a short win found by the tablebase is also found by a search of the same depth
+            AlphaBetaSearch search = new AlphaBetaSearch(10000);
+            int move = search.findBestMove(state, Tablebase.distance(result));
+            assertEquals(AlphaBetaSearch.WIN_SCORE - Tablebase.distance(result), search.getBestScore());
+            state.make(move);
+            assertEquals(Tablebase.distance(result) - 1, Tablebase.distance(childResult(state)));
+            checked++;
+        }
+    }
+
+    @Test
+    void searchProbesTablebase() {
+        Random random = new Random(17);
+        for (int n = 0; n < 20; n++) {
+            BoardState state = randomPosition(random);
+            int result = tablebase.probe(state);
+            AlphaBetaSearch search = new AlphaBetaSearch(10000);
+            search.setTablebase(tablebase);
+            int move = search.findBestMove(state, 1);
+            state.make(move);
+            int child = childResult(state);
+            if (result == Tablebase.DRAW) {
+                assertEquals(Tablebase.DRAW, child);
+            } else if (Tablebase.isWin(result)) {
+                // one ply of search is enough to play the quickest win
+                assertEquals(Tablebase.distance(result) - 1, Tablebase.distance(child));
+            }
+        }
+    }
+}
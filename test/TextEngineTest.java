@@ -0,0 +1,180 @@
+import Controller.TextEngine;
+import Entity.BoardState;
+import Entity.Move;
+import UseCases.MoveGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PipedReader;
+import java.io.PipedWriter;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TextEngineTest {
+    private PipedWriter commands;
+    private final BlockingQueue<String> replies = new LinkedBlockingQueue<>();
+    private Thread engineThread;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        commands = new PipedWriter();
+        BufferedReader in = new BufferedReader(new PipedReader(commands));
+        PrintWriter out = new PrintWriter(new LineWriter(replies));
+        TextEngine engine = new TextEngine(in, out, 1 << 22);
+        engineThread = new Thread(() -> {
+            try {
+                engine.run();
+            } catch (IOException e) {
+                replies.add("failed: " + e);
+            }
+        });
+        engineThread.start();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException, InterruptedException {
+        send("quit");
+        engineThread.join(5000);
+        assertFalse(engineThread.isAlive());
+    }
+
+    private void send(String command) throws IOException {
+        commands.write(command + "\n");
+        commands.flush();
+    }
+
+    private String reply() throws InterruptedException {
+        String line = replies.poll(10, TimeUnit.SECONDS);
+        assertNotNull(line, "no reply");
+        return line;
+    }
+
+    // skips info lines up to the bestmove, and returns the move
+    private String bestMove() throws InterruptedException {
+        String line;
+        do {
+            line = reply();
+        } while (line.startsWith("info depth"));
+        assertTrue(line.startsWith("bestmove "), line);
+        return line.substring("bestmove ".length());
+    }
+
+    @Test
+    void answersHandshake() throws IOException, InterruptedException {
+        send("engine");
+        assertEquals("id name " + TextEngine.NAME, reply());
+        assertEquals("engineok", reply());
+        send("isready");
+        assertEquals("readyok", reply());
+    }
+
+    @Test
+    void searchesToDepthWithInfoLines() throws IOException, InterruptedException {
+        send("position startpos moves A1 B1");
+        send("go depth 3");
+        for (int depth = 1; depth <= 3; depth++) {
+            String info = reply();
+            assertTrue(info.startsWith("info depth " + depth + " score "), info);
+            assertTrue(info.contains(" nodes ") && info.contains(" nps ") && info.contains(" pv "), info);
+        }
+        BoardState state = new BoardState();
+        state.make(Move.parse("A1"));
+        state.make(Move.parse("B1"));
+        assertTrue(MoveGenerator.isLegal(state, Move.parse(bestMove())));
+    }
+
+    @Test
+    void stopEndsInfiniteSearch() throws IOException, InterruptedException {
+        send("position startpos");
+        send("go infinite");
+        Thread.sleep(300);
+        // a stop is answered with the best move before the isready sent after it; the search has no time limit, so
+        // only the stop can end it
+        long start = System.nanoTime();
+        send("stop");
+        send("isready");
+        String move = bestMove();
+        assertTrue((System.nanoTime() - start) / 1000000 < 2000);
+        assertTrue(MoveGenerator.isLegal(new BoardState(), Move.parse(move)));
+        assertEquals("readyok", reply());
+    }
+
+    @Test
+    void infiniteSearchWaitsForStop() throws IOException, InterruptedException {
+        // white places A3 to close A1-A2-A3 and takes black below three tokens; the search proves it at once
+        send("position WW......BB..........B... w 1 0");
+        send("go infinite");
+        String line;
+        while ((line = replies.poll(300, TimeUnit.MILLISECONDS)) != null) {
+            assertTrue(line.startsWith("info depth"), line);
+        }
+        send("stop");
+        assertTrue(bestMove().startsWith("A3x"));
+    }
+
+    @Test
+    void timeLimitEndsSearch() throws IOException, InterruptedException {
+        send("position startpos");
+        long start = System.nanoTime();
+        send("go movetime 200");
+        bestMove();
+        assertTrue((System.nanoTime() - start) / 1000000 < 2000);
+    }
+
+    @Test
+    void lostPositionHasNoBestMove() throws IOException, InterruptedException {
+        send("position WW......BBB............. w 0 0");
+        send("go depth 2");
+        assertEquals("none", bestMove());
+    }
+
+    @Test
+    void rejectsIllegalMovesAndUnknownCommands() throws IOException, InterruptedException {
+        send("position startpos moves A1 A1");
+        assertEquals("info string illegal move: A1", reply());
+        send("position nonsense");
+        assertTrue(reply().startsWith("info string not a position"));
+        send("jump");
+        assertEquals("info string unknown command: jump", reply());
+        send("go depth x");
+        assertEquals("info string go options need a number", reply());
+    }
+
+    // writer handing each finished line to a queue
+    private static final class LineWriter extends Writer {
+        private final BlockingQueue<String> lines;
+        private final StringBuilder line = new StringBuilder();
+
+        LineWriter(BlockingQueue<String> lines) {
+            this.lines = lines;
+        }
+
+        @Override
+        public synchronized void write(char[] chars, int offset, int length) {
+            for (int i = offset; i < offset + length; i++) {
+                if (chars[i] == '\n') {
+                    lines.add(line.toString());
+                    line.setLength(0);
+                } else if (chars[i] != '\r') {
+                    line.append(chars[i]);
+                }
+            }
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
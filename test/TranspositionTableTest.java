@@ -0,0 +1,97 @@
+import Entity.BoardState;
+import Entity.Move;
+import UseCases.AlphaBetaSearch;
+import UseCases.TranspositionTable;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TranspositionTableTest {
+
+    @Test
+    void storeAndProbe() {
+        TranspositionTable table = new TranspositionTable(1 << 16);
+        assertEquals(4096, table.capacity());
+        assertEquals(TranspositionTable.MISS, table.probe(12345L));
+
+        int move = Move.withRemoval(Move.slide(3, 4), 20);
+        table.store(12345L, 7, TranspositionTable.LOWER_BOUND, -99990, move);
+        long data = table.probe(12345L);
+        assertEquals(move, TranspositionTable.move(data));
+        assertEquals(-99990, TranspositionTable.score(data));
+        assertEquals(7, TranspositionTable.depth(data));
+        assertEquals(TranspositionTable.LOWER_BOUND, TranspositionTable.bound(data));
+
+        // same bucket, different key
+        assertEquals(TranspositionTable.MISS, table.probe(12345L + (1L << 40)));
+
+        // storing the same key again replaces its entry
+        table.store(12345L, 3, TranspositionTable.EXACT, 5, Move.NONE);
+        data = table.probe(12345L);
+        assertEquals(Move.NONE, TranspositionTable.move(data));
+        assertEquals(3, TranspositionTable.depth(data));
+
+        table.clear();
+        assertEquals(TranspositionTable.MISS, table.probe(12345L));
+    }
+
+    @Test
+    void bucketKeepsDeepestEntries() {
+        TranspositionTable table = new TranspositionTable(64);
+        // one bucket of four; the fifth key replaces the shallowest entry
+        for (int i = 0; i < 5; i++) {
+            table.store(i + 1, 10 - i, TranspositionTable.EXACT, i, Move.NONE);
+        }
+        assertNotEquals(TranspositionTable.MISS, table.probe(1));
+        assertEquals(TranspositionTable.MISS, table.probe(4));
+        assertNotEquals(TranspositionTable.MISS, table.probe(5));
+
+        // entries of an earlier search go first, however deep
+        table.newSearch();
+        table.store(6, 0, TranspositionTable.EXACT, 0, Move.NONE);
+        assertEquals(TranspositionTable.MISS, table.probe(5));
+        assertNotEquals(TranspositionTable.MISS, table.probe(6));
+    }
+
+    @Test
+    void concurrentWritersNeverReturnTornEntries() throws InterruptedException {
+        TranspositionTable table = new TranspositionTable(1 << 12);
+        AtomicInteger wrongScores = new AtomicInteger();
+        Thread[] writers = new Thread[4];
+        for (int t = 0; t < writers.length; t++) {
+            long seed = t;
+            writers[t] = new Thread(() -> {
+                Random random = new Random(seed);
+                for (int i = 0; i < 200000; i++) {
+                    // the score is derived from the key, so a mixed up entry would be detected
+                    long key = random.nextInt(1000) * 0x9E3779B97F4A7C15L;
+                    table.store(key, 1, TranspositionTable.EXACT, (int) (key >>> 40), Move.NONE);
+                    long data = table.probe(key);
+                    if (data != TranspositionTable.MISS && TranspositionTable.score(data) != (int) (key >>> 40)) {
+                        wrongScores.incrementAndGet();
+                    }
+                }
+            });
+            writers[t].start();
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        assertEquals(0, wrongScores.get());
+    }
+
+    @Test
+    void searchWithSharedTable() {
+        TranspositionTable table = new TranspositionTable(1 << 20);
+        AlphaBetaSearch search = new AlphaBetaSearch(5000, table);
+        BoardState state = new BoardState();
+        int first = search.findBestMove(state, 4);
+        long nodesWithEmptyTable = search.getNodes();
+        // searching the same position again starts from the stored results
+        assertEquals(first, search.findBestMove(state, 4));
+        assertTrue(search.getNodes() < nodesWithEmptyTable);
+    }
+}
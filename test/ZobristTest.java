@@ -0,0 +1,78 @@
+import Entity.BitBoard;
+import Entity.BoardState;
+import Entity.GameBoard;
+import Entity.Move;
+import Entity.Zobrist;
+import UseCases.MoveGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ZobristTest {
+
+    // hash of a state computed from scratch, to check the incrementally updated hash against
+    private long fullHash(BoardState state) {
+        BitBoard board = state.getBoard();
+        long hash = Zobrist.hashTokens(board.getMask(BitBoard.WHITE), board.getMask(BitBoard.BLACK))
+                ^ Zobrist.inHandKey(BitBoard.WHITE, state.getInHand(BitBoard.WHITE))
+                ^ Zobrist.inHandKey(BitBoard.BLACK, state.getInHand(BitBoard.BLACK));
+        return state.getSideToMove() == BitBoard.BLACK ? hash ^ Zobrist.BLACK_TO_MOVE : hash;
+    }
+
+    @Test
+    void incrementalMatchesFullHash() {
+        Random random = new Random(7);
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        for (int game = 0; game < 50; game++) {
+            BoardState state = new BoardState();
+            int[] played = new int[100];
+            int plies = 0;
+            while (plies < played.length && !MoveGenerator.isLost(state)) {
+                int count = MoveGenerator.generateMoves(state, moves);
+                played[plies++] = moves[random.nextInt(count)];
+                state.make(played[plies - 1]);
+                assertEquals(fullHash(state), state.hash());
+            }
+            // taking every move back must return to the hash of the empty board
+            while (plies > 0) {
+                state.unmake(played[--plies]);
+                assertEquals(fullHash(state), state.hash());
+            }
+            assertEquals(new BoardState().hash(), state.hash());
+        }
+    }
+
+    @Test
+    void transpositionsHashEqually() {
+        BoardState first = new BoardState();
+        first.make(Move.parse("A1"));
+        first.make(Move.parse("B1"));
+        first.make(Move.parse("C1"));
+        BoardState second = new BoardState();
+        second.make(Move.parse("C1"));
+        second.make(Move.parse("B1"));
+        second.make(Move.parse("A1"));
+        assertEquals(first.hash(), second.hash());
+
+        // same tokens, but a different side to move
+        BoardState third = new BoardState(first.getBoard().copy(), 7, 8, BitBoard.WHITE);
+        assertNotEquals(first.hash(), third.hash());
+    }
+
+    @Test
+    void gameBoardHash() {
+        GameBoard gb1 = new GameBoard();
+        GameBoard gb2 = new GameBoard();
+        gb1.setToken("W", "A1");
+        gb1.setToken("B", "C7");
+        gb2.setToken("B", "C7");
+        gb2.setToken("W", "A1");
+        assertEquals(gb1.getHash(), gb2.getHash());
+        gb2.removeToken("A1");
+        assertNotEquals(gb1.getHash(), gb2.getHash());
+        gb1.removeToken("A1");
+        assertEquals(gb1.getHash(), gb2.getHash());
+    }
+}